@@ -32,6 +32,12 @@ dependencies {
     compileOnly(group = "com.fifesoft", name = "autocomplete", version = "3.1.1")
 }
 
+sourceSets {
+    create("benchmark") {
+        compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+        runtimeClasspath += output + compileClasspath
+    }
+}
 
 
 tasks {
@@ -51,6 +57,10 @@ tasks {
             ))
         }
     }
+    register("benchmark", JavaExec::class) {
+        classpath = sourceSets["benchmark"].runtimeClasspath
+        mainClass.set("net.runelite.client.plugins.tscripts.runtime.IntPathBenchmark")
+    }
     register("CompileTScriptsGrammar", Exec::class) {
         setWorkingDir("src\\main\\antlr\\")
         commandLine("cmd", "/c", "java -jar antlr.jar TScript.g4"
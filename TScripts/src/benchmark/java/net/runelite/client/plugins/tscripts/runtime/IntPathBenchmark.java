@@ -0,0 +1,85 @@
+package net.runelite.client.plugins.tscripts.runtime;
+
+import net.runelite.client.plugins.tscripts.adapter.models.Scope.Scope;
+import net.runelite.client.plugins.tscripts.sevices.cache.ScriptCache;
+import net.runelite.client.plugins.tscripts.util.ThreadPool;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Times an int heavy loop through a detached runtime on the tree walker and the bytecode VM,
+ * each with the unboxed path through {@link Frame} int slots and {@code Runtime.evalInt} and
+ * with ints boxed like before it, so the difference is what the unboxed path saves.
+ *
+ * Run it with {@code gradlew :TScripts:benchmark}, the iteration count can be passed as the first argument.
+ */
+public class IntPathBenchmark
+{
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 10;
+
+    public static void main(String[] args) throws InterruptedException
+    {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Scope scope = ScriptCache.get().getScope(
+                "$sum = 0;\n" +
+                "$step = 3;\n" +
+                "for($i = 0; $i < " + iterations + "; $i++)\n" +
+                "{\n" +
+                "    $sum += (($i * $step) % 7);\n" +
+                "    if(($i & 1) == 0)\n" +
+                "    {\n" +
+                "        $sum -= 1;\n" +
+                "    }\n" +
+                "}\n"
+        );
+        try
+        {
+            measure("tree", scope, iterations, false, false);
+            measure("tree", scope, iterations, false, true);
+            measure("bytecode", scope, iterations, true, false);
+            measure("bytecode", scope, iterations, true, true);
+        }
+        finally
+        {
+            Runtime.setUnboxedInts(true);
+            ThreadPool.shutdown();
+        }
+    }
+
+    private static void measure(String engine, Scope scope, int iterations, boolean bytecode, boolean unboxed) throws InterruptedException
+    {
+        Runtime.setBytecodeEnabled(bytecode);
+        Runtime.setUnboxedInts(unboxed);
+        for (int i = 0; i < WARMUP_RUNS; i++)
+        {
+            run(scope);
+        }
+        long best = Long.MAX_VALUE;
+        long total = 0;
+        for (int i = 0; i < MEASURED_RUNS; i++)
+        {
+            long time = run(scope);
+            best = Math.min(best, time);
+            total += time;
+        }
+        System.out.printf("%-8s %-7s best %6.2f ns/iteration, mean %6.2f ns/iteration%n",
+                engine, unboxed ? "unboxed" : "boxed", (double) best / iterations, (double) total / MEASURED_RUNS / iterations);
+    }
+
+    /**
+     * Runs the script once on a fresh runtime
+     *
+     * @return the wall time in nanoseconds
+     */
+    private static long run(Scope scope) throws InterruptedException
+    {
+        Runtime runtime = Runtime.detached();
+        CountDownLatch finished = new CountDownLatch(1);
+        runtime.setOnFinished(finished::countDown);
+        long start = System.nanoTime();
+        runtime.execute(scope, "benchmark", "");
+        finished.await();
+        return System.nanoTime() - start;
+    }
+}
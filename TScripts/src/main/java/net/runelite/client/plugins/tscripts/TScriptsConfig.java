@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import net.runelite.client.config.Config;
 import net.runelite.client.config.ConfigGroup;
 import net.runelite.client.config.ConfigItem;
+import net.runelite.client.plugins.tscripts.runtime.EventOverlapPolicy;
 
 @ConfigGroup("HPQFlooder")
 public interface TScriptsConfig extends Config {
@@ -111,4 +112,24 @@ public interface TScriptsConfig extends Config {
             description = ""
     )
     void setCopyMenus(boolean paramString);
+
+    @ConfigItem(
+            keyName = "bytecodeVm",
+            name = "Bytecode Runtime",
+            description = "Compile scripts to bytecode before running them instead of walking the syntax tree",
+            position = 3
+    )
+    default boolean bytecodeVm() {
+        return false;
+    }
+
+    @ConfigItem(
+            keyName = "eventOverlap",
+            name = "Event Overlap",
+            description = "What subscribe blocks and event scripts do with events that arrive while they are still running",
+            position = 4
+    )
+    default EventOverlapPolicy eventOverlap() {
+        return EventOverlapPolicy.QUEUE;
+    }
 }
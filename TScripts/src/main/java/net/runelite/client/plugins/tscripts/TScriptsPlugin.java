@@ -12,12 +12,14 @@ import net.runelite.client.RuneLite;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.input.KeyListener;
 import net.runelite.client.input.KeyManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.plugins.tscripts.api.MethodManager;
 import net.runelite.client.plugins.tscripts.api.library.TWorldPoint;
+import net.runelite.client.plugins.tscripts.runtime.Runtime;
 import net.runelite.client.plugins.tscripts.sevices.ScriptEventService;
 import net.runelite.client.plugins.tscripts.sevices.ipc.MulticastReceiver;
 import net.runelite.client.plugins.tscripts.sevices.localpathfinder.LocalPathfinder;
@@ -113,6 +115,8 @@ public class TScriptsPlugin  extends Plugin {
         configHandler.validateConfig();
         ScriptEventService.init(this);
         new MethodManager(this);
+        Runtime.setBytecodeEnabled(config.bytecodeVm());
+        Runtime.setEventOverlapPolicy(config.eventOverlap());
         this.baseCompletion = CompletionSupplier.createBaseCompletionProvider();
         sidePanel(true);
         GameCache.get();
@@ -234,6 +238,14 @@ public class TScriptsPlugin  extends Plugin {
 
     //events
 
+    @Subscribe
+    public void onConfigChanged(ConfigChanged event) {
+        if(!event.getGroup().equals("HPQFlooder"))
+            return;
+        Runtime.setBytecodeEnabled(config.bytecodeVm());
+        Runtime.setEventOverlapPolicy(config.eventOverlap());
+    }
+
     @Subscribe
     public void onPacketSent(PacketSent event) {
         if(!config.packetLogger() || event.getPacketBufferNode().getClientPacket() == null)
@@ -24,6 +24,7 @@ import net.runelite.client.plugins.tscripts.util.Logging;
 import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.tree.ParseTree;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -107,6 +108,8 @@ public class Adapter
 
             if(element != null)
             {
+                if(tree instanceof ParserRuleContext)
+                    element.setLine(((ParserRuleContext) tree).getStart().getLine());
                 elements.put(elementIndex++, element);
                 continue;
             }
@@ -0,0 +1,388 @@
+package net.runelite.client.plugins.tscripts.adapter;
+
+import net.runelite.client.plugins.tscripts.adapter.models.Element;
+import net.runelite.client.plugins.tscripts.adapter.models.Expression;
+import net.runelite.client.plugins.tscripts.adapter.models.OperatorType;
+import net.runelite.client.plugins.tscripts.adapter.models.Scope.Scope;
+import net.runelite.client.plugins.tscripts.adapter.models.condition.Condition;
+import net.runelite.client.plugins.tscripts.adapter.models.condition.ConditionType;
+import net.runelite.client.plugins.tscripts.adapter.models.condition.Conditions;
+import net.runelite.client.plugins.tscripts.adapter.models.condition.Glue;
+import net.runelite.client.plugins.tscripts.adapter.models.method.MethodCall;
+import net.runelite.client.plugins.tscripts.adapter.models.shorthand.NullCheckExpression;
+import net.runelite.client.plugins.tscripts.adapter.models.shorthand.NullCoalescingExpression;
+import net.runelite.client.plugins.tscripts.adapter.models.shorthand.TernaryExpression;
+import net.runelite.client.plugins.tscripts.adapter.models.variable.ArrayAccess;
+import net.runelite.client.plugins.tscripts.adapter.models.variable.VariableAssignment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Simplifies a parsed script before it runs. Arithmetic on literals is folded, comparisons
+ * between literals are evaluated once, if/while blocks whose conditions are constant
+ * lose their dead branches, and CONSTANT tokens are treated as the literals they are.
+ *
+ * Every change is recorded on the root scope so the debugger can show what was removed.
+ * Must run before the {@link Resolver}, which only knows about the elements that are left.
+ */
+public class Optimizer
+{
+    private final List<String> report = new ArrayList<>();
+
+    /**
+     * Optimizes a freshly parsed script in place
+     *
+     * @param scope The root scope of the script
+     * @return The root scope
+     */
+    public static Scope optimize(Scope scope)
+    {
+        if(scope == null)
+            return null;
+        Optimizer optimizer = new Optimizer();
+        optimizer.optimizeScope(scope);
+        scope.setOptimizations(optimizer.report);
+        return scope;
+    }
+
+    private void optimizeScope(Scope scope)
+    {
+        Conditions conditions = scope.getConditions();
+        ConditionType type = conditions != null && conditions.getType() != null ? conditions.getType() : ConditionType.NONE;
+        switch (type)
+        {
+            case IF:
+            case WHILE:
+                optimizeConditions(conditions);
+                break;
+            case FOR:
+                optimizeConditions(conditions);
+                optimizeAssignment(conditions.getForCondition().getVariableAssignment());
+                optimizeAssignment(conditions.getForCondition().getOperation());
+                break;
+        }
+
+        optimizeElements(scope.getElements());
+        if(scope.getElseElements() != null)
+        {
+            optimizeElements(scope.getElseElements());
+        }
+    }
+
+    private void optimizeElements(Map<Integer, Element> elements)
+    {
+        List<Element> kept = new ArrayList<>(elements.size());
+        for (Element element : elements.values())
+        {
+            switch (element.getType())
+            {
+                case SCOPE:
+                    Scope scope = (Scope) element;
+                    optimizeScope(scope);
+                    if(eliminateDeadBranches(scope))
+                        kept.add(scope);
+                    continue;
+                case FUNCTION_CALL:
+                    optimizeArgs((MethodCall) element);
+                    break;
+                case VARIABLE_ASSIGNMENT:
+                    optimizeAssignment((VariableAssignment) element);
+                    break;
+            }
+            kept.add(element);
+        }
+
+        if(kept.size() == elements.size())
+            return;
+
+        //the runtime walks the elements by index, so keep the keys contiguous
+        elements.clear();
+        for (int i = 0; i < kept.size(); i++)
+        {
+            elements.put(i, kept.get(i));
+        }
+    }
+
+    /**
+     * Drops the branch of a constant if/while that can never run
+     *
+     * @param scope The scope
+     * @return false if the whole scope can be removed
+     */
+    private boolean eliminateDeadBranches(Scope scope)
+    {
+        Conditions conditions = scope.getConditions();
+        if(conditions == null || conditions.getType() == null)
+            return true;
+        Boolean result = constantResult(conditions);
+        if(result == null)
+            return true;
+
+        switch (conditions.getType())
+        {
+            case IF:
+                if(result)
+                {
+                    if(scope.getElseElements() != null)
+                        report.add("removed unreachable else of if(" + conditions + ")");
+                    scope.setConditions(null);
+                    scope.setElseElements(null);
+                    return true;
+                }
+                report.add("removed unreachable if(" + conditions + ")");
+                if(scope.getElseElements() == null)
+                    return false;
+                scope.getElements().clear();
+                scope.getElements().putAll(scope.getElseElements());
+                scope.setElseElements(null);
+                scope.setConditions(null);
+                return true;
+            case WHILE:
+                if(result)
+                    return true;
+                report.add("removed unreachable while(" + conditions + ")");
+                return false;
+        }
+        return true;
+    }
+
+    private void optimizeConditions(Conditions conditions)
+    {
+        for (Condition condition : conditions.getConditions().values())
+        {
+            condition.setLeft(fold(condition.getLeft()));
+            condition.setRight(fold(condition.getRight()));
+            if(condition.getLeft() instanceof Boolean && condition.getRight() == null)
+                continue;
+
+            Boolean result = evaluate(condition);
+            if(result != null)
+            {
+                report.add("evaluated " + condition + " to " + result);
+                condition.setLeft(result);
+                condition.setRight(null);
+                condition.setComparator(null);
+            }
+        }
+    }
+
+    /**
+     * Evaluates conditions whose every operand folded to a boolean, the same way the runtime glues them
+     *
+     * @param conditions The conditions
+     * @return The result, or null if any condition depends on runtime state
+     */
+    private Boolean constantResult(Conditions conditions)
+    {
+        boolean result = true;
+        for (Map.Entry<Integer, Condition> entry : conditions.getConditions().entrySet())
+        {
+            Condition condition = entry.getValue();
+            if(condition.getRight() != null || !(condition.getLeft() instanceof Boolean))
+                return null;
+            boolean conditionResult = (Boolean) condition.getLeft();
+            int key = entry.getKey();
+            if(key == 0)
+            {
+                result = conditionResult;
+                continue;
+            }
+
+            Glue glue = conditions.getGlues().get(key - 1);
+            if(glue == null)
+                continue;
+            switch (glue)
+            {
+                case AND:
+                    result = result && conditionResult;
+                    break;
+                case OR:
+                    result = result || conditionResult;
+                    break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates a condition between two literals
+     *
+     * @param condition The condition
+     * @return The result, or null if it is not constant
+     */
+    private Boolean evaluate(Condition condition)
+    {
+        Object left = condition.getLeft();
+        Object right = condition.getRight();
+        if(!isLiteral(left))
+            return null;
+        if(right == null)
+        {
+            if(left instanceof Boolean)
+                return (Boolean) left;
+            return !valueOf(left).toString().equals("null");
+        }
+        if(!isLiteral(right) || condition.getComparator() == null)
+            return null;
+        return condition.getComparator().process(valueOf(left), valueOf(right));
+    }
+
+    private void optimizeAssignment(VariableAssignment assignment)
+    {
+        if(assignment == null)
+            return;
+        if(assignment.getVar() instanceof ArrayAccess)
+        {
+            ArrayAccess access = (ArrayAccess) assignment.getVar();
+            access.setIndexExpression(fold(access.getIndexExpression()));
+        }
+        List<Object> values = assignment.getValues();
+        for (int i = 0; i < values.size(); i++)
+        {
+            values.set(i, fold(values.get(i)));
+        }
+    }
+
+    private void optimizeArgs(MethodCall call)
+    {
+        Object[] args = call.getArgs();
+        for (int i = 0; i < args.length; i++)
+        {
+            args[i] = fold(args[i]);
+        }
+    }
+
+    /**
+     * Folds an operand
+     *
+     * @param object The operand
+     * @return The folded operand, or the operand itself if nothing could be folded
+     */
+    private Object fold(Object object)
+    {
+        if(object instanceof Expression)
+        {
+            return foldExpression((Expression) object);
+        }
+        if(object instanceof MethodCall)
+        {
+            optimizeArgs((MethodCall) object);
+        }
+        else if(object instanceof ArrayAccess)
+        {
+            ArrayAccess access = (ArrayAccess) object;
+            access.setIndexExpression(fold(access.getIndexExpression()));
+        }
+        else if(object instanceof TernaryExpression)
+        {
+            return foldTernary((TernaryExpression) object);
+        }
+        else if(object instanceof NullCoalescingExpression)
+        {
+            NullCoalescingExpression expression = (NullCoalescingExpression) object;
+            return new NullCoalescingExpression(fold(expression.getLeft()), fold(expression.getRight()), expression.isNegated());
+        }
+        else if(object instanceof NullCheckExpression)
+        {
+            NullCheckExpression expression = (NullCheckExpression) object;
+            return new NullCheckExpression(fold(expression.getValue()), expression.isNegated());
+        }
+        else if(object instanceof Scope)
+        {
+            optimizeScope((Scope) object);
+        }
+        return object;
+    }
+
+    private Object foldExpression(Expression expression)
+    {
+        Object left = fold(expression.getData().getLeft());
+        OperatorType operator = expression.getData().getCenter();
+        Object right = fold(expression.getData().getRight());
+
+        if(operator == null)
+        {
+            if(left instanceof Integer || left instanceof Boolean)
+                return left;
+            return left == expression.getData().getLeft() ? expression : new Expression(left, null, right);
+        }
+
+        boolean divides = operator == OperatorType.DIVIDE || operator == OperatorType.MODULO;
+        if(isLiteral(left) && isLiteral(right) && !(divides && toInt(right) == 0))
+        {
+            int value = OperatorType.compute(toInt(left), operator, toInt(right));
+            report.add("folded " + describe(left)+ " " + operator.getSymbol() + " " + describe(right) + " to " + value);
+            return value;
+        }
+
+        if(left == expression.getData().getLeft() && right == expression.getData().getRight())
+            return expression;
+        return new Expression(left, operator, right);
+    }
+
+    private Object foldTernary(TernaryExpression expression)
+    {
+        optimizeConditions(expression.getConditions());
+        Object trueValue = fold(expression.getTrueValue());
+        Object falseValue = fold(expression.getFalseValue());
+
+        Boolean result = constantResult(expression.getConditions());
+        if(result != null)
+        {
+            Object chosen = result ? trueValue : falseValue;
+            if(chosen instanceof Boolean)
+            {
+                report.add("removed unreachable branch of ternary (" + expression.getConditions() + ")");
+                return expression.isNegated() != (Boolean) chosen;
+            }
+            if(chosen instanceof Integer)
+            {
+                report.add("removed unreachable branch of ternary (" + expression.getConditions() + ")");
+                return chosen;
+            }
+        }
+        return new TernaryExpression(expression.getConditions(), trueValue, falseValue, expression.isNegated());
+    }
+
+    /**
+     * Whether an operand evaluates to the same value every time. Strings that are not
+     * variables are literals, quoted ones and CONSTANT tokens alike.
+     */
+    private static boolean isLiteral(Object object)
+    {
+        if(object instanceof Integer || object instanceof Boolean)
+            return true;
+        if(!(object instanceof String))
+            return false;
+        String string = (String) object;
+        return string.startsWith("\"") || string.equals("null") || string.matches("[A-Z_]+");
+    }
+
+    /**
+     * Gets the runtime value of a literal
+     */
+    private static Object valueOf(Object literal)
+    {
+        if(literal instanceof String && ((String) literal).startsWith("\""))
+            return ((String) literal).substring(1);
+        return literal;
+    }
+
+    private static int toInt(Object literal)
+    {
+        if(literal instanceof Integer)
+            return (Integer) literal;
+        if(literal instanceof Boolean)
+            return (Boolean) literal ? 1 : 0;
+        return 0;
+    }
+
+    private static String describe(Object literal)
+    {
+        if(literal instanceof String && ((String) literal).startsWith("\""))
+            return literal + "\"";
+        return String.valueOf(literal);
+    }
+}
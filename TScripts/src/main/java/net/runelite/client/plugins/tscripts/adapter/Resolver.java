@@ -0,0 +1,320 @@
+package net.runelite.client.plugins.tscripts.adapter;
+
+import net.runelite.client.plugins.tscripts.adapter.models.Element;
+import net.runelite.client.plugins.tscripts.adapter.models.Expression;
+import net.runelite.client.plugins.tscripts.adapter.models.Scope.Scope;
+import net.runelite.client.plugins.tscripts.adapter.models.condition.Condition;
+import net.runelite.client.plugins.tscripts.adapter.models.condition.ConditionType;
+import net.runelite.client.plugins.tscripts.adapter.models.condition.Conditions;
+import net.runelite.client.plugins.tscripts.adapter.models.method.MethodCall;
+import net.runelite.client.plugins.tscripts.adapter.models.shorthand.NullCheckExpression;
+import net.runelite.client.plugins.tscripts.adapter.models.shorthand.NullCoalescingExpression;
+import net.runelite.client.plugins.tscripts.adapter.models.shorthand.TernaryExpression;
+import net.runelite.client.plugins.tscripts.adapter.models.variable.ArrayAccess;
+import net.runelite.client.plugins.tscripts.adapter.models.variable.VariableAssignment;
+import net.runelite.client.plugins.tscripts.adapter.models.variable.VariableRef;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binds every $variable in a parsed script to a (depth, slot) pair so the runtime
+ * can address frames directly instead of searching variables by name.
+ *
+ * A variable belongs to the innermost enclosing scope that assigns it. Every scope
+ * gets its own frame at runtime, and the depth is the number of lexical scopes
+ * between the reference and the scope that owns the variable. Arrays live in their
+ * own slot named "$name[]" so they do not collide with a scalar of the same name.
+ */
+public class Resolver
+{
+    /**
+     * Resolves a script in place. Already resolved scripts are left untouched.
+     * Parsed scripts are shared through the script cache, so this locks on the scope.
+     *
+     * @param scope The root scope of the script
+     */
+    public static void resolve(Scope scope)
+    {
+        if(scope == null)
+            return;
+        synchronized (scope)
+        {
+            if(scope.isResolved())
+                return;
+            new Resolver().resolveScope(scope, null);
+        }
+    }
+
+    public static String arrayKey(String name)
+    {
+        return name + "[]";
+    }
+
+    private static class Context
+    {
+        private final Context parent;
+        private final Map<String, Integer> slots = new LinkedHashMap<>();
+
+        private Context(Context parent)
+        {
+            this.parent = parent;
+        }
+
+        /**
+         * Declares a name assigned in this scope, unless an enclosing scope already declares it,
+         * in which case the assignment updates the enclosing variable.
+         */
+        private void declare(String name)
+        {
+            for(Context ctx = parent; ctx != null; ctx = ctx.parent)
+            {
+                if(ctx.slots.containsKey(name))
+                    return;
+            }
+            declareLocal(name);
+        }
+
+        /**
+         * Declares a name in this scope even if an enclosing scope has it, for parameters.
+         */
+        private void declareLocal(String name)
+        {
+            slots.putIfAbsent(name, slots.size());
+        }
+    }
+
+    private void resolveScope(Scope scope, Context parent)
+    {
+        Context context = new Context(parent);
+        Conditions conditions = scope.getConditions();
+        ConditionType type = conditions != null && conditions.getType() != null ? conditions.getType() : ConditionType.NONE;
+
+        //parameters always take the first slots so calls can fill them by index
+        if(type == ConditionType.USER_DEFINED_FUNCTION || type == ConditionType.LAMBDA)
+        {
+            for(Condition condition : conditions.getConditions().values())
+            {
+                if(condition.getLeft() != null)
+                    context.declareLocal(condition.getLeft().toString());
+            }
+        }
+
+        declareAll(scope.getElements(), context);
+        declareAll(scope.getElseElements(), context);
+        if(type == ConditionType.FOR)
+        {
+            declare(conditions.getForCondition().getVariableAssignment(), context);
+            declare(conditions.getForCondition().getOperation(), context);
+        }
+
+        switch (type)
+        {
+            case IF:
+            case WHILE:
+            case FOR:
+                resolveConditions(conditions, context);
+                break;
+            case IPC_POST:
+                //the right-hand side is the raw block that gets posted, only the target is evaluated
+                for(Condition condition : conditions.getConditions().values())
+                {
+                    condition.setLeft(resolveValue(condition.getLeft(), context));
+                }
+                break;
+        }
+
+        if(type == ConditionType.FOR)
+        {
+            resolveStatement(conditions.getForCondition().getVariableAssignment(), context);
+            resolveStatement(conditions.getForCondition().getOperation(), context);
+        }
+
+        resolveAll(scope.getElements(), context);
+        resolveAll(scope.getElseElements(), context);
+
+        scope.setSlotNames(context.slots.keySet().toArray(new String[0]));
+        scope.setResolved(true);
+    }
+
+    private void declareAll(Map<Integer, Element> elements, Context context)
+    {
+        if(elements == null)
+            return;
+        for(Element element : elements.values())
+        {
+            if(element instanceof VariableAssignment)
+            {
+                declare((VariableAssignment) element, context);
+            }
+        }
+    }
+
+    private void declare(VariableAssignment assignment, Context context)
+    {
+        if(assignment == null)
+            return;
+        Object var = assignment.getVar();
+        if(var instanceof ArrayAccess)
+        {
+            context.declare(arrayKey(((ArrayAccess) var).getVariable()));
+        }
+        else if(var instanceof String)
+        {
+            context.declare((String) var);
+        }
+    }
+
+    private void resolveAll(Map<Integer, Element> elements, Context context)
+    {
+        if(elements == null)
+            return;
+        for(Element element : elements.values())
+        {
+            resolveStatement(element, context);
+        }
+    }
+
+    private void resolveStatement(Element element, Context context)
+    {
+        if(element instanceof Scope)
+        {
+            resolveScope((Scope) element, context);
+        }
+        else if(element instanceof MethodCall)
+        {
+            resolveArguments((MethodCall) element, context);
+        }
+        else if(element instanceof VariableAssignment)
+        {
+            VariableAssignment assignment = (VariableAssignment) element;
+            Object var = assignment.getVar();
+            if(var instanceof String)
+            {
+                assignment.setVar(bind((String) var, false, context));
+            }
+            else if(var instanceof ArrayAccess)
+            {
+                resolveArrayAccess((ArrayAccess) var, context);
+            }
+            List<Object> values = assignment.getValues();
+            for(int i = 0; i < values.size(); i++)
+            {
+                values.set(i, resolveValue(values.get(i), context));
+            }
+        }
+    }
+
+    private void resolveConditions(Conditions conditions, Context context)
+    {
+        for(Condition condition : conditions.getConditions().values())
+        {
+            condition.setLeft(resolveValue(condition.getLeft(), context));
+            condition.setRight(resolveValue(condition.getRight(), context));
+        }
+    }
+
+    private void resolveArguments(MethodCall call, Context context)
+    {
+        Object[] args = call.getArgs();
+        for(int i = 0; i < args.length; i++)
+        {
+            args[i] = resolveValue(args[i], context);
+        }
+    }
+
+    private void resolveArrayAccess(ArrayAccess access, Context context)
+    {
+        access.setRef(bind(arrayKey(access.getVariable()), false, context));
+        access.setIndexExpression(resolveValue(access.getIndexExpression(), context));
+    }
+
+    private Object resolveValue(Object value, Context context)
+    {
+        if(value instanceof String)
+        {
+            String string = (String) value;
+            if(string.startsWith("$"))
+            {
+                return bind(string, false, context);
+            }
+            else if(string.startsWith("!$"))
+            {
+                return bind(string.substring(1), true, context);
+            }
+            return string;
+        }
+        else if(value instanceof ArrayAccess)
+        {
+            resolveArrayAccess((ArrayAccess) value, context);
+        }
+        else if(value instanceof MethodCall)
+        {
+            resolveArguments((MethodCall) value, context);
+        }
+        else if(value instanceof Scope)
+        {
+            resolveScope((Scope) value, context);
+        }
+        else if(value instanceof Expression)
+        {
+            Expression expression = (Expression) value;
+            return new Expression(
+                    resolveValue(expression.getData().getLeft(), context),
+                    expression.getData().getCenter(),
+                    resolveValue(expression.getData().getRight(), context)
+            );
+        }
+        else if(value instanceof TernaryExpression)
+        {
+            TernaryExpression ternary = (TernaryExpression) value;
+            resolveConditions(ternary.getConditions(), context);
+            return new TernaryExpression(
+                    ternary.getConditions(),
+                    resolveValue(ternary.getTrueValue(), context),
+                    resolveValue(ternary.getFalseValue(), context),
+                    ternary.isNegated()
+            );
+        }
+        else if(value instanceof NullCoalescingExpression)
+        {
+            NullCoalescingExpression coalescing = (NullCoalescingExpression) value;
+            return new NullCoalescingExpression(
+                    resolveValue(coalescing.getLeft(), context),
+                    resolveValue(coalescing.getRight(), context),
+                    coalescing.isNegated()
+            );
+        }
+        else if(value instanceof NullCheckExpression)
+        {
+            NullCheckExpression check = (NullCheckExpression) value;
+            return new NullCheckExpression(resolveValue(check.getValue(), context), check.isNegated());
+        }
+        return value;
+    }
+
+    /**
+     * Binds a name to the nearest scope that declares it.
+     *
+     * @param key The slot key ($name, or $name[] for arrays)
+     * @param negated Whether reads should be negated
+     * @param context The scope the reference appears in
+     * @return The reference
+     */
+    private VariableRef bind(String key, boolean negated, Context context)
+    {
+        String name = key.endsWith("[]") ? key.substring(0, key.length() - 2) : key;
+        int depth = 0;
+        for(Context ctx = context; ctx != null; ctx = ctx.parent)
+        {
+            Integer slot = ctx.slots.get(key);
+            if(slot != null)
+            {
+                return new VariableRef(name, negated, depth, slot);
+            }
+            depth++;
+        }
+        return new VariableRef(name, negated, -1, -1);
+    }
+}
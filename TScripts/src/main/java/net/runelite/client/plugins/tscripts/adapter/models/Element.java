@@ -1,6 +1,8 @@
 package net.runelite.client.plugins.tscripts.adapter.models;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 /**
  * Represents an element in the script.
@@ -10,4 +12,16 @@ public class Element
 {
     private ElementType type;
     private boolean current = false;
+    /**
+     * The source line the element starts on, 0 if it was not parsed from a script
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient int line = 0;
+    /**
+     * The id the trace recorder knows this element by, 0 until it was first traced
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient int traceId = 0;
 }
@@ -1,6 +1,7 @@
 package net.runelite.client.plugins.tscripts.adapter.models;
 
 import lombok.AllArgsConstructor;
+import lombok.Getter;
 
 @AllArgsConstructor
 public enum OperatorType
@@ -16,6 +17,7 @@ public enum OperatorType
     RIGHT_SHIFT(">>"),
     UNSIGNED_RIGHT_SHIFT(">>>");
 
+    @Getter
     private final String symbol;
 
     public static OperatorType of(String operator)
@@ -7,7 +7,9 @@ import net.runelite.client.plugins.tscripts.adapter.models.condition.Condition;
 import net.runelite.client.plugins.tscripts.adapter.models.condition.Conditions;
 import net.runelite.client.plugins.tscripts.adapter.models.ElementType;
 import net.runelite.client.plugins.tscripts.adapter.models.Element;
+import net.runelite.client.plugins.tscripts.runtime.bytecode.Program;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -46,6 +48,23 @@ public class Scope extends Element
     private Conditions conditions = null;
     @Getter
     private String hash = UUID.randomUUID().toString();
+    /**
+     * The variable names bound to each frame slot of this scope, filled in by the resolver
+     */
+    @Setter
+    private transient String[] slotNames = new String[0];
+    @Setter
+    private transient boolean resolved = false;
+    /**
+     * The compiled body of this scope, filled in the first time the bytecode runtime executes it
+     */
+    @Setter
+    private transient Program program = null;
+    /**
+     * What the optimizer folded or removed, only set on the root scope of a script
+     */
+    @Setter
+    private transient List<String> optimizations = null;
 
     /**
      * Clones the scope
@@ -53,7 +72,13 @@ public class Scope extends Element
      */
     public Scope clone()
     {
-        return new Scope(elements, conditions);
+        Scope scope = new Scope(elements, conditions);
+        scope.elseElements = elseElements;
+        scope.slotNames = slotNames;
+        scope.resolved = resolved;
+        scope.program = program;
+        scope.optimizations = optimizations;
+        return scope;
     }
 
     /**
@@ -72,24 +72,34 @@ public enum Comparator
     {
         if (left instanceof Integer && right instanceof Integer )
         {
-            Integer integer1 = (Integer) left;
-            Integer integer2 = (Integer) right;
-            switch (this)
-            {
-                case GT:
-                    return integer1 > integer2;
-                case LT :
-                    return integer1 < integer2;
-                case GTEQ:
-                    return integer1 >= integer2;
-                case LTEQ:
-                    return integer1 <= integer2;
-                case EQ:
-                    return integer1.equals(integer2);
-                case NEQ:
-                    return !integer1.equals(integer2);
-            };
+            return process((int) (Integer) left, (int) (Integer) right);
         }
         return this == Comparator.NEQ ? !Objects.equals(left.getClass(), right.getClass()) : left.equals(right);
     }
+
+    /**
+     * Processes the comparison of two ints
+     * @param left the left value
+     * @param right the right value
+     * @return the result of the comparison
+     */
+    public boolean process(int left, int right)
+    {
+        switch (this)
+        {
+            case GT:
+                return left > right;
+            case LT:
+                return left < right;
+            case GTEQ:
+                return left >= right;
+            case LTEQ:
+                return left <= right;
+            case EQ:
+                return left == right;
+            case NEQ:
+                return left != right;
+        }
+        return false;
+    }
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package net.runelite.client.plugins.tscripts.adapter.models.method;
 
 import lombok.Getter;
+import lombok.Setter;
 import net.runelite.client.plugins.tscripts.adapter.models.ElementType;
 import net.runelite.client.plugins.tscripts.api.MethodManager;
 import net.runelite.client.plugins.tscripts.adapter.models.Element;
+import net.runelite.client.plugins.tscripts.runtime.CallSite;
 import net.runelite.client.plugins.tscripts.runtime.Runtime;
 
 /**
@@ -49,6 +51,11 @@ public class MethodCall extends Element
     private final boolean negate;
     private final String name;
     private final Object[] args;
+    /**
+     * The last resolution of this call, see {@link CallSite}
+     */
+    @Setter
+    private transient volatile CallSite site = null;
 
     @Override
     public String toString()
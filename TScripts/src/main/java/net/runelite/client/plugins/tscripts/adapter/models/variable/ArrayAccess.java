@@ -1,19 +1,42 @@
 package net.runelite.client.plugins.tscripts.adapter.models.variable;
 
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 
-@RequiredArgsConstructor
 public class ArrayAccess
 {
     @Getter
     private final String variable;
-    private final Object index;
+    private Object index;
     @Getter
     private final boolean negated;
+    @Getter
+    @Setter
+    private VariableRef ref = null;
+
+    public ArrayAccess(String variable, Object index, boolean negated)
+    {
+        this.variable = variable;
+        this.index = index;
+        this.negated = negated;
+    }
 
     public String getIndex()
     {
         return index == null ? null : index.toString();
     }
+
+    /**
+     * Gets the unprocessed index expression
+     * @return the index expression
+     */
+    public Object getIndexExpression()
+    {
+        return index;
+    }
+
+    public void setIndexExpression(Object index)
+    {
+        this.index = index;
+    }
 }
@@ -0,0 +1,43 @@
+package net.runelite.client.plugins.tscripts.adapter.models.variable;
+
+import lombok.Getter;
+
+/**
+ * A reference to a variable that has been bound to a frame slot by the resolver.
+ * A depth of -1 means the variable could not be bound statically and has to be
+ * looked up by name at runtime.
+ */
+@Getter
+public class VariableRef
+{
+    /**
+     * Creates a new variable reference
+     * @param name The variable name (including the leading $)
+     * @param negated Whether the value should be negated when read
+     * @param depth The number of lexical frames to walk up, or -1 if unresolved
+     * @param slot The slot in the target frame
+     */
+    public VariableRef(String name, boolean negated, int depth, int slot)
+    {
+        this.name = name;
+        this.negated = negated;
+        this.depth = depth;
+        this.slot = slot;
+    }
+
+    private final String name;
+    private final boolean negated;
+    private final int depth;
+    private final int slot;
+
+    public boolean isResolved()
+    {
+        return depth >= 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return negated ? "!" + name : name;
+    }
+}
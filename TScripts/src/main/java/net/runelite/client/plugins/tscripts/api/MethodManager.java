@@ -5,6 +5,7 @@ import lombok.Getter;
 import net.runelite.api.GameState;
 import net.runelite.client.plugins.tscripts.TScriptsPlugin;
 import net.runelite.client.plugins.tscripts.api.library.TDelay;
+import net.runelite.client.plugins.tscripts.sevices.TickScheduler;
 import net.runelite.client.plugins.tscripts.types.*;
 import net.runelite.client.plugins.tscripts.adapter.models.method.MethodCall;
 import net.runelite.client.plugins.tscripts.util.Logging;
@@ -26,10 +27,16 @@ public class MethodManager
     private final TScriptsPlugin plugin;
     private List<GroupDefinition> methodGroups = null;
     private List<Class<?>> eventClasses = null;
+    private Map<String, Class<?>> eventClassesByName = null;
     private Map<String, EventData> eventDataClasses = null;
     @Getter
     private final HashMap<String, MethodDefinition> methods = new HashMap<>();
     private final Set<String> blacklist = Set.of("continue", "break", "die", "subscribe", "breakpoint", "tick", "return");
+    private static final int FIXED_DELAY = 20;
+    /**
+     * The client tick of the last {@link Pacing#CLIENT_TICK} call made by each script thread
+     */
+    private final ThreadLocal<Integer> lastPacedClientTick = ThreadLocal.withInitial(() -> -1);
 
     /**
      * Constructor
@@ -49,15 +56,37 @@ public class MethodManager
      * @return the result of the method
      */
     public Object call(MethodCall methodCall)
+    {
+        return call(resolve(methodCall.getName()), methodCall);
+    }
+
+    /**
+     * Looks up a method by name
+     * @param name the name, case insensitive
+     * @return the method, or null if there is none
+     */
+    public MethodDefinition resolve(String name)
+    {
+        return methods.get(name.toLowerCase());
+    }
+
+    /**
+     * Calls an already resolved method
+     * @param method the method, or null if the name did not resolve
+     * @param methodCall the method call with evaluated arguments
+     * @return the result of the method
+     */
+    public Object call(MethodDefinition method, MethodCall methodCall)
     {
         Object out = null;
         try
         {
-            if (methods.containsKey(methodCall.getName().toLowerCase()))
+            if (method != null)
             {
-                MethodDefinition method = methods.getOrDefault(methodCall.getName().toLowerCase(), null);
-                if (method == null || !shouldProcess(method))
+                if (!shouldProcess(method))
                     return "null";
+                if(method.getPacing() == Pacing.CLIENT_TICK && lastPacedClientTick.get() == TickScheduler.get().getClientTick())
+                    TickScheduler.get().awaitClientTick();
                 out = method.getFunction().apply(methodCall);
                 if(methodCall.isNegate() && out instanceof Boolean)
                 {
@@ -74,12 +103,32 @@ public class MethodManager
             Logging.errorLog(e);
         }
 
-        //bc menuactions
-        TDelay.sleep(20);
+        if(method != null)
+            pace(method);
 
         return out == null ? "null" : out;
     }
 
+    /**
+     * Holds the script back after an action so menu actions and packets get processed by the client
+     * @param method the method that was called
+     */
+    private void pace(MethodDefinition method)
+    {
+        switch (method.getPacing())
+        {
+            case FIXED:
+                TDelay.sleep(FIXED_DELAY);
+                break;
+            case CLIENT_TICK:
+                lastPacedClientTick.set(TickScheduler.get().getClientTick());
+                break;
+            case FLUSH:
+                TickScheduler.get().awaitClientTick();
+                break;
+        }
+    }
+
     /**
      * Fills our method map with all the methods defined in the api definitions classes
      */
@@ -267,6 +316,13 @@ public class MethodManager
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList()));
 
+        Map<String, Class<?>> byName = new HashMap<>();
+        for(Class<?> clazz : eventClasses)
+        {
+            //the first class with a name wins, like the scan this replaced
+            byName.putIfAbsent(clazz.getSimpleName(), clazz);
+        }
+        eventClassesByName = byName;
         return eventClasses;
     }
 
@@ -277,14 +333,11 @@ public class MethodManager
      */
     public Class<?> getEventClass(String name)
     {
-        for(Class<?> clazz : getEventClasses())
+        if(eventClassesByName == null)
         {
-            if(clazz.getSimpleName().equals(name))
-            {
-                return clazz;
-            }
+            getEventClasses();
         }
-        return null;
+        return eventClassesByName == null ? null : eventClassesByName.get(name);
     }
 
     public Map<String,EventData> getEventDataClasses()
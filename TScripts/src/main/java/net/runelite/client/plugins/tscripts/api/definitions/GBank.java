@@ -6,6 +6,7 @@ import net.runelite.client.plugins.tscripts.api.MethodManager;
 import net.runelite.client.plugins.tscripts.api.library.TBank;
 import net.runelite.client.plugins.tscripts.types.GroupDefinition;
 import net.runelite.client.plugins.tscripts.types.MethodDefinition;
+import net.runelite.client.plugins.tscripts.types.Pacing;
 import net.runelite.client.plugins.tscripts.types.Pair;
 import net.runelite.client.plugins.tscripts.types.Type;
 
@@ -43,7 +44,7 @@ public class GBank implements GroupDefinition
                     {
                         TBank.deposit((String) item, amount);
                     }
-                }, "Deposit an item into the bank");
+                }, "Deposit an item into the bank", Pacing.CLIENT_TICK);
         addMethod(methods, "withdraw",
                 ImmutableMap.of(
                         0, Pair.of("item", Type.ANY),
@@ -67,7 +68,7 @@ public class GBank implements GroupDefinition
                     {
                         TBank.withdraw((String) item, amount, noted);
                     }
-                }, "withdraw an item from the bank");
+                }, "withdraw an item from the bank", Pacing.CLIENT_TICK);
         addMethod(methods, "countBank", Type.INT,
                 ImmutableMap.of(
                         0, Pair.of("item", Type.ANY)
@@ -130,10 +131,10 @@ public class GBank implements GroupDefinition
                 }, "gets the slot of an item in the bank");
         addMethod(methods, "depositAllInventory",
                 ImmutableMap.of(),
-                function -> TBank.depositAllInventory(), "Deposit all items in the inventory into the bank");
+                function -> TBank.depositAllInventory(), "Deposit all items in the inventory into the bank", Pacing.CLIENT_TICK);
         addMethod(methods, "depositAllEquipment",
                 ImmutableMap.of(),
-                function -> TBank.depositAllEquipment(), "Deposit all items in the equipment into the bank");
+                function -> TBank.depositAllEquipment(), "Deposit all items in the equipment into the bank", Pacing.CLIENT_TICK);
         addMethod(methods, "bankIsOpen", Type.BOOL,
                 ImmutableMap.of(),
                 function -> TBank.isOpen(), "Check if the bank is open");
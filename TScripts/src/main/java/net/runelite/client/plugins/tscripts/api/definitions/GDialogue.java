@@ -6,6 +6,7 @@ import net.runelite.client.plugins.tscripts.api.library.TDelay;
 import net.runelite.client.plugins.tscripts.api.library.TDialogue;
 import net.runelite.client.plugins.tscripts.types.GroupDefinition;
 import net.runelite.client.plugins.tscripts.types.MethodDefinition;
+import net.runelite.client.plugins.tscripts.types.Pacing;
 import net.runelite.client.plugins.tscripts.types.Pair;
 import net.runelite.client.plugins.tscripts.types.Type;
 import java.util.ArrayList;
@@ -25,19 +26,19 @@ public class GDialogue implements GroupDefinition
         List<MethodDefinition> methods = new ArrayList<>();
         addMethod(methods, "continueDialogue", ImmutableMap.of(),
                 function -> TDialogue.continueDialogue(),
-                "Continues the dialogue"
+                "Continues the dialogue", Pacing.CLIENT_TICK
         );
         addMethod(methods, "continueAllDialogue", ImmutableMap.of(),
                 function -> TDialogue.continueAllDialogue(),
                 "Continues through all dialogue. Selects options highlighted\n" +
                         "by quest helper if present. Completes history museum quiz questions\n" +
                         "if present. Stops when dialogue is completed or when options are shown\n" +
-                        "but don't fall under museum quiz or quest helper."
+                        "but don't fall under museum quiz or quest helper.", Pacing.CLIENT_TICK
         );
         addMethod(methods, "continueQuestHelper", ImmutableMap.of(),
                 function -> TDialogue.continueQuestHelper(),
                 "Selects the option highlighted by quest helper. If \n" +
-                        "none present it continues dialogue if a continue is present"
+                        "none present it continues dialogue if a continue is present", Pacing.CLIENT_TICK
         );
         addMethod(methods, "isDialogueOpen", Type.BOOL, ImmutableMap.of(),
                 function -> TDialogue.isDialogueOpen(),
@@ -45,11 +46,11 @@ public class GDialogue implements GroupDefinition
         );
         addMethod(methods, "interact", ImmutableMap.of(0, Pair.of("option", Type.ANY)),
                 function -> TDialogue.interact(function.getArg(0, manager)),
-                "Interacts with the dialogue."
+                "Interacts with the dialogue.", Pacing.CLIENT_TICK
         );
         addMethod(methods, "numericInput", ImmutableMap.of(0, Pair.of("option", Type.INT)),
                 function -> TDialogue.numericInput(function.getArg(0, manager)),
-                "Submits a numeric input."
+                "Submits a numeric input.", Pacing.CLIENT_TICK
         );
         addMethod(methods, "makeX", ImmutableMap.of(0, Pair.of("quantity", Type.INT)),
                 function ->
@@ -57,7 +58,7 @@ public class GDialogue implements GroupDefinition
                     int quantity = function.getArg(0, manager);
                     TDialogue.makeX(quantity);
                 },
-                "Handles the make-x dialogue."
+                "Handles the make-x dialogue.", Pacing.CLIENT_TICK
         );
         addMethod(methods, "handleConversation", ImmutableMap.of(0, Pair.of("options", Type.VARARGS)),
                 function ->
@@ -89,7 +90,7 @@ public class GDialogue implements GroupDefinition
                     }
                     TDelay.tick(1);
                 },
-                "Handles a conversation with the given options. Requires string options."
+                "Handles a conversation with the given options. Requires string options.", Pacing.CLIENT_TICK
         );
 
         return methods;
@@ -6,6 +6,7 @@ import net.runelite.client.plugins.tscripts.api.MethodManager;
 import net.runelite.client.plugins.tscripts.api.library.TGame;
 import net.runelite.client.plugins.tscripts.types.GroupDefinition;
 import net.runelite.client.plugins.tscripts.types.MethodDefinition;
+import net.runelite.client.plugins.tscripts.types.Pacing;
 import net.runelite.client.plugins.tscripts.types.Pair;
 import net.runelite.client.plugins.tscripts.types.Type;
 import net.unethicalite.client.Static;
@@ -46,11 +47,11 @@ public class GGame implements GroupDefinition
         );
         addMethod(methods, "setGameState", ImmutableMap.of(0, Pair.of("state", Type.INT)),
                 function -> Static.getClientThread().invoke(() -> Static.getClient().setGameState(GameState.of(function.getArg(0, manager)))),
-                "sets the game state", false
+                "sets the game state", false, Pacing.FIXED
         );
         addMethod(methods, "setTab", ImmutableMap.of(0, Pair.of("tab", Type.INT)),
                 function -> Static.getClientThread().invoke(() -> Static.getClient().runScript(915, function.getArg(0, manager))),
-                "sets current the tab"
+                "sets current the tab", Pacing.CLIENT_TICK
         );
         addMethod(methods, "menuAction",
                 ImmutableMap.<Integer, Pair<String,Type>>builder()
@@ -69,7 +70,7 @@ public class GGame implements GroupDefinition
                         function.getArg(4, manager),
                         function.getArg(5, manager)
                 )),
-                "Invokes a menu action"
+                "Invokes a menu action", Pacing.CLIENT_TICK
         );
         return methods;
     }
@@ -9,6 +9,7 @@ import net.runelite.client.plugins.tscripts.api.library.TObjects;
 import net.runelite.client.plugins.tscripts.api.library.TWorldPoint;
 import net.runelite.client.plugins.tscripts.types.GroupDefinition;
 import net.runelite.client.plugins.tscripts.types.MethodDefinition;
+import net.runelite.client.plugins.tscripts.types.Pacing;
 import net.runelite.client.plugins.tscripts.types.Pair;
 import net.runelite.client.plugins.tscripts.types.Type;
 import net.unethicalite.client.Static;
@@ -52,7 +53,7 @@ public class GGameObject implements GroupDefinition
                         String action = (String) interaction;
                         TObjects.interact(object, action);
                     }
-                }, "Interacts with the object");
+                }, "Interacts with the object", Pacing.CLIENT_TICK);
         addMethod(methods, "itemOnObject",
                 ImmutableMap.of(
                         0, Pair.of("item", Type.ANY),
@@ -75,7 +76,7 @@ public class GGameObject implements GroupDefinition
                         return;
 
                     TInventory.useOn(item, object);
-                }, "Uses an item on an object");
+                }, "Uses an item on an object", Pacing.CLIENT_TICK);
         addMethod(methods, "getObject", Type.OBJECT,
                 ImmutableMap.of(
                         0, Pair.of("identifier", Type.ANY)
@@ -163,6 +164,40 @@ public class GGameObject implements GroupDefinition
                     return TObjects.getObjectWithin(identifier, distance);
                 }, "Gets an object within a certain distance");
 
+        addMethod(methods, "getNearestObjects", Type.OBJECT,
+                ImmutableMap.of(
+                        0, Pair.of("count", Type.INT)
+                ),
+                function ->
+                {
+                    int count = function.getArg(0, manager);
+                    return TObjects.getNearestObjects(count);
+                }, "Gets up to count of the nearest objects, nearest first");
+        addMethod(methods, "getObjectsWithin", Type.OBJECT,
+                ImmutableMap.of(
+                        0, Pair.of("distance", Type.INT)
+                ),
+                function ->
+                {
+                    int distance = function.getArg(0, manager);
+                    return TObjects.getObjectsWithin(distance);
+                }, "Gets the objects at most a distance away");
+        addMethod(methods, "getObjectsIn", Type.OBJECT,
+                ImmutableMap.of(
+                        0, Pair.of("x1", Type.INT),
+                        1, Pair.of("y1", Type.INT),
+                        2, Pair.of("x2", Type.INT),
+                        3, Pair.of("y2", Type.INT)
+                ),
+                function ->
+                {
+                    int x1 = function.getArg(0, manager);
+                    int y1 = function.getArg(1, manager);
+                    int x2 = function.getArg(2, manager);
+                    int y2 = function.getArg(3, manager);
+                    return TObjects.getObjectsIn(x1, y1, x2, y2);
+                }, "Gets the objects between two corner tiles on your plane");
+
         return methods;
     }
 }
\ No newline at end of file
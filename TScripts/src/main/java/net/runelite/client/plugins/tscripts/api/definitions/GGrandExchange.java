@@ -6,6 +6,7 @@ import net.runelite.client.plugins.tscripts.api.enums.GrandExchangeSlot;
 import net.runelite.client.plugins.tscripts.api.library.TGrandExchange;
 import net.runelite.client.plugins.tscripts.types.GroupDefinition;
 import net.runelite.client.plugins.tscripts.types.MethodDefinition;
+import net.runelite.client.plugins.tscripts.types.Pacing;
 import net.runelite.client.plugins.tscripts.types.Pair;
 import net.runelite.client.plugins.tscripts.types.Type;
 import java.util.ArrayList;
@@ -43,7 +44,7 @@ public class GGrandExchange implements GroupDefinition {
                 },
                 "Purchase an item from the grand exchange. If price is -1, it will \n" +
                         "just bump price until it buys and collect for you. otherwise will \n" +
-                        "return the slot number."
+                        "return the slot number.", Pacing.CLIENT_TICK
         );
 
         addMethod(methods, "sellGE", Type.INT,
@@ -66,7 +67,7 @@ public class GGrandExchange implements GroupDefinition {
                 },
                 "Purchase an item from the grand exchange. If price is -1, it will \n" +
                          "just bump price until it sells and collect for you. otherwise will \n" +
-                        "return the slot number."
+                        "return the slot number.", Pacing.CLIENT_TICK
         );
 
         addMethod(methods, "checkSlotGE", Type.BOOL,
@@ -100,13 +101,13 @@ public class GGrandExchange implements GroupDefinition {
                         return;
                     TGrandExchange.collectFromSlot(slotNumber, noted, quantity);
                 },
-                "Collects an item from a slot in the grand exchange. If quantity is -1, it will collect all."
+                "Collects an item from a slot in the grand exchange. If quantity is -1, it will collect all.", Pacing.CLIENT_TICK
         );
 
         addMethod(methods, "collectAllGE",
                 ImmutableMap.of(),
                 function -> TGrandExchange.collectAll(),
-                "Collects an item from a slot in the grand exchange. If quantity is -1, it will collect all."
+                "Collects an item from a slot in the grand exchange. If quantity is -1, it will collect all.", Pacing.CLIENT_TICK
         );
 
         addMethod(methods, "isOpenGE", Type.BOOL,
@@ -7,6 +7,7 @@ import net.runelite.client.plugins.tscripts.api.MethodManager;
 import net.runelite.client.plugins.tscripts.api.library.TGroundItem;
 import net.runelite.client.plugins.tscripts.types.GroupDefinition;
 import net.runelite.client.plugins.tscripts.types.MethodDefinition;
+import net.runelite.client.plugins.tscripts.types.Pacing;
 import net.runelite.client.plugins.tscripts.types.Pair;
 import net.runelite.client.plugins.tscripts.types.Type;
 import net.unethicalite.client.Static;
@@ -73,6 +74,17 @@ public class GGroundItem implements GroupDefinition
 
                     return null;
                 }, "Gets a ground item at the specified location");
+        addMethod(methods, "getNewGroundItem", Type.OBJECT,
+                ImmutableMap.of(
+                        0, Pair.of("identifier", Type.ANY),
+                        1, Pair.of("ticks", Type.INT)
+                ),
+                function ->
+                {
+                    Object identifier = function.getArg(0, manager);
+                    int ticks = function.getArg(1, manager);
+                    return TGroundItem.getNewTileItem(identifier, ticks);
+                }, "Gets the nearest ground item that appeared in the last ticks");
         addMethod(methods, "groundItemAction",
                 ImmutableMap.of(
                         0, Pair.of("identifier", Type.ANY),
@@ -102,7 +114,7 @@ public class GGroundItem implements GroupDefinition
                     {
                         TGroundItem.interact(item, (String)action);
                     }
-                }, "Interacts with the ground item");
+                }, "Interacts with the ground item", Pacing.CLIENT_TICK);
 
         return methods;
     }
@@ -8,6 +8,7 @@ import net.runelite.client.plugins.tscripts.api.MethodManager;
 import net.runelite.client.plugins.tscripts.api.library.TInventory;
 import net.runelite.client.plugins.tscripts.types.GroupDefinition;
 import net.runelite.client.plugins.tscripts.types.MethodDefinition;
+import net.runelite.client.plugins.tscripts.types.Pacing;
 import net.runelite.client.plugins.tscripts.types.Pair;
 import net.runelite.client.plugins.tscripts.types.Type;
 import net.unethicalite.api.items.Inventory;
@@ -77,7 +78,7 @@ public class GInventory implements GroupDefinition
                     {
                         TInventory.interact(item, (String) operation);
                     }
-                }, "Interacts with the item in the inventory");
+                }, "Interacts with the item in the inventory", Pacing.CLIENT_TICK);
         addMethod(methods, "consume",
                 ImmutableMap.of(
                         0, Pair.of("items", Type.VARARGS)
@@ -117,7 +118,7 @@ public class GInventory implements GroupDefinition
                         TInventory.interact(item, "Drink");
                     }
 
-                }, "Consumes the first occurrence of any of the given items in the inventory");
+                }, "Consumes the first occurrence of any of the given items in the inventory", Pacing.CLIENT_TICK);
         addMethod(methods, "dropAll", ImmutableMap.of(0, Pair.of("items", Type.VARARGS)),
                 function ->
                 {
@@ -154,7 +155,7 @@ public class GInventory implements GroupDefinition
                     {
                         TInventory.interact(item, "Drop");
                     }
-                }, "Drops all items with the given names and/or id's");
+                }, "Drops all items with the given names and/or id's", Pacing.CLIENT_TICK);
         addMethod(methods, "itemOnItem",
                 ImmutableMap.of(
                         0, Pair.of("item", Type.ANY),
@@ -197,7 +198,7 @@ public class GInventory implements GroupDefinition
                         return;
 
                     TInventory.useOn(item, item2);
-                }, "Uses the first item on the first occurrence of any of the other items listed");
+                }, "Uses the first item on the first occurrence of any of the other items listed", Pacing.CLIENT_TICK);
         addMethod(methods, "getItem", Type.OBJECT,
                 ImmutableMap.of(
                         0, Pair.of("item", Type.ANY)
@@ -222,7 +223,7 @@ public class GInventory implements GroupDefinition
                     if (item == null)
                         return;
                     TInventory.interact(item, 2);
-                }, "Equips the item");
+                }, "Equips the item", Pacing.CLIENT_TICK);
         addMethod(methods, "countInventory", Type.INT, ImmutableMap.of(0, Pair.of("items", Type.VARARGS)),
                 function ->
                 {
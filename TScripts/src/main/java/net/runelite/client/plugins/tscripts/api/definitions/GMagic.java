@@ -13,6 +13,7 @@ import net.runelite.client.plugins.tscripts.api.library.TNpc;
 import net.runelite.client.plugins.tscripts.api.library.TObjects;
 import net.runelite.client.plugins.tscripts.types.GroupDefinition;
 import net.runelite.client.plugins.tscripts.types.MethodDefinition;
+import net.runelite.client.plugins.tscripts.types.Pacing;
 import net.runelite.client.plugins.tscripts.types.Pair;
 import net.runelite.client.plugins.tscripts.types.Type;
 import net.unethicalite.api.magic.Magic;
@@ -55,7 +56,7 @@ public class GMagic implements GroupDefinition {
                         return;
 
                     Magic.cast(spell, item);
-                }, "Casts a spell on an item");
+                }, "Casts a spell on an item", Pacing.CLIENT_TICK);
         addMethod(methods, "spellOnPlayer",
                 ImmutableMap.of(
                         0, Pair.of("spell", Type.STRING),
@@ -79,7 +80,7 @@ public class GMagic implements GroupDefinition {
                         return;
 
                     Magic.cast(spell, player);
-                }, "Casts a spell on a player");
+                }, "Casts a spell on a player", Pacing.CLIENT_TICK);
         addMethod(methods, "spellOnNpc",
                 ImmutableMap.of(
                         0, Pair.of("spell", Type.STRING),
@@ -103,7 +104,7 @@ public class GMagic implements GroupDefinition {
                         return;
 
                     Magic.cast(spell, npc);
-                }, "Casts a spell on an npc");
+                }, "Casts a spell on an npc", Pacing.CLIENT_TICK);
         addMethod(methods, "spellOnObject",
                 ImmutableMap.of(
                         0, Pair.of("spell", Type.STRING),
@@ -127,7 +128,7 @@ public class GMagic implements GroupDefinition {
                         return;
 
                     Magic.cast(spell, object);
-                }, "Casts a spell on an object");
+                }, "Casts a spell on an object", Pacing.CLIENT_TICK);
         addMethod(methods, "castSpell",
                 ImmutableMap.of(
                         0, Pair.of("spell", Type.STRING)
@@ -145,7 +146,7 @@ public class GMagic implements GroupDefinition {
                         return;
 
                     Magic.cast(spell);
-                }, "Casts a spell");
+                }, "Casts a spell", Pacing.CLIENT_TICK);
         return methods;
     }
 }
@@ -8,6 +8,7 @@ import net.runelite.client.plugins.tscripts.api.library.TDelay;
 import net.runelite.client.plugins.tscripts.sevices.cache.GameCache;
 import net.runelite.client.plugins.tscripts.types.GroupDefinition;
 import net.runelite.client.plugins.tscripts.types.MethodDefinition;
+import net.runelite.client.plugins.tscripts.types.Pacing;
 import net.runelite.client.plugins.tscripts.types.Pair;
 import net.runelite.client.plugins.tscripts.types.Type;
 import net.runelite.client.plugins.tscripts.util.Logging;
@@ -48,7 +49,7 @@ public class GMisc implements GroupDefinition
                         TDelay.sleep(100);
                     } catch (AWTException ignored) { }
                 },
-                "Clicks the mouse", false
+                "Clicks the mouse", false, Pacing.CLIENT_TICK
         );
         addMethod(methods, "debug", ImmutableMap.of(0, Pair.of("args", Type.VARARGS)),
                 function ->
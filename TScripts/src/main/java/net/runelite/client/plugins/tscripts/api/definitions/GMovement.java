@@ -11,6 +11,7 @@ import net.runelite.client.plugins.tscripts.api.library.TMovement;
 import net.runelite.client.plugins.tscripts.api.library.TWorldPoint;
 import net.runelite.client.plugins.tscripts.types.GroupDefinition;
 import net.runelite.client.plugins.tscripts.types.MethodDefinition;
+import net.runelite.client.plugins.tscripts.types.Pacing;
 import net.runelite.client.plugins.tscripts.types.Pair;
 import net.runelite.client.plugins.tscripts.types.Type;
 import net.runelite.client.plugins.tscripts.util.Logging;
@@ -50,7 +51,7 @@ public class GMovement implements GroupDefinition
                     int y = function.getArg(1, manager);
                     TMovement.walkTo(x, y);
                 }, "Sends a walk to the specified coordinates. coords can be\n" +
-                            "either a worldpoint object or x, y.");
+                            "either a worldpoint object or x, y.", Pacing.CLIENT_TICK);
         addMethod(methods, "pathfinder",
                 ImmutableMap.of(
                         0, Pair.of("coords", Type.VARARGS)
@@ -97,7 +98,7 @@ public class GMovement implements GroupDefinition
                     int worldX = current.getX() + rX;
                     int worldY = current.getY() + ry;
                     TMovement.walkTo(worldX, worldY);
-                }, "Walks to the specified relative coordinates.");
+                }, "Walks to the specified relative coordinates.", Pacing.CLIENT_TICK);
         addMethod(methods, "walkRelativeOf",
                 ImmutableMap.of(
                         0, Pair.of("relativeX", Type.INT),
@@ -134,7 +135,7 @@ public class GMovement implements GroupDefinition
                 }, "Walks to the specified relative coordinates of the specified\n" +
                             "coordinates. The coordds can be either a worldpoint, and actor\n" +
                             "(Npc/Player) object, x/y, or blank which will walk relative to\n" +
-                            "your current location.");
+                            "your current location.", Pacing.CLIENT_TICK);
         addMethod(methods, "getWorldPoint", Type.OBJECT,
                 ImmutableMap.of(
                         0, Pair.of("coords", Type.VARARGS)
@@ -168,7 +169,7 @@ public class GMovement implements GroupDefinition
                         return;
 
                     TMovement.walkTo(tile.getWorldLocation());
-                }, "Walks to the currently selected/hovered tile.");
+                }, "Walks to the currently selected/hovered tile.", Pacing.CLIENT_TICK);
         addMethod(methods, "getRegion",
                 Type.INT,
                 ImmutableMap.of(),
@@ -9,6 +9,7 @@ import net.runelite.client.plugins.tscripts.api.library.TNpc;
 import net.runelite.client.plugins.tscripts.sevices.UserQueries;
 import net.runelite.client.plugins.tscripts.types.GroupDefinition;
 import net.runelite.client.plugins.tscripts.types.MethodDefinition;
+import net.runelite.client.plugins.tscripts.types.Pacing;
 import net.runelite.client.plugins.tscripts.types.Pair;
 import net.runelite.client.plugins.tscripts.types.Type;
 
@@ -48,7 +49,7 @@ public class GNpc implements GroupDefinition
                     {
                         npc.interact((String)action);
                     }
-                }, "Interact with the nearest npc");
+                }, "Interact with the nearest npc", Pacing.CLIENT_TICK);
 
         addMethod(methods, "itemOnNpc",
                 ImmutableMap.of(
@@ -66,7 +67,7 @@ public class GNpc implements GroupDefinition
                     if (npc == null)
                         return;
                     item.useOn(npc);
-                }, "Use an item on the nearest npc");
+                }, "Use an item on the nearest npc", Pacing.CLIENT_TICK);
         addMethod(methods, "getNpc",
                 Type.OBJECT,
                 ImmutableMap.of(
@@ -124,6 +125,40 @@ public class GNpc implements GroupDefinition
                 "gets the overhead protection of a player"
         );
 
+        addMethod(methods, "getNearestNpcs", Type.OBJECT,
+                ImmutableMap.of(
+                        0, Pair.of("count", Type.INT)
+                ),
+                function ->
+                {
+                    int count = function.getArg(0, manager);
+                    return TNpc.getNearestNpcs(count);
+                }, "Gets up to count of the nearest npcs, nearest first");
+        addMethod(methods, "getNpcsWithin", Type.OBJECT,
+                ImmutableMap.of(
+                        0, Pair.of("distance", Type.INT)
+                ),
+                function ->
+                {
+                    int distance = function.getArg(0, manager);
+                    return TNpc.getNpcsWithin(distance);
+                }, "Gets the npcs at most a distance away");
+        addMethod(methods, "getNpcsIn", Type.OBJECT,
+                ImmutableMap.of(
+                        0, Pair.of("x1", Type.INT),
+                        1, Pair.of("y1", Type.INT),
+                        2, Pair.of("x2", Type.INT),
+                        3, Pair.of("y2", Type.INT)
+                ),
+                function ->
+                {
+                    int x1 = function.getArg(0, manager);
+                    int y1 = function.getArg(1, manager);
+                    int x2 = function.getArg(2, manager);
+                    int y2 = function.getArg(3, manager);
+                    return TNpc.getNpcsIn(x1, y1, x2, y2);
+                }, "Gets the npcs between two corner tiles on your plane");
+
         return methods;
     }
 }
\ No newline at end of file
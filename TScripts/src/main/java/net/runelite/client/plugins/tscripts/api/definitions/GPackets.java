@@ -5,6 +5,7 @@ import net.runelite.client.plugins.tscripts.api.MethodManager;
 import net.runelite.client.plugins.tscripts.api.library.TPackets;
 import net.runelite.client.plugins.tscripts.types.GroupDefinition;
 import net.runelite.client.plugins.tscripts.types.MethodDefinition;
+import net.runelite.client.plugins.tscripts.types.Pacing;
 import net.runelite.client.plugins.tscripts.types.Pair;
 import net.runelite.client.plugins.tscripts.types.Type;
 import java.util.ArrayList;
@@ -31,7 +32,7 @@ public class GPackets implements GroupDefinition
                     int id = function.getArg(1, manager);
                     TPackets.sendClickPacket();
                     TPackets.sendPlayerActionPacket(action, id, false);
-                }, "Interact with a player using a packet");
+                }, "Interact with a player using a packet", Pacing.FLUSH);
         addMethod(methods, "npcPacket",
                 ImmutableMap.of(
                         0, Pair.of("action", Type.INT),
@@ -43,7 +44,7 @@ public class GPackets implements GroupDefinition
                     int npcIndex = function.getArg(1, manager);
                     TPackets.sendClickPacket();
                     TPackets.sendNpcActionPacket(action, npcIndex, false);
-                }, "Interact with an npc using a packet");
+                }, "Interact with an npc using a packet", Pacing.FLUSH);
         addMethod(methods, "objectPacket",
                 ImmutableMap.of(
                         0, Pair.of("action", Type.INT),
@@ -59,7 +60,7 @@ public class GPackets implements GroupDefinition
                     int y = function.getArg(3, manager);
                     TPackets.sendClickPacket();
                     TPackets.sendObjectActionPacket(action, id, x, y, false);
-                }, "Interact with a tile object using a packet");
+                }, "Interact with a tile object using a packet", Pacing.FLUSH);
         addMethod(methods, "itemPacket",
                 ImmutableMap.of(
                         0, Pair.of("itemID", Type.INT),
@@ -73,7 +74,7 @@ public class GPackets implements GroupDefinition
                     int slot = function.getArg(2, manager);
                     TPackets.sendClickPacket();
                     TPackets.sendItemActionPacket(slot, id, action);
-                }, "Interact with an item using a packet");
+                }, "Interact with an item using a packet", Pacing.FLUSH);
 
         addMethod(methods, "groundItemPacket",
                 ImmutableMap.of(
@@ -90,7 +91,7 @@ public class GPackets implements GroupDefinition
                     int y = function.getArg(3, manager);
                     TPackets.sendClickPacket();
                     TPackets.sendGroundItemActionPacket(action, id, x, y, false);
-                }, "Interact with a ground item using a packet");
+                }, "Interact with a ground item using a packet", Pacing.FLUSH);
 
         addMethod(methods, "widgetPacket",
                 ImmutableMap.of(
@@ -107,7 +108,7 @@ public class GPackets implements GroupDefinition
                     int childId = function.getArg(3, manager);
                     TPackets.sendClickPacket();
                     TPackets.sendWidgetActionPacket(action, widgetId, itemId, childId);
-                }, "Interact with a widget using a packet");
+                }, "Interact with a widget using a packet", Pacing.FLUSH);
 
         addMethod(methods, "walkPacket",
                 ImmutableMap.of(
@@ -120,7 +121,7 @@ public class GPackets implements GroupDefinition
                     int y = function.getArg(1, manager);
                     TPackets.sendClickPacket();
                     TPackets.sendWalkPacket(x, y, false);
-                }, "send a packet to walk to a coordinate");
+                }, "send a packet to walk to a coordinate", Pacing.FLUSH);
 
         addMethod(methods, "widgetOnWidgetPacket",
                 ImmutableMap.<Integer, Pair<String,Type>>builder()
@@ -141,7 +142,7 @@ public class GPackets implements GroupDefinition
                     int slot2 = function.getArg(5, manager);
                     TPackets.sendClickPacket();
                     TPackets.sendWidgetOnWidgetPacket(selectedWidgetId, itemId, slot, targetWidgetId, itemId2, slot2);
-                }, "send widget on target widget packet");
+                }, "send widget on target widget packet", Pacing.FLUSH);
 
 
         //TODO: Add logging for below
@@ -154,7 +155,7 @@ public class GPackets implements GroupDefinition
                 {
                     int count = function.getArg(0, manager);
                     TPackets.sendResumeCountDialoguePacket(count);
-                }, "send resume count dialogue packet");
+                }, "send resume count dialogue packet", Pacing.FLUSH);
 
         addMethod(methods, "resumePauseWidgetPacket",
                 ImmutableMap.of(
@@ -166,7 +167,7 @@ public class GPackets implements GroupDefinition
                     int widgetID = function.getArg(0, manager);
                     int optionIndex = function.getArg(1, manager);
                     TPackets.sendResumePauseWidgetPacket(widgetID, optionIndex);
-                }, "send resume pause widget packet packet");
+                }, "send resume pause widget packet packet", Pacing.FLUSH);
 
         addMethod(methods, "resumeObjectDialoguePacket",
                 ImmutableMap.of(
@@ -176,7 +177,7 @@ public class GPackets implements GroupDefinition
                 {
                     int id = function.getArg(0, manager);
                     TPackets.sendResumeObjectDialoguePacket(id);
-                }, "send resume object dialogue packet packet");
+                }, "send resume object dialogue packet packet", Pacing.FLUSH);
 
         addMethod(methods, "resumeNameDialoguePacket",
                 ImmutableMap.of(
@@ -186,7 +187,7 @@ public class GPackets implements GroupDefinition
                 {
                     String text = function.getArg(1, manager);
                     TPackets.sendResumeNameDialoguePacket(text);
-                }, "send resume name dialogue packet");
+                }, "send resume name dialogue packet", Pacing.FLUSH);
 
         addMethod(methods, "widgetOnObjectPacket",
                 ImmutableMap.<Integer, Pair<String,Type>>builder()
@@ -209,7 +210,7 @@ public class GPackets implements GroupDefinition
                     boolean ctrl = function.getArg(6, manager);
                     TPackets.sendClickPacket();
                     TPackets.sendWidgetOnObjectPacket(selectedWidgetId, itemId, slot, objectID, worldX, worldY, ctrl);
-                }, "send widget on object packet");
+                }, "send widget on object packet", Pacing.FLUSH);
 
         addMethod(methods, "widgetOnGroundItemPacket",
                 ImmutableMap.<Integer, Pair<String,Type>>builder()
@@ -232,7 +233,7 @@ public class GPackets implements GroupDefinition
                     boolean ctrl = function.getArg(6, manager);
                     TPackets.sendClickPacket();
                     TPackets.sendWidgetOnGroundItemPacket(selectedWidgetId, itemId, slot, groundItemID, worldX, worldY, ctrl);
-                }, "send widget on ground item packet");
+                }, "send widget on ground item packet", Pacing.FLUSH);
 
         addMethod(methods, "widgetOnNpcPacket",
                 ImmutableMap.of(
@@ -251,7 +252,7 @@ public class GPackets implements GroupDefinition
                     boolean ctrl = function.getArg(4, manager);
                     TPackets.sendClickPacket();
                     TPackets.sendWidgetOnNpcPacket(selectedWidgetId, itemId, slot, npcIndex, ctrl);
-                }, "send widget on npc packet");
+                }, "send widget on npc packet", Pacing.FLUSH);
 
         addMethod(methods, "widgetOnPlayerPacket",
                 ImmutableMap.of(
@@ -270,7 +271,7 @@ public class GPackets implements GroupDefinition
                     boolean ctrl = function.getArg(4, manager);
                     TPackets.sendClickPacket();
                     TPackets.sendWidgetOnPlayerPacket(selectedWidgetId, itemId, slot, playerIndex, ctrl);
-                }, "send widget on player packet");
+                }, "send widget on player packet", Pacing.FLUSH);
 
         addMethod(methods, "interfaceClosePacket",
                 ImmutableMap.of(),
@@ -278,7 +279,7 @@ public class GPackets implements GroupDefinition
                 {
                     TPackets.sendClickPacket();
                     TPackets.sendInterfaceClosePacket();
-                }, "send interface close packet");
+                }, "send interface close packet", Pacing.FLUSH);
 
         return methods;
     }
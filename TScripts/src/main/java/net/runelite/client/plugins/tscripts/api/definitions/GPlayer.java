@@ -7,6 +7,7 @@ import net.runelite.client.plugins.tscripts.api.MethodManager;
 import net.runelite.client.plugins.tscripts.api.library.TPlayer;
 import net.runelite.client.plugins.tscripts.types.GroupDefinition;
 import net.runelite.client.plugins.tscripts.types.MethodDefinition;
+import net.runelite.client.plugins.tscripts.types.Pacing;
 import net.runelite.client.plugins.tscripts.types.Pair;
 import net.runelite.client.plugins.tscripts.types.Type;
 import net.unethicalite.api.entities.Players;
@@ -50,7 +51,7 @@ public class GPlayer implements GroupDefinition
                     {
                         player.interact((String) action);
                     }
-                }, "Interact with a player");
+                }, "Interact with a player", Pacing.CLIENT_TICK);
         addMethod(methods, "getPlayer", Type.OBJECT,
                 ImmutableMap.of(
                         0, Pair.of("username", Type.STRING)
@@ -128,6 +129,40 @@ public class GPlayer implements GroupDefinition
                     return true;
                 }, "check if a player is within a distance");
 
+        addMethod(methods, "getNearestPlayers", Type.OBJECT,
+                ImmutableMap.of(
+                        0, Pair.of("count", Type.INT)
+                ),
+                function ->
+                {
+                    int count = function.getArg(0, manager);
+                    return TPlayer.getNearestPlayers(count);
+                }, "Gets up to count of the nearest other players, nearest first");
+        addMethod(methods, "getPlayersWithin", Type.OBJECT,
+                ImmutableMap.of(
+                        0, Pair.of("distance", Type.INT)
+                ),
+                function ->
+                {
+                    int distance = function.getArg(0, manager);
+                    return TPlayer.getPlayersWithin(distance);
+                }, "Gets the other players at most a distance away");
+        addMethod(methods, "getPlayersIn", Type.OBJECT,
+                ImmutableMap.of(
+                        0, Pair.of("x1", Type.INT),
+                        1, Pair.of("y1", Type.INT),
+                        2, Pair.of("x2", Type.INT),
+                        3, Pair.of("y2", Type.INT)
+                ),
+                function ->
+                {
+                    int x1 = function.getArg(0, manager);
+                    int y1 = function.getArg(1, manager);
+                    int x2 = function.getArg(2, manager);
+                    int y2 = function.getArg(3, manager);
+                    return TPlayer.getPlayersIn(x1, y1, x2, y2);
+                }, "Gets the other players between two corner tiles on your plane");
+
         return methods;
     }
 }
\ No newline at end of file
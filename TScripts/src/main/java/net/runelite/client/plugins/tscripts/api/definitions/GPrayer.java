@@ -5,6 +5,7 @@ import net.runelite.client.plugins.tscripts.api.MethodManager;
 import net.runelite.client.plugins.tscripts.api.library.TPrayer;
 import net.runelite.client.plugins.tscripts.types.GroupDefinition;
 import net.runelite.client.plugins.tscripts.types.MethodDefinition;
+import net.runelite.client.plugins.tscripts.types.Pacing;
 import net.runelite.client.plugins.tscripts.types.Type;
 
 import java.util.ArrayList;
@@ -24,12 +25,12 @@ public class GPrayer implements GroupDefinition
         addMethod(methods, "activateQuickPrayers",
                 ImmutableMap.of(),
                 function -> TPrayer.turnOnQuickPrayers(),
-                "Activates quick prayers"
+                "Activates quick prayers", Pacing.CLIENT_TICK
         );
         addMethod(methods, "deactivateQuickPrayers",
                 ImmutableMap.of(),
                 function -> TPrayer.turnOffQuickPrayers(),
-                "Deactivates quick prayers"
+                "Deactivates quick prayers", Pacing.CLIENT_TICK
         );
         addMethod(methods, "isQuickPrayersEnabled", Type.BOOL,
                 ImmutableMap.of(),
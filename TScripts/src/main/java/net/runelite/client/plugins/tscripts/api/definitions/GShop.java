@@ -31,7 +31,7 @@ public class GShop implements GroupDefinition
                     else if(item instanceof String)
                         TShop.buy1((String) item);
                 },
-                "Buys 1 of an item from a shop"
+                "Buys 1 of an item from a shop", Pacing.CLIENT_TICK
         );
         addMethod(methods, "buyItem5",
                 ImmutableMap.of(
@@ -45,7 +45,7 @@ public class GShop implements GroupDefinition
                     else if(item instanceof String)
                         TShop.buy5((String) item);
                 },
-                "Buys 5 of an item from a shop"
+                "Buys 5 of an item from a shop", Pacing.CLIENT_TICK
         );
         addMethod(methods, "buyItem10",
                 ImmutableMap.of(
@@ -59,7 +59,7 @@ public class GShop implements GroupDefinition
                     else if(item instanceof String)
                         TShop.buy10((String) item);
                 },
-                "Buys 10 of an item from a shop"
+                "Buys 10 of an item from a shop", Pacing.CLIENT_TICK
         );
         addMethod(methods, "buyItem50",
                 ImmutableMap.of(
@@ -73,7 +73,7 @@ public class GShop implements GroupDefinition
                     else if(item instanceof String)
                         TShop.buy50((String) item);
                 },
-                "Buys 50 of an item from a shop"
+                "Buys 50 of an item from a shop", Pacing.CLIENT_TICK
         );
 
         addMethod(methods, "isShopOpen", Type.BOOL,
@@ -5,6 +5,7 @@ import net.runelite.client.plugins.tscripts.api.MethodManager;
 import net.runelite.client.plugins.tscripts.api.library.TTrade;
 import net.runelite.client.plugins.tscripts.types.GroupDefinition;
 import net.runelite.client.plugins.tscripts.types.MethodDefinition;
+import net.runelite.client.plugins.tscripts.types.Pacing;
 import net.runelite.client.plugins.tscripts.types.Pair;
 import net.runelite.client.plugins.tscripts.types.Type;
 import net.unethicalite.client.Static;
@@ -36,12 +37,12 @@ public class GTrade implements GroupDefinition
         addMethod(methods, "acceptTrade",
                 ImmutableMap.of(),
                 function -> TTrade.accept(),
-                "Accepts the trade"
+                "Accepts the trade", Pacing.CLIENT_TICK
         );
         addMethod(methods, "declineTrade",
                 ImmutableMap.of(),
                 function -> TTrade.decline(),
-                "Declines the trade"
+                "Declines the trade", Pacing.CLIENT_TICK
         );
         addMethod(methods, "offerTrade",
                 ImmutableMap.of(
@@ -54,7 +55,7 @@ public class GTrade implements GroupDefinition
                     int amount = function.getArg(1, manager);
                     TTrade.offer(item, amount);
                 },
-                "Offers an item in the trade"
+                "Offers an item in the trade", Pacing.CLIENT_TICK
         );
         addMethod(methods, "removeTrade",
                 ImmutableMap.of(
@@ -66,7 +67,7 @@ public class GTrade implements GroupDefinition
                     int amount = function.getArg(1, manager);
                     TTrade.remove(item, amount);
                 },
-                "Removes an item from the trade"
+                "Removes an item from the trade", Pacing.CLIENT_TICK
         );
 
         return methods;
@@ -8,6 +8,7 @@ import net.runelite.client.plugins.tscripts.api.library.TPlayer;
 import net.runelite.client.plugins.tscripts.api.library.TWidget;
 import net.runelite.client.plugins.tscripts.types.GroupDefinition;
 import net.runelite.client.plugins.tscripts.types.MethodDefinition;
+import net.runelite.client.plugins.tscripts.types.Pacing;
 import net.runelite.client.plugins.tscripts.types.Pair;
 import net.runelite.client.plugins.tscripts.types.Type;
 
@@ -53,7 +54,7 @@ public class GWidget implements GroupDefinition
                     if(widget == null)
                         return;
                     widget.setText(text);
-                }, "sets a widget's text");
+                }, "sets a widget's text", Pacing.FIXED);
 
         return methods;
     }
@@ -10,6 +10,7 @@ import net.runelite.client.plugins.tscripts.api.library.TWorld;
 import net.runelite.client.plugins.tscripts.sevices.WorldService.WorldSelectionService;
 import net.runelite.client.plugins.tscripts.types.GroupDefinition;
 import net.runelite.client.plugins.tscripts.types.MethodDefinition;
+import net.runelite.client.plugins.tscripts.types.Pacing;
 import net.runelite.client.plugins.tscripts.types.Pair;
 import net.runelite.client.plugins.tscripts.types.Type;
 import net.runelite.client.plugins.tscripts.util.Logging;
@@ -39,7 +40,7 @@ public class GWorld implements GroupDefinition
                     int world = function.getArg(0, manager);
                     TWorld.hop(world);
                 },
-                "Hops to the specified world"
+                "Hops to the specified world", Pacing.CLIENT_TICK
         );
         addMethod(methods, "hopRandomMembers",
                 ImmutableMap.of(
@@ -50,7 +51,7 @@ public class GWorld implements GroupDefinition
                     System.out.println("hopping: " + world.getId());
                     TWorld.hop(world.getId());
                 },
-                "Hops to a random members world"
+                "Hops to a random members world", Pacing.CLIENT_TICK
         );
         addMethod(methods, "hopRandomF2p",
                 ImmutableMap.of(
@@ -61,7 +62,7 @@ public class GWorld implements GroupDefinition
                     System.out.println("hopping: " + world.getId());
                     TWorld.hop(world.getId());
                 },
-                "Hops to a random f2p world"
+                "Hops to a random f2p world", Pacing.CLIENT_TICK
         );
         addMethod(methods, "getWorld", Type.INT,
                 ImmutableMap.of(),
@@ -6,7 +6,8 @@ import net.runelite.api.Actor;
 import net.runelite.api.NPC;
 import net.runelite.api.queries.NPCQuery;
 import net.runelite.client.plugins.tscripts.api.library.TMovement;
-import net.unethicalite.api.entities.NPCs;
+import net.runelite.client.plugins.tscripts.sevices.cache.GameCache;
+import net.runelite.client.plugins.tscripts.sevices.cache.Spatial;
 import net.unethicalite.client.Static;
 import org.apache.commons.lang3.ArrayUtils;
 
@@ -66,7 +67,7 @@ public enum NpcFilter
                 .result(Static.getClient())
                 .nearestTo(Static.getClient().getLocalPlayer());*/
 
-        return NPCs.getNearest(n -> {
+        return GameCache.get().getSnapshot().getNpcGrid().nearest(Spatial.origin(), n -> {
             if(by != null && !by.test(identifier, n))
             {
                 return false;
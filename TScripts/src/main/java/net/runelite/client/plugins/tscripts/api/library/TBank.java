@@ -5,6 +5,8 @@ import net.runelite.api.InventoryID;
 import net.runelite.api.Item;
 import net.runelite.api.ItemContainer;
 import net.runelite.api.widgets.WidgetInfo;
+import net.runelite.client.plugins.tscripts.sevices.cache.ContainerMirror;
+import net.runelite.client.plugins.tscripts.sevices.cache.GameCache;
 import net.unethicalite.client.Static;
 import java.util.ArrayList;
 import java.util.List;
@@ -76,118 +78,32 @@ public class TBank
 
     public static boolean contains(int itemId)
     {
-        return TGame.invoke(() -> {
-            ItemContainer bank = Static.getClient().getItemContainer(InventoryID.BANK);
-            if(bank == null)
-            {
-                return false;
-            }
-            for(Item item : getItems())
-            {
-                if(item.getId() == itemId)
-                {
-                    return true;
-                }
-            }
-            return false;
-        });
+        return bank().contains(itemId);
     }
 
     public static int getSlot(int itemId)
     {
-        return TGame.invoke(() -> {
-            ItemContainer bank = Static.getClient().getItemContainer(InventoryID.BANK);
-            if(bank == null)
-            {
-                return -1;
-            }
-            for(Item item : getItems())
-            {
-                if(item.getId() == itemId)
-                {
-                    return item.getSlot();
-                }
-            }
-            return -1;
-        });
+        return bank().findSlot(itemId);
     }
 
     public static boolean contains(String itemName)
     {
-        return TGame.invoke(() -> {
-            ItemContainer bank = Static.getClient().getItemContainer(InventoryID.BANK);
-            if(bank == null)
-                return false;
-            for(Item item : getItems())
-            {
-                if(item.getName().toLowerCase().contains(itemName.toLowerCase()))
-                {
-                    return true;
-                }
-            }
-            return false;
-        });
+        return bank().findSlot(name -> name.toLowerCase().contains(itemName.toLowerCase())) != -1;
     }
 
     public static int getSlot(String itemName)
     {
-        return TGame.invoke(() -> {
-            ItemContainer bank = Static.getClient().getItemContainer(InventoryID.BANK);
-            if(bank == null)
-                return -1;
-            for(Item item : getItems())
-            {
-                if(item.getName().toLowerCase().contains(itemName.toLowerCase()))
-                {
-                    return item.getSlot();
-                }
-            }
-            return -1;
-        });
+        return bank().findSlot(name -> name.toLowerCase().contains(itemName.toLowerCase()));
     }
 
     public static List<Item> getItems()
     {
-        return TGame.invoke(() -> {
-            ItemContainer bank = Static.getClient().getItemContainer(InventoryID.BANK);
-            if(bank == null)
-            {
-                return new ArrayList<>();
-            }
-
-            List<Item> items = new ArrayList<>();
-            for(Item item : bank.getItems())
-            {
-                if(item != null && item.getId() != -1)
-                {
-                    items.add(item);
-                }
-            }
-
-            return items;
-        });
+        return new ArrayList<>(bank().getItems());
     }
 
     public static List<Item> getItemsInventory()
     {
-        return TGame.invoke(() -> {
-            ItemContainer bank = Static.getClient().getItemContainer(InventoryID.INVENTORY);
-            if(bank == null)
-            {
-                return new ArrayList<>();
-            }
-
-            List<Item> items = new ArrayList<>();
-            for(Item item : bank.getItems())
-            {
-                if(item != null && item.getId() != -1)
-                {
-                    items.add(item);
-                }
-            }
-
-            return items;
-        });
+        return new ArrayList<>(GameCache.get().getContainer(InventoryID.INVENTORY).getItems());
     }
 
     /**
@@ -197,20 +113,7 @@ public class TBank
      */
     public static int count(int itemId)
     {
-        return TGame.invoke(() -> {
-            ItemContainer bank = Static.getClient().getItemContainer(InventoryID.BANK);
-            if(bank == null)
-                return 0;
-            int count = 0;
-            for(Item item : getItems())
-            {
-                if(item != null && item.getId() == itemId)
-                {
-                    count += item.getQuantity();
-                }
-            }
-            return count;
-        });
+        return bank().count(itemId);
     }
 
     /**
@@ -220,20 +123,12 @@ public class TBank
      */
     public static int count(String itemName)
     {
-        return TGame.invoke(() -> {
-            ItemContainer bank = Static.getClient().getItemContainer(InventoryID.BANK);
-            if(bank == null)
-                return 0;
-            int count = 0;
-            for(Item item : getItems())
-            {
-                if(item != null && item.getName().toLowerCase().contains(itemName.toLowerCase()))
-                {
-                    count += item.getQuantity();
-                }
-            }
-            return count;
-        });
+        return bank().count(name -> name.toLowerCase().contains(itemName.toLowerCase()));
+    }
+
+    private static ContainerMirror bank()
+    {
+        return GameCache.get().getContainer(InventoryID.BANK);
     }
 
     public static void withdraw(int itemId, int amount, int slot)
@@ -2,10 +2,8 @@ package net.runelite.client.plugins.tscripts.api.library;
 
 import net.runelite.api.GameState;
 import net.runelite.api.Player;
-import net.runelite.client.plugins.tscripts.runtime.Runtime;
-import net.runelite.client.plugins.tscripts.sevices.cache.GameCache;
+import net.runelite.client.plugins.tscripts.sevices.TickScheduler;
 import net.runelite.client.plugins.tscripts.util.Logging;
-import net.runelite.client.plugins.tscripts.util.ThreadPool;
 import net.unethicalite.client.Static;
 
 public class TDelay
@@ -16,6 +14,9 @@ public class TDelay
         {
             Thread.sleep(ms);
         }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
         catch (Exception ex) {
             Logging.errorLog(ex);
         }
@@ -23,35 +24,25 @@ public class TDelay
 
     public static boolean tick(int length)
     {
-        int original = GameCache.get().getTickCount();
-        int next = GameCache.get().getTickCount() + length;
-        while(GameCache.get().getTickCount() < next && GameCache.get().getTickCount() >= original)
-        {
-            if(Runtime.isInterrupted())
-                return false;
-            sleep(50);
-        }
-        return true;
+        return TickScheduler.get().await(length);
     }
 
     public static void waitUntilIdle()
     {
-        tick(1);
+        if(!tick(1))
+            return;
         Player player = Static.getClient().getLocalPlayer();
-        while(!TGame.invoke(player::isIdle) && tick(1));
+        TickScheduler.get().awaitUntil(player::isIdle);
     }
 
     public static void waitUntilOnTile(int worldX, int worldY)
     {
         Player player = Static.getClient().getLocalPlayer();
-        while((player.getWorldLocation().getX() != worldX || player.getWorldLocation().getY() != worldY) && tick(1));
+        TickScheduler.get().awaitUntil(() -> player.getWorldLocation().getX() == worldX && player.getWorldLocation().getY() == worldY);
     }
 
     public static void invokeLater(Runnable runnable, int ticks)
     {
-        ThreadPool.submit(() -> {
-            tick(ticks);
-            Static.getClientThread().invoke(runnable);
-        });
+        TickScheduler.get().schedule(() -> Static.getClientThread().invoke(runnable), ticks);
     }
 }
@@ -1,7 +1,9 @@
 package net.runelite.client.plugins.tscripts.api.library;
 
 import net.runelite.api.TileItem;
-import net.unethicalite.api.entities.TileItems;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.tscripts.sevices.cache.GameCache;
+import net.runelite.client.plugins.tscripts.sevices.cache.Spatial;
 
 import java.util.Arrays;
 
@@ -28,35 +30,59 @@ public class TGroundItem
         }
         if(identifier instanceof Integer)
         {
-            return TileItems.query()
-                    .filter(o -> o.getId() == (int) identifier)
-                    .results().nearest();
+            return Spatial.nearest(GameCache.get().groundItemsById((int) identifier), Spatial.origin(), o -> true);
         }
         else if (identifier instanceof String)
         {
-            return TileItems.query()
-                    .filter(o -> o.getName().equals(identifier))
-                    .results().nearest();
+            return Spatial.nearest(GameCache.get().groundItemsByName((String) identifier), Spatial.origin(), o -> o.getName().equals(identifier));
         }
         return null;
     }
 
+    /**
+     * Gets a ground item by its tile, looking at the tile on the local player's plane first and then on the others
+     */
     public static TileItem getTileItemAt(Object identifier, int x, int y)
     {
-        if(identifier instanceof Integer)
+        WorldPoint origin = Spatial.origin();
+        int current = origin == null ? 0 : origin.getPlane();
+        TileItem item = getTileItemAt(identifier, x, y, current);
+        for (int plane = 0; plane < 4 && item == null; plane++)
         {
-            return TileItems.query()
-                    .filter(o -> o.getId() == (int) identifier)
-                    .filter(o -> o.getWorldLocation().getX() == x && o.getWorldLocation().getY() == y)
-                    .results().nearest();
+            if(plane != current)
+                item = getTileItemAt(identifier, x, y, plane);
         }
-        else if (identifier instanceof String)
+        return item;
+    }
+
+    private static TileItem getTileItemAt(Object identifier, int x, int y, int plane)
+    {
+        for (TileItem item : GameCache.get().groundItemsAt(x, y, plane))
         {
-            return TileItems.query()
-                    .filter(o -> o.getName().equals(identifier))
-                    .filter(o -> o.getWorldLocation().getX() == x && o.getWorldLocation().getY() == y)
-                    .results().nearest();
+            if(matches(item, identifier))
+                return item;
         }
         return null;
     }
+
+    /**
+     * Gets the nearest ground item that appeared in the last ticks
+     *
+     * @param identifier the id or name of the item
+     * @param ticks the number of ticks, 1 for items that appeared this tick
+     * @return the item, or null if none appeared
+     */
+    public static TileItem getNewTileItem(Object identifier, int ticks)
+    {
+        return Spatial.nearest(GameCache.get().groundItemsSince(ticks), Spatial.origin(), o -> matches(o, identifier));
+    }
+
+    private static boolean matches(TileItem item, Object identifier)
+    {
+        if(identifier instanceof Integer)
+            return item.getId() == (int) identifier;
+        if(identifier instanceof String)
+            return item.getName().equals(identifier);
+        return false;
+    }
 }
@@ -5,6 +5,8 @@ import net.runelite.api.Item;
 import net.runelite.api.ItemContainer;
 import net.runelite.api.TileObject;
 import net.runelite.api.widgets.WidgetInfo;
+import net.runelite.client.plugins.tscripts.sevices.cache.ContainerMirror;
+import net.runelite.client.plugins.tscripts.sevices.cache.GameCache;
 import net.unethicalite.api.items.Inventory;
 import net.unethicalite.client.Static;
 
@@ -70,41 +72,12 @@ public class TInventory
 
     public static int count(int itemId)
     {
-        Integer value = TGame.invoke(() -> {
-            ItemContainer inventory = Static.getClient().getItemContainer(InventoryID.INVENTORY);
-            if(inventory == null)
-                return 0;
-            int count = 0;
-            for(Item item : inventory.getItems())
-            {
-                if(item != null && item.getId() == itemId)
-                {
-                    count += item.getQuantity();
-                }
-            }
-            return count;
-        });
-        return value == null ? 0 : value;
+        return GameCache.get().getContainer(InventoryID.INVENTORY).count(itemId);
     }
 
     public static int count(String itemName)
     {
-        Integer value = TGame.invoke(() ->
-        {
-            ItemContainer inventory = Static.getClient().getItemContainer(InventoryID.INVENTORY);
-            if(inventory == null)
-                return 0;
-            int count = 0;
-            for(Item item : inventory.getItems())
-            {
-                if(item != null && item.getName().contains(itemName))
-                {
-                    count += item.getQuantity();
-                }
-            }
-            return count;
-        });
-        return value == null ? 0 : value;
+        return GameCache.get().getContainer(InventoryID.INVENTORY).count(name -> name.contains(itemName));
     }
 
     public static Item getItem(Object identifier)
@@ -139,22 +112,9 @@ public class TInventory
 
     public static int emptySlots()
     {
-        Integer value = TGame.invoke(() -> {
-            ItemContainer inventory = Static.getClient().getItemContainer(InventoryID.INVENTORY);
-            if(inventory == null)
-                return 0;
-            int count = 0;
-
-            for(Item item : inventory.getItems())
-            {
-                if(item != null && item.getId() != -1 && item.getQuantity() != 0)
-                {
-                    count++;
-                }
-            }
-
-            return 28 - count;
-        });
-        return value == null ? 0 : value;
+        ContainerMirror inventory = GameCache.get().getContainer(InventoryID.INVENTORY);
+        if(!inventory.exists())
+            return 0;
+        return 28 - inventory.getUsedSlots();
     }
 }
@@ -1,10 +1,16 @@
 package net.runelite.client.plugins.tscripts.api.library;
 
 import net.runelite.api.NPC;
+import net.runelite.api.coords.WorldArea;
+import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.queries.NPCQuery;
-import net.unethicalite.api.entities.NPCs;
+import net.runelite.client.plugins.tscripts.sevices.cache.GameCache;
+import net.runelite.client.plugins.tscripts.sevices.cache.Spatial;
 import net.unethicalite.client.Static;
 
+import java.util.Collections;
+import java.util.List;
+
 public class TNpc
 {
     public static NPC getNpc(Object identifier)
@@ -21,7 +27,7 @@ public class TNpc
                     .filter(n -> !n.isDead())
                     .result(Static.getClient())
                     .nearestTo(Static.getClient().getLocalPlayer());*/
-            npc = NPCs.getNearest(n -> n.getId() == (int)identifier && !n.isDead());
+            npc = Spatial.nearest(GameCache.get().npcsById((int) identifier), Spatial.origin(), n -> !n.isDead());
         }
         else if (identifier instanceof String)
         {
@@ -30,8 +36,46 @@ public class TNpc
                     .filter(n -> !n.isDead())
                     .result(Static.getClient())
                     .nearestTo(Static.getClient().getLocalPlayer());*/
-            npc = NPCs.getNearest(n -> n.getName().equals(identifier) && !n.isDead());
+            npc = Spatial.nearest(GameCache.get().npcsByName((String) identifier), Spatial.origin(), n -> n.getName().equals(identifier) && !n.isDead());
         }
         return npc;
     }
+
+    /**
+     * Gets the nearest npcs, nearest first
+     *
+     * @param count the most npcs to return
+     * @return the npcs
+     */
+    public static List<NPC> getNearestNpcs(int count)
+    {
+        return GameCache.get().getSnapshot().getNpcGrid().nearest(Spatial.origin(), count, n -> !n.isDead());
+    }
+
+    /**
+     * Gets the npcs on the local player's plane at most a number of tiles away
+     */
+    public static List<NPC> getNpcsWithin(int distance)
+    {
+        WorldPoint origin = Spatial.origin();
+        if(origin == null)
+            return Collections.emptyList();
+        return GameCache.get().getSnapshot().getNpcGrid().within(origin, distance, n -> !n.isDead());
+    }
+
+    public static List<NPC> getNpcsIn(WorldArea area)
+    {
+        return GameCache.get().getSnapshot().getNpcGrid().in(area, n -> !n.isDead());
+    }
+
+    /**
+     * Gets the npcs between two corner tiles on the local player's plane
+     */
+    public static List<NPC> getNpcsIn(int x1, int y1, int x2, int y2)
+    {
+        WorldPoint origin = Spatial.origin();
+        if(origin == null)
+            return Collections.emptyList();
+        return getNpcsIn(Spatial.area(x1, y1, x2, y2, origin.getPlane()));
+    }
 }
@@ -2,12 +2,15 @@ package net.runelite.client.plugins.tscripts.api.library;
 
 import net.runelite.api.GameObject;
 import net.runelite.api.TileObject;
+import net.runelite.api.coords.WorldArea;
 import net.runelite.api.coords.WorldPoint;
-import net.runelite.client.plugins.tscripts.util.Compare;
 import net.runelite.client.plugins.tscripts.sevices.cache.GameCache;
+import net.runelite.client.plugins.tscripts.sevices.cache.Spatial;
 import net.unethicalite.client.Static;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 public class TObjects
 {
@@ -44,15 +47,11 @@ public class TObjects
         }
         if(identifier instanceof Integer)
         {
-            return GameCache.get().objectStream()
-                    .filter(o -> o.getId() == (int) identifier)
-                    .min(Compare.DISTANCE).orElse(null);
+            return Spatial.nearest(GameCache.get().objectsById((int) identifier), Spatial.origin(), o -> true);
         }
         else if (identifier instanceof String)
         {
-            return GameCache.get().objectStream()
-                    .filter(o -> o.getName().equals(identifier))
-                    .min(Compare.DISTANCE).orElse(null);
+            return Spatial.nearest(GameCache.get().objectsByName((String) identifier), Spatial.origin(), o -> o.getName().equals(identifier));
         }
         return null;
     }
@@ -66,32 +65,67 @@ public class TObjects
         }
         if(identifier instanceof Integer)
         {
-            return GameCache.get().objectStream()
-                    .filter(o -> o.getId() == (int) identifier && o.distanceTo(Static.getClient().getLocalPlayer()) <= distance)
-                    .min(Compare.DISTANCE).orElse(null);
+            return Spatial.nearestWithin(GameCache.get().objectsById((int) identifier), Spatial.origin(), distance, o -> true);
         }
         else if (identifier instanceof String)
         {
-            return GameCache.get().objectStream()
-                    .filter(o -> o.getName().equals(identifier) && o.distanceTo(Static.getClient().getLocalPlayer()) <= distance)
-                    .min(Compare.DISTANCE).orElse(null);
+            return Spatial.nearestWithin(GameCache.get().objectsByName((String) identifier), Spatial.origin(), distance, o -> o.getName().equals(identifier));
         }
         return null;
     }
 
+    /**
+     * Gets the nearest objects, nearest first
+     *
+     * @param count the most objects to return
+     * @return the objects
+     */
+    public static List<TileObject> getNearestObjects(int count)
+    {
+        return GameCache.get().getSnapshot().getObjectGrid().nearest(Spatial.origin(), count, o -> true);
+    }
+
+    /**
+     * Gets the objects on the local player's plane at most a number of tiles away
+     */
+    public static List<TileObject> getObjectsWithin(int distance)
+    {
+        WorldPoint origin = Spatial.origin();
+        if(origin == null)
+            return Collections.emptyList();
+        return GameCache.get().getSnapshot().getObjectGrid().within(origin, distance, o -> true);
+    }
+
+    public static List<TileObject> getObjectsIn(WorldArea area)
+    {
+        return GameCache.get().getSnapshot().getObjectGrid().in(area, o -> true);
+    }
+
+    /**
+     * Gets the objects between two corner tiles on the local player's plane
+     */
+    public static List<TileObject> getObjectsIn(int x1, int y1, int x2, int y2)
+    {
+        WorldPoint origin = Spatial.origin();
+        if(origin == null)
+            return Collections.emptyList();
+        return getObjectsIn(Spatial.area(x1, y1, x2, y2, origin.getPlane()));
+    }
+
+    /**
+     * Gets an object by its tile, looking at the tile on every plane
+     */
     public static TileObject getObjectAt(Object identifier, int x, int y)
     {
-        if(identifier instanceof Integer)
-        {
-            return GameCache.get().objectStream()
-                    .filter(o -> o.getId() == (int) identifier && o.getWorldLocation().getX() == x && o.getWorldLocation().getY() == y)
-                    .findFirst().orElse(null);
-        }
-        else if (identifier instanceof String)
+        for (int plane = 0; plane < 4; plane++)
         {
-            return GameCache.get().objectStream()
-                    .filter(o -> o.getName().equals(identifier) && o.getWorldLocation().getX() == x && o.getWorldLocation().getY() == y)
-                    .findFirst().orElse(null);
+            for (TileObject object : GameCache.get().objectsAt(x, y, plane))
+            {
+                if(identifier instanceof Integer && object.getId() == (int) identifier)
+                    return object;
+                if(identifier instanceof String && object.getName().equals(identifier))
+                    return object;
+            }
         }
         return null;
     }
@@ -1,9 +1,14 @@
 package net.runelite.client.plugins.tscripts.api.library;
 
 import net.runelite.api.Player;
+import net.runelite.api.coords.WorldArea;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.client.plugins.tscripts.sevices.cache.GameCache;
+import net.runelite.client.plugins.tscripts.sevices.cache.Spatial;
 import net.unethicalite.api.entities.Players;
 import net.unethicalite.client.Static;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Predicate;
 
@@ -41,4 +46,45 @@ public class TPlayer
                 .filter(player -> !player.equals(Static.getClient().getLocalPlayer()))
                 .findFirst().orElse(null));
     }
+
+    /**
+     * Gets the nearest other players, nearest first
+     *
+     * @param count the most players to return
+     * @return the players
+     */
+    public static List<Player> getNearestPlayers(int count)
+    {
+        Player local = Static.getClient().getLocalPlayer();
+        return GameCache.get().getSnapshot().getPlayerGrid().nearest(Spatial.origin(), count, player -> !player.equals(local));
+    }
+
+    /**
+     * Gets the other players on the local player's plane at most a number of tiles away
+     */
+    public static List<Player> getPlayersWithin(int distance)
+    {
+        WorldPoint origin = Spatial.origin();
+        if(origin == null)
+            return Collections.emptyList();
+        Player local = Static.getClient().getLocalPlayer();
+        return GameCache.get().getSnapshot().getPlayerGrid().within(origin, distance, player -> !player.equals(local));
+    }
+
+    public static List<Player> getPlayersIn(WorldArea area)
+    {
+        Player local = Static.getClient().getLocalPlayer();
+        return GameCache.get().getSnapshot().getPlayerGrid().in(area, player -> !player.equals(local));
+    }
+
+    /**
+     * Gets the other players between two corner tiles on the local player's plane
+     */
+    public static List<Player> getPlayersIn(int x1, int y1, int x2, int y2)
+    {
+        WorldPoint origin = Spatial.origin();
+        if(origin == null)
+            return Collections.emptyList();
+        return getPlayersIn(Spatial.area(x1, y1, x2, y2, origin.getPlane()));
+    }
 }
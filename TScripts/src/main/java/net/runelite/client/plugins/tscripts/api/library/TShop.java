@@ -3,6 +3,7 @@ package net.runelite.client.plugins.tscripts.api.library;
 import net.runelite.api.Item;
 import net.runelite.api.widgets.WidgetInfo;
 import net.runelite.client.plugins.tscripts.sevices.ItemContainerQuery;
+import net.runelite.client.plugins.tscripts.sevices.cache.GameCache;
 import net.runelite.client.plugins.tscripts.types.ShopID;
 
 /**
@@ -112,7 +113,7 @@ public class TShop {
      */
     public static Item getShopItem(String itemName)
     {
-        return new ItemContainerQuery<>(ShopID.getCurrent()).withName(itemName).findFirst();
+        return ItemContainerQuery.of(GameCache.get().getShop()).withName(itemName).findFirst();
     }
 
     /**
@@ -122,7 +123,7 @@ public class TShop {
      */
     public static Item getShopItem(int itemId)
     {
-        return new ItemContainerQuery<>(ShopID.getCurrent()).withId(itemId).findFirst();
+        return ItemContainerQuery.of(GameCache.get().getShop()).withId(itemId).findFirst();
     }
 
     /**
@@ -132,7 +133,7 @@ public class TShop {
      */
     public static int getStockQuantity(int itemId)
     {
-        return new ItemContainerQuery<>(ShopID.getCurrent()).withId(itemId).getQuantity();
+        return GameCache.get().getShop().count(itemId);
     }
 
     /**
@@ -142,7 +143,7 @@ public class TShop {
      */
     public static int getStockQuantity(String itemName)
     {
-        return new ItemContainerQuery<>(ShopID.getCurrent()).withName(itemName).getQuantity();
+        return GameCache.get().getShop().count(name -> name.equalsIgnoreCase(itemName));
     }
 
     /**
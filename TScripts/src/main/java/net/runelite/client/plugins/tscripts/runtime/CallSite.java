@@ -0,0 +1,95 @@
+package net.runelite.client.plugins.tscripts.runtime;
+
+import lombok.Getter;
+import lombok.Setter;
+import net.runelite.client.plugins.tscripts.adapter.models.method.MethodCall;
+import net.runelite.client.plugins.tscripts.types.MethodDefinition;
+
+import java.util.Arrays;
+
+/**
+ * What a method call statement resolved to in one runtime. It is stored on the
+ * {@link MethodCall} so repeated calls skip the keyword switch and the name lookups.
+ * A runtime drops its call sites by bumping its function generation whenever a user
+ * function is (re)defined.
+ */
+@Getter
+public class CallSite
+{
+    public static final int BUILTIN = 0;
+    public static final int USER = 1;
+    public static final int DIE = 2;
+    public static final int BREAK = 3;
+    public static final int CONTINUE = 4;
+    public static final int BREAKPOINT = 5;
+    public static final int RETURN = 6;
+    public static final int EVAL = 7;
+
+    private final Runtime owner;
+    private final int generation;
+    private final int kind;
+    private final MethodDefinition definition;
+    private final UserDefinedFunction function;
+    /**
+     * The call handed to the method definition, its argument array is refilled on every call
+     */
+    private final MethodCall evaluated;
+    private boolean inUse = false;
+    /**
+     * The id the trace recorder knows the method by, 0 until it was first traced
+     */
+    @Setter
+    private int traceId = 0;
+
+    public CallSite(Runtime owner, int generation, MethodCall call, UserDefinedFunction function, MethodDefinition definition)
+    {
+        this.owner = owner;
+        this.generation = generation;
+        this.function = function;
+        this.definition = definition;
+        this.kind = kindOf(call.getName(), function);
+        this.evaluated = new MethodCall(call.getName(), new Object[call.getArgs().length], call.isNegate());
+    }
+
+    private static int kindOf(String name, UserDefinedFunction function)
+    {
+        switch (name)
+        {
+            case "die":
+                return DIE;
+            case "break":
+                return BREAK;
+            case "continue":
+                return CONTINUE;
+            case "breakpoint":
+                return BREAKPOINT;
+            case "return":
+                return RETURN;
+            case "eval":
+                return EVAL;
+        }
+        return function != null ? USER : BUILTIN;
+    }
+
+    /**
+     * Gets a call to evaluate the arguments into. Re-entering the same call site
+     * (recursion through a user function) gets a fresh one.
+     *
+     * @return the call
+     */
+    public MethodCall acquire()
+    {
+        if(inUse)
+            return new MethodCall(evaluated.getName(), new Object[evaluated.getArgs().length], evaluated.isNegate());
+        inUse = true;
+        return evaluated;
+    }
+
+    public void release(MethodCall call)
+    {
+        if(call != evaluated)
+            return;
+        Arrays.fill(evaluated.getArgs(), null);
+        inUse = false;
+    }
+}
@@ -0,0 +1,246 @@
+package net.runelite.client.plugins.tscripts.runtime;
+
+import lombok.Getter;
+import net.runelite.client.plugins.tscripts.adapter.Adapter;
+import net.runelite.client.plugins.tscripts.adapter.models.Element;
+import net.runelite.client.plugins.tscripts.adapter.models.Scope.Scope;
+import net.runelite.client.plugins.tscripts.adapter.models.condition.Conditions;
+import net.runelite.client.plugins.tscripts.util.Logging;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Breakpoints and stepping for one runtime. The runtime checks {@link #isArmed()} before
+ * every statement, which is the only cost while no breakpoint is set and nobody is stepping.
+ * A suspended script thread is parked until the debugger resumes or the script is killed.
+ *
+ * Breakpoints and step requests are set from the UI, {@link #shouldSuspend} runs on the script thread.
+ */
+public class Debugger
+{
+    private static final int RUN = 0;
+    private static final int PAUSE = 1;
+    private static final int STEP_INTO = 2;
+    private static final int STEP_OVER = 3;
+    private static final int STEP_OUT = 4;
+
+    /**
+     * Set while there is anything to check per statement
+     */
+    private volatile boolean armed = false;
+    private volatile Map<Integer, Conditions> breakpoints = Collections.emptyMap();
+    private volatile int mode = RUN;
+    /**
+     * The frame depth the last step was requested at
+     */
+    private volatile int stepDepth = 0;
+    private volatile Thread suspended = null;
+    @Getter
+    private volatile int suspendedLine = 0;
+    private int suspendedDepth = 0;
+
+    public boolean isArmed()
+    {
+        return armed;
+    }
+
+    public boolean isSuspended()
+    {
+        return suspended != null;
+    }
+
+    /**
+     * Replaces the breakpoints
+     *
+     * A breakpoint whose condition does not parse is reported and left out.
+     *
+     * @param lines the source lines, starting at 1, mapped to their condition or null for unconditional breakpoints
+     */
+    public void setBreakpoints(Map<Integer, String> lines)
+    {
+        Map<Integer, Conditions> parsed = new HashMap<>();
+        for (Map.Entry<Integer, String> entry : lines.entrySet())
+        {
+            if(entry.getValue() == null)
+            {
+                parsed.put(entry.getKey(), null);
+                continue;
+            }
+            Conditions condition = parseCondition(entry.getValue());
+            if(condition == null)
+            {
+                Logging.errorLog(new IllegalArgumentException("Invalid breakpoint condition on line " + entry.getKey() + ": " + entry.getValue()));
+                continue;
+            }
+            parsed.put(entry.getKey(), condition);
+        }
+        breakpoints = parsed;
+        rearm();
+    }
+
+    /**
+     * Parses a breakpoint condition through the script parser, so it can use the same syntax as an if.
+     * It is not optimized, the optimizer would drop a constant false if together with its condition.
+     *
+     * @return the condition, or null if it is empty or does not parse to a single if
+     */
+    private static Conditions parseCondition(String condition)
+    {
+        if(condition.isBlank())
+            return null;
+        Scope root;
+        try
+        {
+            root = Adapter.parse("if(" + condition + "){}");
+        }
+        catch (Exception ex)
+        {
+            return null;
+        }
+        if(root == null || root.getElements().size() != 1)
+            return null;
+        Element element = root.getElements().get(0);
+        if(!(element instanceof Scope))
+            return null;
+        Conditions conditions = ((Scope) element).getConditions();
+        if(conditions == null || conditions.getConditions().isEmpty())
+            return null;
+        return conditions;
+    }
+
+    /**
+     * Suspends the script before its next statement
+     */
+    public void pause()
+    {
+        mode = PAUSE;
+        rearm();
+    }
+
+    public void resume()
+    {
+        mode = RUN;
+        rearm();
+        release();
+    }
+
+    /**
+     * Resumes and suspends again before the next statement, entering blocks and functions
+     */
+    public void stepInto()
+    {
+        step(STEP_INTO);
+    }
+
+    /**
+     * Resumes and suspends again before the next statement at the same or a shallower depth
+     */
+    public void stepOver()
+    {
+        step(STEP_OVER);
+    }
+
+    /**
+     * Resumes and suspends again once the current block or function was left
+     */
+    public void stepOut()
+    {
+        step(STEP_OUT);
+    }
+
+    private void step(int stepMode)
+    {
+        if(!isSuspended())
+            return;
+        stepDepth = suspendedDepth;
+        mode = stepMode;
+        rearm();
+        release();
+    }
+
+    private void rearm()
+    {
+        armed = mode != RUN || !breakpoints.isEmpty();
+    }
+
+    private void release()
+    {
+        Thread thread = suspended;
+        suspended = null;
+        if(thread != null)
+            LockSupport.unpark(thread);
+    }
+
+    /**
+     * Checks whether the script has to suspend before a statement, only called while armed
+     *
+     * @param element the statement
+     * @param depth the frame depth of the statement
+     * @param runtime the runtime, used to evaluate breakpoint conditions
+     * @return whether to suspend
+     */
+    boolean shouldSuspend(Element element, int depth, Runtime runtime)
+    {
+        switch (mode)
+        {
+            case PAUSE:
+            case STEP_INTO:
+                return true;
+            case STEP_OVER:
+                if(depth <= stepDepth)
+                    return true;
+                break;
+            case STEP_OUT:
+                if(depth < stepDepth)
+                    return true;
+                break;
+        }
+
+        Map<Integer, Conditions> current = breakpoints;
+        if(current.isEmpty() || !current.containsKey(element.getLine()))
+            return false;
+        Conditions condition = current.get(element.getLine());
+        return condition == null || runtime.evaluateBreakpoint(condition);
+    }
+
+    /**
+     * Parks the script thread until the debugger resumes or the thread is interrupted
+     *
+     * @param element the statement the script stopped before
+     * @param depth the frame depth of the statement
+     * @param onSuspended called once the thread counts as suspended, before it parks
+     */
+    void suspend(Element element, int depth, Runnable onSuspended)
+    {
+        suspendedLine = element.getLine();
+        suspendedDepth = depth;
+        mode = RUN;
+        rearm();
+        Thread thread = Thread.currentThread();
+        suspended = thread;
+        onSuspended.run();
+        while (suspended == thread)
+        {
+            if(thread.isInterrupted())
+            {
+                suspended = null;
+                break;
+            }
+            LockSupport.park(this);
+        }
+        suspendedLine = 0;
+    }
+
+    /**
+     * Lets a suspended script go when it is killed
+     */
+    void reset()
+    {
+        mode = RUN;
+        rearm();
+        release();
+    }
+}
@@ -0,0 +1,40 @@
+package net.runelite.client.plugins.tscripts.runtime;
+
+import net.runelite.client.plugins.tscripts.util.Logging;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Fans one client event out to every subscribe block a script has for it, so a script
+ * holds a single client subscription per event type however many blocks it has.
+ */
+public class EventMultiplexer
+{
+    private final CopyOnWriteArrayList<Consumer<Object>> handlers = new CopyOnWriteArrayList<>();
+
+    public void add(Consumer<Object> handler)
+    {
+        handlers.add(handler);
+    }
+
+    /**
+     * Hands an event to every handler, a failing handler does not keep the event from the others
+     *
+     * @param event the event
+     */
+    public void dispatch(Object event)
+    {
+        for (Consumer<Object> handler : handlers)
+        {
+            try
+            {
+                handler.accept(event);
+            }
+            catch (Exception ex)
+            {
+                Logging.errorLog(ex);
+            }
+        }
+    }
+}
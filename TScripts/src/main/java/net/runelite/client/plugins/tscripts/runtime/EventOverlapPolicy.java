@@ -0,0 +1,20 @@
+package net.runelite.client.plugins.tscripts.runtime;
+
+/**
+ * What an event handler does with events that arrive while it is still running
+ */
+public enum EventOverlapPolicy
+{
+    /**
+     * Ignore the event
+     */
+    DROP,
+    /**
+     * Run the events one after another, oldest first
+     */
+    QUEUE,
+    /**
+     * Keep only the newest event and run it once the handler is free
+     */
+    COALESCE
+}
@@ -0,0 +1,145 @@
+package net.runelite.client.plugins.tscripts.runtime;
+
+import lombok.Getter;
+import net.runelite.client.plugins.tscripts.util.Logging;
+
+import java.util.ArrayDeque;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs an event handler on one pooled runtime instead of creating a runtime per event.
+ * The runtime is reset by every execution, only one event runs at a time and events that
+ * arrive while it runs are handled according to the {@link EventOverlapPolicy}.
+ */
+public class EventRunner implements Consumer<Object>
+{
+    /**
+     * The most events queued per handler, the oldest is dropped beyond that
+     */
+    private static final int MAX_QUEUED = 64;
+
+    private final Runtime runtime;
+    private final Function<Object, Object> capture;
+    private final BiConsumer<Runtime, Object> launcher;
+    @Getter
+    private final EventOverlapPolicy policy;
+    private final ArrayDeque<Object> pending = new ArrayDeque<>();
+    private boolean busy = false;
+    private volatile boolean closed = false;
+
+    /**
+     * @param runtime the runtime to reuse, it must not be used by anything else
+     * @param policy what to do with events that arrive while the handler runs
+     * @param launcher prepares the runtime for an event and starts its execution
+     */
+    public EventRunner(Runtime runtime, EventOverlapPolicy policy, BiConsumer<Runtime, Object> launcher)
+    {
+        this(runtime, policy, Function.identity(), launcher);
+    }
+
+    /**
+     * @param runtime the runtime to reuse, it must not be used by anything else
+     * @param policy what to do with events that arrive while the handler runs
+     * @param capture copies what the handler needs out of an event when it fires, queued events are
+     *                launched later from another thread and must not read the live event. Must not return null.
+     * @param launcher prepares the runtime for a captured event and starts its execution
+     */
+    public EventRunner(Runtime runtime, EventOverlapPolicy policy, Function<Object, Object> capture, BiConsumer<Runtime, Object> launcher)
+    {
+        this.runtime = runtime;
+        this.policy = policy;
+        this.capture = capture;
+        this.launcher = launcher;
+        runtime.setOnFinished(this::finished);
+    }
+
+    @Override
+    public void accept(Object fired)
+    {
+        if(closed)
+            return;
+        Object event = capture.apply(fired);
+        synchronized (this)
+        {
+            if(closed)
+                return;
+            if(busy)
+            {
+                switch (policy)
+                {
+                    case DROP:
+                        break;
+                    case COALESCE:
+                        pending.clear();
+                        pending.add(event);
+                        break;
+                    case QUEUE:
+                        if(pending.size() >= MAX_QUEUED)
+                            pending.poll();
+                        pending.add(event);
+                        break;
+                }
+                return;
+            }
+            busy = true;
+        }
+        launch(event);
+    }
+
+    /**
+     * Whether an event is running, a runner that is not busy launches the next event right away
+     */
+    public synchronized boolean isBusy()
+    {
+        return busy;
+    }
+
+    /**
+     * Called by the runtime once an execution ended, starts the next pending event
+     */
+    private void finished()
+    {
+        Object next;
+        synchronized (this)
+        {
+            next = closed ? null : pending.poll();
+            if(next == null)
+            {
+                busy = false;
+                return;
+            }
+        }
+        launch(next);
+    }
+
+    private void launch(Object event)
+    {
+        try
+        {
+            launcher.accept(runtime, event);
+        }
+        catch (Exception ex)
+        {
+            Logging.errorLog(ex);
+            finished();
+        }
+    }
+
+    /**
+     * Drops the pending events and kills the running one, the runner ignores events from now on
+     */
+    public void close()
+    {
+        boolean running;
+        synchronized (this)
+        {
+            closed = true;
+            pending.clear();
+            running = busy;
+        }
+        if(running && !runtime.isDone())
+            runtime.killScript();
+    }
+}
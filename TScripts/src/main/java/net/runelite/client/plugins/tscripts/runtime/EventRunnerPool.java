@@ -0,0 +1,59 @@
+package net.runelite.client.plugins.tscripts.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs events that do not belong to one handler, such as received IPC packets, on a few pooled runtimes.
+ * An event runs right away on an idle runtime, so a long running one does not hold up the others.
+ * Only once every runtime is busy the configured {@link EventOverlapPolicy} of the next runtime in turn decides.
+ */
+public class EventRunnerPool implements Consumer<Object>
+{
+    private final int size;
+    private final Supplier<Runtime> runtimes;
+    private final BiConsumer<Runtime, Object> launcher;
+    private final List<EventRunner> runners = new ArrayList<>();
+    private int next = 0;
+
+    /**
+     * @param size the most runtimes to run events on at once
+     * @param runtimes creates the runtimes of the pool
+     * @param launcher prepares a runtime for an event and starts its execution
+     */
+    public EventRunnerPool(int size, Supplier<Runtime> runtimes, BiConsumer<Runtime, Object> launcher)
+    {
+        this.size = size;
+        this.runtimes = runtimes;
+        this.launcher = launcher;
+    }
+
+    @Override
+    public synchronized void accept(Object event)
+    {
+        take().accept(event);
+    }
+
+    private EventRunner take()
+    {
+        EventOverlapPolicy policy = Runtime.getEventOverlapPolicy();
+        //idle runners made before the policy changed are replaced
+        runners.removeIf(runner -> runner.getPolicy() != policy && !runner.isBusy());
+        for (EventRunner runner : runners)
+        {
+            if(!runner.isBusy() && runner.getPolicy() == policy)
+                return runner;
+        }
+        if(runners.size() < size)
+        {
+            EventRunner runner = new EventRunner(runtimes.get(), policy, launcher);
+            runners.add(runner);
+            return runner;
+        }
+        next = (next + 1) % runners.size();
+        return runners.get(next);
+    }
+}
@@ -0,0 +1,243 @@
+package net.runelite.client.plugins.tscripts.runtime;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import net.runelite.client.plugins.tscripts.adapter.models.Scope.Scope;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The variable storage of one active scope. Resolved variables live in slots,
+ * anything that could not be resolved up front (eval code, late declarations)
+ * falls back to a name keyed map.
+ *
+ * Integer slots are kept unboxed in a parallel int array and only boxed when
+ * they are read as an Object.
+ *
+ * Frames are recycled by their {@link VariableMap} once popped, unless a closure
+ * captured them. Every activation gets a new id.
+ */
+@Getter
+public class Frame
+{
+    private Scope scope;
+    /**
+     * The frame of the lexically enclosing scope
+     */
+    private Frame parent;
+    /**
+     * The frame that was active when this one was pushed
+     */
+    private Frame caller;
+    private int id;
+    /**
+     * Whether a function, lambda or subscriber holds on to this frame, captured frames are never recycled
+     */
+    private boolean captured = false;
+    /**
+     * Whether anything was written to this frame
+     */
+    private boolean dirty = false;
+    @Getter(AccessLevel.NONE)
+    private String hash = null;
+    /**
+     * Marks a slot whose value lives in {@link #ints}
+     */
+    private static final Object INT = new Object();
+    /**
+     * Stores ints boxed like any other value, only set by {@link Runtime#setUnboxedInts} to benchmark the boxed path
+     */
+    static boolean boxInts = false;
+    @Getter(AccessLevel.NONE)
+    private final Object[] slots;
+    @Getter(AccessLevel.NONE)
+    private final int[] ints;
+    private Map<String, Object> dynamic = null;
+    /**
+     * Toggled from the EDT by the variable inspector while the script thread reads it
+     */
+    private volatile Set<String> frozen = null;
+
+    public Frame(Scope scope, Frame parent, Frame caller, int id)
+    {
+        this.scope = scope;
+        this.parent = parent;
+        this.caller = caller;
+        this.id = id;
+        this.slots = new Object[scope == null ? 0 : scope.getSlotNames().length];
+        this.ints = new int[slots.length];
+    }
+
+    /**
+     * Reuses a recycled frame for a new activation of a scope with the same slot count
+     */
+    void reset(Scope scope, Frame parent, Frame caller, int id)
+    {
+        this.scope = scope;
+        this.parent = parent;
+        this.caller = caller;
+        this.id = id;
+    }
+
+    /**
+     * Drops every value and link so a recycled frame does not keep anything alive
+     */
+    void recycle()
+    {
+        Arrays.fill(slots, null);
+        scope = null;
+        parent = null;
+        caller = null;
+        dynamic = null;
+        frozen = null;
+        hash = null;
+        dirty = false;
+    }
+
+    void capture()
+    {
+        captured = true;
+    }
+
+    public int getSlotCount()
+    {
+        return slots.length;
+    }
+
+    public Object get(int slot)
+    {
+        Object value = slots[slot];
+        return value == INT ? (Object) ints[slot] : value;
+    }
+
+    public boolean isSet(int slot)
+    {
+        return slots[slot] != null;
+    }
+
+    public boolean isInt(int slot)
+    {
+        return slots[slot] == INT;
+    }
+
+    public int getInt(int slot)
+    {
+        return ints[slot];
+    }
+
+    public void writeInt(int slot, int value)
+    {
+        if(isFrozen(getSlotName(slot)))
+            return;
+        ints[slot] = value;
+        slots[slot] = INT;
+        dirty = true;
+    }
+
+    /**
+     * Identifies this activation for the debugger
+     */
+    public String getHash()
+    {
+        if(scope == null)
+            return "";
+        if(hash == null)
+            hash = String.valueOf(id);
+        return hash;
+    }
+
+    public String getSlotName(int slot)
+    {
+        return scope.getSlotNames()[slot];
+    }
+
+    /**
+     * Finds the slot bound to a name in this frame
+     * @param name the name
+     * @return the slot, or -1
+     */
+    public int slotOf(String name)
+    {
+        if(scope == null)
+            return -1;
+        String[] names = scope.getSlotNames();
+        for(int i = 0; i < names.length; i++)
+        {
+            if(names[i].equals(name))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if a variable with this name currently holds a value in this frame
+     * @param name the name
+     * @return whether it is defined here
+     */
+    public boolean defines(String name)
+    {
+        int slot = slotOf(name);
+        if(slot != -1 && slots[slot] != null)
+            return true;
+        return dynamic != null && dynamic.containsKey(name);
+    }
+
+    public Object read(String name)
+    {
+        int slot = slotOf(name);
+        if(slot != -1 && slots[slot] != null)
+            return get(slot);
+        return dynamic == null ? null : dynamic.get(name);
+    }
+
+    public void write(String name, Object value)
+    {
+        if(isFrozen(name))
+            return;
+        int slot = slotOf(name);
+        if(slot != -1)
+        {
+            write(slot, value);
+            return;
+        }
+        if(dynamic == null)
+            dynamic = new HashMap<>();
+        dynamic.put(name, value);
+        dirty = true;
+    }
+
+    public void write(int slot, Object value)
+    {
+        if(value instanceof Integer && !boxInts)
+        {
+            writeInt(slot, (Integer) value);
+            return;
+        }
+        if(isFrozen(getSlotName(slot)))
+            return;
+        slots[slot] = value;
+        dirty = true;
+    }
+
+    public boolean isFrozen(String name)
+    {
+        Set<String> frozen = this.frozen;
+        return frozen != null && frozen.contains(name);
+    }
+
+    public void toggleFreeze(String name)
+    {
+        Set<String> frozen = this.frozen;
+        if(frozen == null)
+        {
+            frozen = ConcurrentHashMap.newKeySet();
+            this.frozen = frozen;
+        }
+        if(!frozen.remove(name))
+            frozen.add(name);
+    }
+}
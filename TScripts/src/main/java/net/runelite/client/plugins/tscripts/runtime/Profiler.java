@@ -0,0 +1,228 @@
+package net.runelite.client.plugins.tscripts.runtime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import net.runelite.client.plugins.tscripts.adapter.models.Element;
+import net.runelite.client.plugins.tscripts.types.MethodDefinition;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts statement executions and times them, along with every builtin method call.
+ * A runtime only calls into the profiler while profiling is switched on, otherwise it
+ * costs a single field read per statement.
+ *
+ * Total time includes nested statements, self time does not. Method time is the part of
+ * the self time spent inside builtins (waits included), the rest is interpreter overhead.
+ * Recording happens on the script thread, {@link #report()} can be called from any thread.
+ */
+public class Profiler
+{
+    /**
+     * Log2 buckets of the method latency histograms, in microseconds. The last bucket holds everything slower.
+     */
+    public static final int BUCKETS = 24;
+    private static final int MAX_DEPTH = 256;
+
+    private final Map<Element, StatementStats> statements = new IdentityHashMap<>();
+    private final Map<String, MethodStats> methods = new HashMap<>();
+    private final Element[] stack = new Element[MAX_DEPTH];
+    private final long[] starts = new long[MAX_DEPTH];
+    private final long[] childNanos = new long[MAX_DEPTH];
+    private final long[] methodNanos = new long[MAX_DEPTH];
+    private int depth = 0;
+
+    private static class StatementStats
+    {
+        private long count;
+        private long totalNanos;
+        private long selfNanos;
+        private long methodNanos;
+    }
+
+    private static class MethodStats
+    {
+        private long calls;
+        private long totalNanos;
+        private long maxNanos;
+        private final long[] buckets = new long[BUCKETS];
+    }
+
+    /**
+     * Starts timing a statement
+     * @param element the statement
+     */
+    public void enter(Element element)
+    {
+        //statements nested deeper than the stack are counted by their callers only
+        if(depth >= MAX_DEPTH)
+        {
+            depth++;
+            return;
+        }
+        stack[depth] = element;
+        childNanos[depth] = 0;
+        methodNanos[depth] = 0;
+        starts[depth] = System.nanoTime();
+        depth++;
+    }
+
+    /**
+     * Stops timing the statement that was entered last
+     * @param element the statement
+     */
+    public void exit(Element element)
+    {
+        if(depth == 0)
+            return;
+        depth--;
+        if(depth >= MAX_DEPTH || stack[depth] != element)
+            return;
+        long elapsed = System.nanoTime() - starts[depth];
+        stack[depth] = null;
+        if(depth > 0)
+            childNanos[depth - 1] += elapsed;
+
+        synchronized (this)
+        {
+            StatementStats stats = statements.computeIfAbsent(element, k -> new StatementStats());
+            stats.count++;
+            stats.totalNanos += elapsed;
+            stats.selfNanos += elapsed - childNanos[depth];
+            stats.methodNanos += methodNanos[depth];
+        }
+    }
+
+    /**
+     * Records a builtin call made by the statement that is currently timed
+     * @param definition the method
+     * @param nanos how long the call took
+     */
+    public void recordMethod(MethodDefinition definition, long nanos)
+    {
+        if(depth > 0 && depth <= MAX_DEPTH)
+            methodNanos[depth - 1] += nanos;
+
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos / 1000));
+        synchronized (this)
+        {
+            MethodStats stats = methods.computeIfAbsent(definition.getName(), k -> new MethodStats());
+            stats.calls++;
+            stats.totalNanos += nanos;
+            stats.maxNanos = Math.max(stats.maxNanos, nanos);
+            stats.buckets[bucket]++;
+        }
+    }
+
+    /**
+     * Drops everything recorded so far
+     */
+    public synchronized void reset()
+    {
+        statements.clear();
+        methods.clear();
+    }
+
+    /**
+     * Copies the recorded numbers
+     * @return the report
+     */
+    public synchronized Report report()
+    {
+        List<StatementProfile> statementProfiles = new ArrayList<>(statements.size());
+        for (Map.Entry<Element, StatementStats> entry : statements.entrySet())
+        {
+            StatementStats stats = entry.getValue();
+            statementProfiles.add(new StatementProfile(entry.getKey(), entry.getKey().getLine(), stats.count, stats.totalNanos, stats.selfNanos, stats.methodNanos));
+        }
+        List<MethodProfile> methodProfiles = new ArrayList<>(methods.size());
+        for (Map.Entry<String, MethodStats> entry : methods.entrySet())
+        {
+            MethodStats stats = entry.getValue();
+            methodProfiles.add(new MethodProfile(entry.getKey(), stats.calls, stats.totalNanos, stats.maxNanos, stats.buckets.clone()));
+        }
+        return new Report(statementProfiles, methodProfiles);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Report
+    {
+        private final List<StatementProfile> statements;
+        private final List<MethodProfile> methods;
+
+        /**
+         * Sums the self time of the statements per source line
+         * @return the self time in nanoseconds by line, lines start at 1
+         */
+        public Map<Integer, Long> getSelfNanosByLine()
+        {
+            Map<Integer, Long> lines = new HashMap<>();
+            for (StatementProfile statement : statements)
+            {
+                if(statement.getLine() <= 0)
+                    continue;
+                lines.merge(statement.getLine(), statement.getSelfNanos(), Long::sum);
+            }
+            return lines;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class StatementProfile
+    {
+        private final Element element;
+        /**
+         * The source line, 0 if unknown
+         */
+        private final int line;
+        private final long count;
+        private final long totalNanos;
+        private final long selfNanos;
+        private final long methodNanos;
+
+        public long getOverheadNanos()
+        {
+            return Math.max(0, selfNanos - methodNanos);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class MethodProfile
+    {
+        private final String name;
+        private final long calls;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long[] buckets;
+
+        public long getMeanNanos()
+        {
+            return calls == 0 ? 0 : totalNanos / calls;
+        }
+
+        /**
+         * Estimates a percentile from the histogram
+         * @param percentile between 0 and 1
+         * @return the upper bound of the bucket the percentile falls in, in nanoseconds
+         */
+        public long getPercentileNanos(double percentile)
+        {
+            long target = (long) Math.ceil(calls * percentile);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++)
+            {
+                seen += buckets[i];
+                if(seen >= target && seen > 0)
+                    return Math.min(maxNanos, (1L << i) * 1000);
+            }
+            return maxNanos;
+        }
+    }
+}
@@ -3,7 +3,7 @@ package net.runelite.client.plugins.tscripts.runtime;
 import lombok.Getter;
 import lombok.Setter;
 import net.runelite.client.eventbus.EventBus;
-import net.runelite.client.plugins.tscripts.adapter.Adapter;
+import net.runelite.client.plugins.tscripts.adapter.Resolver;
 import net.runelite.client.plugins.tscripts.adapter.Unparser;
 import net.runelite.client.plugins.tscripts.adapter.models.Expression;
 import net.runelite.client.plugins.tscripts.adapter.models.OperatorType;
@@ -11,7 +11,9 @@ import net.runelite.client.plugins.tscripts.adapter.models.shorthand.NullCheckEx
 import net.runelite.client.plugins.tscripts.adapter.models.shorthand.NullCoalescingExpression;
 import net.runelite.client.plugins.tscripts.adapter.models.shorthand.TernaryExpression;
 import net.runelite.client.plugins.tscripts.api.MethodManager;
-import net.runelite.client.plugins.tscripts.api.library.TDelay;
+import net.runelite.client.plugins.tscripts.runtime.bytecode.Compiler;
+import net.runelite.client.plugins.tscripts.runtime.bytecode.Opcode;
+import net.runelite.client.plugins.tscripts.runtime.bytecode.Program;
 import net.runelite.client.plugins.tscripts.api.library.TGame;
 import net.runelite.client.plugins.tscripts.adapter.models.method.MethodCall;
 import net.runelite.client.plugins.tscripts.adapter.models.Scope.Scope;
@@ -22,9 +24,12 @@ import net.runelite.client.plugins.tscripts.adapter.models.condition.Glue;
 import net.runelite.client.plugins.tscripts.adapter.models.Element;
 import net.runelite.client.plugins.tscripts.adapter.models.variable.ArrayAccess;
 import net.runelite.client.plugins.tscripts.adapter.models.variable.VariableAssignment;
+import net.runelite.client.plugins.tscripts.adapter.models.variable.VariableRef;
+import net.runelite.client.plugins.tscripts.sevices.cache.ScriptCache;
 import net.runelite.client.plugins.tscripts.sevices.eventbus.events.*;
 import net.runelite.client.plugins.tscripts.sevices.ipc.MulticastSender;
 import net.runelite.client.plugins.tscripts.sevices.ipc.packets.IPCPacket;
+import net.runelite.client.plugins.tscripts.types.EventData;
 import net.runelite.client.plugins.tscripts.types.Pair;
 import net.runelite.client.plugins.tscripts.util.Logging;
 import net.runelite.client.plugins.tscripts.util.ThreadPool;
@@ -33,28 +38,74 @@ import net.runelite.client.plugins.tscripts.sevices.eventbus._Subscribe;
 import org.antlr.v4.runtime.tree.ParseTree;
 
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Responsible for executing scripts.
  */
 public class Runtime
 {
-    private final static CopyOnWriteArrayList<String> interrupted = new CopyOnWriteArrayList<>();
+    /**
+     * Whether new executions compile scripts to bytecode instead of walking the tree
+     */
+    @Setter
+    private static volatile boolean bytecodeEnabled = false;
+    /**
+     * Whether int operands take the unboxed path through {@link #evalInt(Object)} and int frame slots.
+     * Only turned off to measure what that path saves.
+     */
+    private static volatile boolean unboxedIntsEnabled = true;
+    /**
+     * What subscribe blocks do with events that arrive while they are still handling one
+     */
+    @Getter
+    @Setter
+    private static volatile EventOverlapPolicy eventOverlapPolicy = EventOverlapPolicy.QUEUE;
+    private static final ThreadLocal<Runtime> CURRENT = new ThreadLocal<>();
 
+    /**
+     * Gets the runtime executing on the current thread
+     *
+     * @return The runtime, null outside of script threads
+     */
+    public static Runtime current()
+    {
+        return CURRENT.get();
+    }
+
+    /**
+     * Turns the unboxed int path on or off for new executions, meant for benchmarks
+     *
+     * @param enabled Whether ints stay unboxed.
+     */
+    public static void setUnboxedInts(boolean enabled)
+    {
+        unboxedIntsEnabled = enabled;
+        Frame.boxInts = !enabled;
+    }
+
+    /**
+     * Checks if the script running on the current thread has been killed
+     *
+     * @return Whether the current thread was interrupted
+     */
     public static boolean isInterrupted()
     {
-        if(interrupted.contains(Thread.currentThread().getName()))
-        {
-            interrupted.remove(Thread.currentThread().getName());
-            return true;
-        }
-        return false;
+        return Thread.currentThread().isInterrupted();
     }
 
     @Getter
     private final VariableMap variableMap;
     private final List<EventBus.Subscriber> subscribers = new ArrayList<>();
+    /**
+     * One client subscription per event type, shared by all subscribe blocks of the script
+     */
+    private final Map<Class<?>, EventMultiplexer> eventMultiplexers = new HashMap<>();
+    private final List<EventRunner> eventRunners = new ArrayList<>();
+    /**
+     * Called on the script thread after every execution, used by the {@link EventRunner} owning this runtime
+     */
+    @Setter
+    private Runnable onFinished = null;
     private final Map<String, UserDefinedFunction> userDefinedFunctions = new HashMap<>();
     private Pair<String, Map<String,Object>> globalArrays;
     @Getter
@@ -71,6 +122,38 @@ public class Runtime
     @Setter
     private boolean anonymous = false;
     private ScriptThread scriptThread;
+    private boolean bytecode = false;
+    private boolean unboxedInts = true;
+    /**
+     * Bumped whenever the user functions change, invalidating the {@link CallSite}s of this runtime
+     */
+    private int functionGeneration = 0;
+    private static final int DIRTY_INSTRUCTION = 1;
+    /**
+     * What changed since the last telemetry snapshot, only touched by the script thread
+     */
+    private int dirty = 0;
+    private int publishedVariables = -1;
+    private long telemetrySequence = 0;
+    private final Object telemetryLock = new Object();
+    private volatile boolean telemetryRequested = false;
+    private volatile Telemetry telemetry = null;
+    /**
+     * The profiler of this runtime, null while profiling is off
+     */
+    @Getter
+    private volatile Profiler profiler = null;
+    @Getter
+    private final Debugger debugger = new Debugger();
+    /**
+     * The trace recorder of this runtime, null while tracing is off
+     */
+    @Getter
+    private volatile TraceRecorder tracer = null;
+    /**
+     * The statement being executed, only written by the script thread and read when logging its errors
+     */
+    private Element statement = null;
 
     /**
      * Creates a new instance of the Runtime class.
@@ -83,19 +166,52 @@ public class Runtime
     }
 
     public Runtime(VariableMap variableMap)
+    {
+        this(variableMap, true);
+    }
+
+    /**
+     * Creates a runtime that is optionally left off the event bus, for runtimes nobody
+     * controls from the UI. Those are never unregistered, registering them would leak them.
+     *
+     * @param variableMap The variable map.
+     * @param register Whether to register with the event bus.
+     */
+    private Runtime(VariableMap variableMap, boolean register)
     {
         this.methodManager = MethodManager.getInstance();
         this.variableMap = variableMap;
-        TEventBus.register(this);
+        if(register)
+        {
+            TEventBus.register(this);
+        }
     }
 
-    public Runtime getRuntimeChild()
+    /**
+     * Creates a child runtime that sees the variables of the given frame.
+     * Child runtimes are not registered with the event bus.
+     *
+     * @param base The frame the child code was defined in
+     * @return The child runtime
+     */
+    public Runtime getRuntimeChild(Frame base)
     {
-        Runtime runtime = new Runtime(variableMap);
+        Runtime runtime = new Runtime(new VariableMap(base), false);
         runtime.child = true;
         return runtime;
     }
 
+    /**
+     * Creates a runtime for code sent from outside of a script, such as event scripts and IPC packets.
+     * It is not registered with the event bus.
+     *
+     * @return The runtime
+     */
+    public static Runtime detached()
+    {
+        return new Runtime(new VariableMap(), false);
+    }
+
     /**
      * Executes the script.
      *
@@ -104,6 +220,12 @@ public class Runtime
      */
     public void execute(Scope scope, String scriptName, String profile)
     {
+        //cached call sites stay valid as long as the same script runs again without user functions
+        if(scope != this.rootScope || !this.userDefinedFunctions.isEmpty())
+        {
+            this.userDefinedFunctions.clear();
+            this.functionGeneration++;
+        }
         this.rootScope = scope;
         this._done = false;
         this._die = false;
@@ -113,24 +235,53 @@ public class Runtime
         this.scriptName = scriptName;
         this.profile = profile;
         this.breakpointTripped = false;
-        this.userDefinedFunctions.clear();
         this.variableMap.clear();
+        this.bytecode = bytecodeEnabled;
+        this.unboxedInts = unboxedIntsEnabled;
+        Resolver.resolve(scope);
         scriptThread = new ScriptThread(() ->
         {
-            postFlags();
+            CURRENT.set(this);
+            publishTelemetry();
             try
             {
                 postScriptStateChanged(true);
-                processScope(scope);
+                if(bytecode)
+                {
+                    processProgram(scope);
+                }
+                else
+                {
+                    processScope(scope);
+                }
             }
             catch (Exception ex)
             {
                 Logging.errorLog(ex);
+                TraceRecorder tracer = this.tracer;
+                if(tracer != null)
+                {
+                    tracer.error(statement, ex);
+                    tracer.dump(scriptName);
+                }
             }
             TGame.unregister(subscribers);
+            subscribers.clear();
+            eventMultiplexers.clear();
+            for(EventRunner runner : eventRunners)
+            {
+                runner.close();
+            }
+            eventRunners.clear();
             _done = true;
             postScriptStateChanged(false);
-            postFlags();
+            buildTelemetry(true);
+            CURRENT.remove();
+            Runnable finished = onFinished;
+            if(finished != null)
+            {
+                finished.run();
+            }
         });
         ThreadPool.submit(scriptThread);
     }
@@ -143,52 +294,73 @@ public class Runtime
     private void processScope(Scope scope) {
         if(_die || _return) return;
         scope.setCurrent(true);
-        postCurrentInstructionChanged();
-        variableMap.pushScope(scope.getHash());
+        markInstruction();
+
+        ConditionType type = scope.getConditions() != null && scope.getConditions().getType() != null ? scope.getConditions().getType() : ConditionType.NONE;
+        switch (type)
+        {
+            case SUBSCRIBE:
+                addAnonymousEventSubscriber(scope);
+                scope.setCurrent(false);
+                return;
+            case USER_DEFINED_FUNCTION:
+            case LAMBDA:
+                addUserDefinedFunction(scope);
+                scope.setCurrent(false);
+                return;
+        }
+
+        variableMap.pushFrame(scope);
+        try
+        {
+            processScopeBody(scope, scope.getConditions());
+        }
+        finally
+        {
+            variableMap.popFrame();
+        }
+    }
 
+    /**
+     * Processes the body of a scope inside its already pushed frame.
+     *
+     * @param scope The scope.
+     * @param conditions The conditions of the scope, null to run the body unconditionally.
+     */
+    private void processScopeBody(Scope scope, Conditions conditions)
+    {
         boolean isLoopScope = false;
         boolean isIf = false;
-        ConditionType type = scope.getConditions() != null ? scope.getConditions().getType() : ConditionType.NONE;
+        ConditionType type = conditions != null && conditions.getType() != null ? conditions.getType() : ConditionType.NONE;
         switch (type)
         {
             case IPC_POST:
                 String target;
-                if(scope.getConditions().getConditions().isEmpty())
+                if(conditions.getConditions().isEmpty())
                 {
                     target = "NULL";
                 }
                 else
                 {
-                    target = (String) getValue(scope.getConditions().getConditions().get(0).getLeft());
+                    target = (String) getValue(conditions.getConditions().get(0).getLeft());
                 }
-                String data = Unparser.revert((ParseTree) scope.getConditions().getConditions().get(0).getRight());
+                String data = Unparser.revert((ParseTree) conditions.getConditions().get(0).getRight());
                 IPCPacket ipcPacket = new IPCPacket(target, data);
                 MulticastSender.getInstance().send(ipcPacket);
                 return;
-            case SUBSCRIBE:
-                addAnonymousEventSubscriber(scope);
-                scope.setCurrent(false);
-                variableMap.popScope();
-                return;
-            case USER_DEFINED_FUNCTION:
-            case LAMBDA:
-                addUserDefinedFunction(scope);
-                scope.setCurrent(false);
-                variableMap.popScope();
-                return;
             case WHILE:
                 isLoopScope = true;
                 break;
             case FOR:
                 isLoopScope = true;
-                processVariableAssignment(scope.getConditions().getForCondition().getVariableAssignment());
+                processVariableAssignment(conditions.getForCondition().getVariableAssignment());
                 break;
             case IF:
                 isIf = true;
                 break;
         }
 
-        boolean shouldProcess = (scope.getConditions() == null || scope.getConditions().getType() == null) || processConditions(scope.getConditions());
+        boolean shouldProcess = type == ConditionType.NONE || processConditions(conditions);
         boolean originalShouldProcess = shouldProcess;
         scope.setCurrent(false);
 
@@ -196,23 +368,204 @@ public class Runtime
         {
             processElements(scope.getElements());
             if (handleControlFlow(isLoopScope)) break;
-            if(type == ConditionType.FOR) processVariableAssignment(scope.getConditions().getForCondition().getOperation());
-            shouldProcess = isLoopScope && processConditions(scope.getConditions());
+            if(type == ConditionType.FOR) processVariableAssignment(conditions.getForCondition().getOperation());
+            shouldProcess = isLoopScope && processConditions(conditions);
         }
 
         if(isIf && !originalShouldProcess && scope.getElseElements() != null)
         {
             processElements(scope.getElseElements());
         }
+    }
 
-        variableMap.popScope();
+    /**
+     * Runs the root scope as a compiled program.
+     *
+     * @param scope The scope.
+     */
+    private void processProgram(Scope scope)
+    {
+        variableMap.pushFrame(scope);
+        try
+        {
+            runProgram(getProgram(scope));
+        }
+        finally
+        {
+            variableMap.popFrame();
+        }
+    }
+
+    private Program getProgram(Scope scope)
+    {
+        Program program = scope.getProgram();
+        if(program == null)
+        {
+            program = Compiler.compile(scope);
+            scope.setProgram(program);
+        }
+        return program;
+    }
+
+    /**
+     * Executes a program inside the current frame. Frames entered by the program are
+     * always left again, whether it finishes, returns, or throws.
+     *
+     * @param program The program.
+     */
+    private void runProgram(Program program)
+    {
+        final int[] code = program.getCode();
+        final Object[] constants = program.getConstants();
+        final TraceRecorder tracer = this.tracer;
+        int pc = 0;
+        int entered = 0;
+        //set by a jump back to a loop header, the debugger stops there once per iteration
+        boolean looped = false;
+        try
+        {
+            while (!_die && !_return)
+            {
+                switch (code[pc])
+                {
+                    case Opcode.HALT:
+                        return;
+                    case Opcode.ENTER:
+                    {
+                        Scope scope = (Scope) constants[code[pc + 1]];
+                        statement = scope;
+                        if(debugger.isArmed()) checkDebugger(scope);
+                        scope.setCurrent(true);
+                        markInstruction();
+                        variableMap.pushFrame(scope);
+                        entered++;
+                        pc += 2;
+                        break;
+                    }
+                    case Opcode.LEAVE:
+                        variableMap.popFrame();
+                        entered--;
+                        publishTelemetry();
+                        pc++;
+                        break;
+                    case Opcode.CALL:
+                    {
+                        MethodCall call = (MethodCall) constants[code[pc + 1]];
+                        statement = call;
+                        if(debugger.isArmed()) checkDebugger(call);
+                        if(tracer != null) tracer.statement(call);
+                        Profiler profiler = this.profiler;
+                        if(profiler != null) profiler.enter(call);
+                        call.setCurrent(true);
+                        markInstruction();
+                        processFunctionCall(call);
+                        call.setCurrent(false);
+                        if(profiler != null) profiler.exit(call);
+                        publishTelemetry();
+                        pc += 2;
+                        break;
+                    }
+                    case Opcode.ASSIGN:
+                    {
+                        VariableAssignment assignment = (VariableAssignment) constants[code[pc + 1]];
+                        statement = assignment;
+                        if(debugger.isArmed()) checkDebugger(assignment);
+                        if(tracer != null) tracer.statement(assignment);
+                        Profiler profiler = this.profiler;
+                        if(profiler != null) profiler.enter(assignment);
+                        assignment.setCurrent(true);
+                        markInstruction();
+                        processVariableAssignment(assignment);
+                        assignment.setCurrent(false);
+                        if(profiler != null) profiler.exit(assignment);
+                        publishTelemetry();
+                        pc += 2;
+                        break;
+                    }
+                    case Opcode.STORE:
+                        processVariableAssignment((VariableAssignment) constants[code[pc + 1]]);
+                        pc += 2;
+                        break;
+                    case Opcode.SCOPE:
+                        if(debugger.isArmed()) checkDebugger((Scope) constants[code[pc + 1]]);
+                        if(tracer != null) tracer.statement((Element) constants[code[pc + 1]]);
+                        processScope((Scope) constants[code[pc + 1]]);
+                        publishTelemetry();
+                        pc += 2;
+                        break;
+                    case Opcode.TEST:
+                    {
+                        Scope scope = (Scope) constants[code[pc + 1]];
+                        if(looped)
+                        {
+                            looped = false;
+                            statement = scope;
+                            if(debugger.isArmed()) checkDebugger(scope);
+                        }
+                        boolean result = processConditions(scope.getConditions());
+                        scope.setCurrent(false);
+                        pc = result ? pc + 3 : code[pc + 2];
+                        break;
+                    }
+                    case Opcode.JUMP:
+                        looped = code[pc + 1] < pc;
+                        pc = code[pc + 1];
+                        break;
+                    case Opcode.RETURN:
+                    {
+                        MethodCall call = (MethodCall) constants[code[pc + 1]];
+                        if(currentFunction == null)
+                        {
+                            pc += 2;
+                            break;
+                        }
+                        currentFunction.setReturnValue(call.getArgs().length > 0 ? getValue(call.getArgs()[0]) : "null");
+                        return;
+                    }
+                    case Opcode.DIE:
+                        _die = true;
+                        publishTelemetry();
+                        return;
+                    case Opcode.FLOW:
+                    {
+                        if(!_break && !_continue)
+                        {
+                            pc += 4;
+                            break;
+                        }
+                        if(code[pc + 2] == -1)
+                            return;
+                        for (int i = code[pc + 1]; i > 0; i--)
+                        {
+                            variableMap.popFrame();
+                            entered--;
+                        }
+                        int target = _break ? code[pc + 2] : code[pc + 3];
+                        _break = false;
+                        _continue = false;
+                        looped = target < pc;
+                        pc = target;
+                        break;
+                    }
+                    default:
+                        throw new IllegalStateException("Unknown opcode " + code[pc] + " at " + pc);
+                }
+            }
+        }
+        finally
+        {
+            while (entered-- > 0)
+            {
+                variableMap.popFrame();
+            }
+        }
     }
 
     private void processElements(Map<Integer, Element> elements)
     {
         for (Element element : elements.values()) {
             processElement(element);
-            postFlags();
+            publishTelemetry();
             if (_die || _break || _continue || _return) break;
         }
     }
@@ -223,6 +576,29 @@ public class Runtime
      * @param element The element.
      */
     private void processElement(Element element)
+    {
+        statement = element;
+        if(debugger.isArmed()) checkDebugger(element);
+        TraceRecorder tracer = this.tracer;
+        if(tracer != null) tracer.statement(element);
+        Profiler profiler = this.profiler;
+        if(profiler == null)
+        {
+            dispatchElement(element);
+            return;
+        }
+        profiler.enter(element);
+        try
+        {
+            dispatchElement(element);
+        }
+        finally
+        {
+            profiler.exit(element);
+        }
+    }
+
+    private void dispatchElement(Element element)
     {
         switch (element.getType())
         {
@@ -232,14 +608,14 @@ public class Runtime
             case FUNCTION_CALL:
                 MethodCall methodCall = (MethodCall) element;
                 methodCall.setCurrent(true);
-                postCurrentInstructionChanged();
+                markInstruction();
                 processFunctionCall(methodCall);
                 methodCall.setCurrent(false);
                 break;
             case VARIABLE_ASSIGNMENT:
                 VariableAssignment assignment = (VariableAssignment) element;
                 assignment.setCurrent(true);
-                postCurrentInstructionChanged();
+                markInstruction();
                 processVariableAssignment(assignment);
                 assignment.setCurrent(false);
                 break;
@@ -252,27 +628,21 @@ public class Runtime
      * @param call The method call.
      */
     private void processFunctionCall(MethodCall call) {
-        switch (call.getName()) {
-            case "die":
+        CallSite site = callSite(call);
+        switch (site.getKind()) {
+            case CallSite.DIE:
                 _die = true;
                 break;
-            case "break":
+            case CallSite.BREAK:
                 _break = true;
                 break;
-            case "continue":
+            case CallSite.CONTINUE:
                 _continue = true;
                 break;
-            case "breakpoint":
-                postBreakpointTripped();
-                breakpointTripped = true;
-                postFlags();
-                while (breakpointTripped)
-                {
-                    if(_done || _die) break;
-                    TDelay.sleep(100);
-                }
+            case CallSite.BREAKPOINT:
+                suspend(call, variableMap.getDepth());
                 break;
-            case "return":
+            case CallSite.RETURN:
                 if(currentFunction != null)
                 {
                     if(call.getArgs().length > 0)
@@ -282,7 +652,7 @@ public class Runtime
                     _return = true;
                 }
                 break;
-            case "eval":
+            case CallSite.EVAL:
                 if(call.getArgs().length == 0) {
                     break;
                 }
@@ -291,17 +661,81 @@ public class Runtime
                 {
                     return;
                 }
-                Scope scope = Adapter.parse((String)code);
+                Scope scope = ScriptCache.get().getScope((String)code);
                 processScope(scope);
                 break;
+            case CallSite.USER:
+                processUserFunction(site, call);
+                break;
             default:
-                if(userDefinedFunctions.containsKey(call.getName()))
+                callBuiltin(site, call);
+                break;
+        }
+    }
+
+    /**
+     * Gets the call site of a method call, resolving it if this runtime has not seen it
+     * since its user functions last changed.
+     *
+     * @param call The method call.
+     * @return The call site.
+     */
+    private CallSite callSite(MethodCall call)
+    {
+        CallSite site = call.getSite();
+        if(site != null && site.getOwner() == this && site.getGeneration() == functionGeneration)
+        {
+            return site;
+        }
+        site = new CallSite(this, functionGeneration, call, userDefinedFunctions.get(call.getName()), methodManager.resolve(call.getName()));
+        call.setSite(site);
+        return site;
+    }
+
+    /**
+     * Evaluates the arguments of a call into the call site's argument array and calls the method.
+     *
+     * @param site The call site.
+     * @param call The method call.
+     * @return The output of the method.
+     */
+    private Object callBuiltin(CallSite site, MethodCall call)
+    {
+        Object[] source = call.getArgs();
+        MethodCall evaluated = site.acquire();
+        try
+        {
+            Object[] args = evaluated.getArgs();
+            for (int i = 0; i < args.length; i++)
+            {
+                args[i] = getValue(source[i]);
+            }
+            TraceRecorder tracer = this.tracer;
+            if(tracer != null) tracer.call(site, args);
+            Object result;
+            Profiler profiler = this.profiler;
+            if(profiler == null)
+            {
+                result = methodManager.call(site.getDefinition(), evaluated);
+            }
+            else
+            {
+                long start = System.nanoTime();
+                try
                 {
-                    processUserFunction(userDefinedFunctions.get(call.getName()), call);
-                    break;
+                    result = methodManager.call(site.getDefinition(), evaluated);
                 }
-                methodManager.call(processMethodCallArguments(call));
-                break;
+                finally
+                {
+                    profiler.recordMethod(site.getDefinition(), System.nanoTime() - start);
+                }
+            }
+            if(tracer != null) tracer.result(site, result);
+            return result;
+        }
+        finally
+        {
+            site.release(evaluated);
         }
     }
 
@@ -312,33 +746,38 @@ public class Runtime
      */
     private void processVariableAssignment(VariableAssignment variableAssignment) {
         Object var = variableAssignment.getVar();
-        String name;
 
         if(var instanceof ArrayAccess)
         {
             ArrayAccess arrayAccess = (ArrayAccess) var;
-            name = arrayAccess.getVariable();
-            if(globalArrays != null && globalArrays.getKey().equals(name))
+            if(globalArrays != null && globalArrays.getKey().equals(arrayAccess.getVariable()))
             {
                 return;
             }
-            Object index = getValue(arrayAccess.getIndex());
-            processArrayIndexAssignment(name, index, variableAssignment);
+            Object index = getValue(arrayAccess.getIndexExpression());
+            processArrayIndexAssignment(arrayAccess, index, variableAssignment);
             return;
         }
 
-        name = (String) var;
+        String name = var.toString();
 
         switch (variableAssignment.getAssignmentType())
         {
             case ADD_ONE:
-                incrementVariable(name, 1);
+                if(!addInt(var, 1))
+                    incrementVariable(var, 1);
                 return;
             case REMOVE_ONE:
-                decrementVariable(name, 1);
+                if(!addInt(var, -1))
+                    decrementVariable(var, 1);
                 return;
         }
 
+        if(var instanceof VariableRef && processIntAssignment((VariableRef) var, variableAssignment))
+        {
+            return;
+        }
+
         Object value = getValue(variableAssignment.getValues().get(0));
         if(value instanceof Scope)
         {
@@ -353,18 +792,73 @@ public class Runtime
         switch (variableAssignment.getAssignmentType())
         {
             case ASSIGNMENT:
-                variableMap.put(name, value);
+                writeVariable(var, value);
                 return;
             case INCREMENT:
-                incrementVariable(name, value);
+                incrementVariable(var, value);
                 return;
             case DECREMENT:
-                decrementVariable(name, value);
+                decrementVariable(var, value);
                 break;
         }
     }
 
-    private void processArrayIndexAssignment(String name, Object index, VariableAssignment variableAssignment)
+    /**
+     * Runs an assignment with an int valued right hand side without boxing it.
+     *
+     * @param var The variable reference.
+     * @param variableAssignment The variable assignment.
+     * @return Whether the assignment was handled.
+     */
+    private boolean processIntAssignment(VariableRef var, VariableAssignment variableAssignment)
+    {
+        Object operand = variableAssignment.getValues().get(0);
+        if(!isIntOperand(operand))
+        {
+            return false;
+        }
+        int value = evalInt(operand);
+        switch (variableAssignment.getAssignmentType())
+        {
+            case ASSIGNMENT:
+                variableMap.putInt(var, value);
+                break;
+            case INCREMENT:
+                if(!addInt(var, value))
+                    incrementVariable(var, value);
+                break;
+            case DECREMENT:
+                if(!addInt(var, -value))
+                    decrementVariable(var, value);
+                break;
+        }
+        return true;
+    }
+
+    /**
+     * Adds to an int slot in place.
+     *
+     * @param var The variable reference or name.
+     * @param delta The amount to add.
+     * @return false if the variable does not hold an unboxed int.
+     */
+    private boolean addInt(Object var, int delta)
+    {
+        if(!(var instanceof VariableRef))
+        {
+            return false;
+        }
+        VariableRef ref = (VariableRef) var;
+        Frame frame = variableMap.target(ref);
+        if(frame == null || !frame.isInt(ref.getSlot()))
+        {
+            return false;
+        }
+        variableMap.putInt(ref, frame.getInt(ref.getSlot()) + delta);
+        return true;
+    }
+
+    private void processArrayIndexAssignment(ArrayAccess name, Object index, VariableAssignment variableAssignment)
     {
         if(index == null)
         {
@@ -376,7 +870,7 @@ public class Runtime
                 Object[] integers = (Object[]) value;
                 for (int i = 0; i < integers.length; i++)
                 {
-                    variableMap.put(name, i, integers[i]);
+                    writeVariable(name, i, integers[i]);
                 }
             }
             else if (value instanceof List)
@@ -384,14 +878,14 @@ public class Runtime
                 List<?> integers = (List<?>) value;
                 for (int i = 0; i < integers.size(); i++)
                 {
-                    variableMap.put(name, i, integers.get(i));
+                    writeVariable(name, i, integers.get(i));
                 }
             }
             else if (value instanceof String)
             {
                 char[] chars = ((String) value).toCharArray();
                 for (int i = 0; i < chars.length; i++) {
-                    variableMap.put(name, i, chars[i] + "");
+                    writeVariable(name, i, chars[i] + "");
                 }
             }
             return;
@@ -411,7 +905,7 @@ public class Runtime
         switch (variableAssignment.getAssignmentType())
         {
             case ASSIGNMENT:
-                variableMap.put(name, index, value);
+                writeVariable(name, index, value);
                 return;
             case INCREMENT:
                 incrementVariable(name, index, value);
@@ -422,20 +916,6 @@ public class Runtime
         }
     }
 
-    /**
-     * Processes the arguments in a method call.
-     *
-     * @param methodCall The method call.
-     * @return The processed method call.
-     */
-    private MethodCall processMethodCallArguments(MethodCall methodCall)
-    {
-        Object[] objects = Arrays.stream(methodCall.getArgs())
-                .map(this::getValue)
-                .toArray();
-        return new MethodCall(methodCall.getName(), objects, methodCall.isNegate());
-    }
-
     /**
      * Processes conditions.
      * @param conditions The conditions.
@@ -483,6 +963,11 @@ public class Runtime
             return true;
         }
 
+        if(condition.getComparator() != null && isIntOperand(condition.getLeft()) && isIntOperand(condition.getRight()))
+        {
+            return condition.getComparator().process(evalInt(condition.getLeft()), evalInt(condition.getRight()));
+        }
+
         Object left = getValue(condition.getLeft());
         if (left == null)
         {
@@ -505,25 +990,61 @@ public class Runtime
 
     /**
      * Processes a user-defined function.
-     * @param function The function.
+     * @param site The call site, resolved to the function.
+     * @param call The method call.
      * @return The output of the function.
      */
-    private Object processUserFunction(UserDefinedFunction function, MethodCall call)
+    private Object processUserFunction(CallSite site, MethodCall call)
     {
-        Scope scope = function.getScope().clone();
-        scope.setConditions(null);
-        currentFunction = function;
-        variableMap.pushScope(scope.getHash());
-        for (int i = 0; i < call.getArgs().length; i++)
+        UserDefinedFunction function = site.getFunction();
+        Scope scope = function.getScope();
+        MethodCall evaluated = site.acquire();
+        Object[] args = evaluated.getArgs();
+        try
         {
-            variableMap.put(function.getArguments().get(i), getValue(call.getArgs()[i]));
+            for (int i = 0; i < args.length; i++)
+            {
+                args[i] = getValue(call.getArgs()[i]);
+            }
+        }
+        catch (RuntimeException ex)
+        {
+            site.release(evaluated);
+            throw ex;
         }
-        variableMap.popScope2();
 
-        processScope(scope);
+        UserDefinedFunction caller = currentFunction;
+        currentFunction = function;
+        Frame frame = variableMap.pushFrame(scope, function.getClosure());
+        try
+        {
+            try
+            {
+                for (int i = 0; i < args.length && i < function.getArguments().size(); i++)
+                {
+                    frame.write(function.getArguments().get(i), args[i]);
+                }
+            }
+            finally
+            {
+                site.release(evaluated);
+            }
+            if(bytecode && !_die)
+            {
+                runProgram(getProgram(scope));
+            }
+            else if(!_die)
+            {
+                processScopeBody(scope, null);
+            }
+        }
+        finally
+        {
+            variableMap.popFrame();
+        }
         Object output = function.getReturnValue() == null ? "null" : function.getReturnValue();
         function.setReturnValue(null);
-        currentFunction = null;
+        currentFunction = caller;
         _return = false;
         if(call.isNegate() && output instanceof Boolean)
         {
@@ -557,55 +1078,93 @@ public class Runtime
     /**
      * Increments a variable.
      *
-     * @param name The variable name.
+     * @param var The variable reference or name.
      * @param value The value.
      */
-    private void incrementVariable(String name, Object value) {
+    private void incrementVariable(Object var, Object value) {
         if (value instanceof Integer) {
             int integer = (int) value;
-            int prev = variableMap.containsKey(name) ? (int) variableMap.get(name) : 0;
-            variableMap.put(name, prev + integer);
+            int prev = containsVariable(var) ? (int) readVariable(var) : 0;
+            writeVariable(var, prev + integer);
         } else if (value instanceof String) {
             String string = (String) value;
-            String prev = variableMap.containsKey(name) ? (String) variableMap.get(name) : "";
-            variableMap.put(name, prev + string);
+            String prev = containsVariable(var) ? (String) readVariable(var) : "";
+            writeVariable(var, prev + string);
         }
     }
 
-    private void incrementVariable(String name, Object index, Object value) {
+    private void incrementVariable(ArrayAccess var, Object index, Object value) {
         if (value instanceof Integer) {
             int integer = (int) value;
-            int prev = variableMap.containsKey(name, index) ? (int) variableMap.get(name, index) : 0;
-            variableMap.put(name, index, prev + integer);
+            int prev = containsVariable(var, index) ? (int) readVariable(var, index) : 0;
+            writeVariable(var, index, prev + integer);
         } else if (value instanceof String) {
             String string = (String) value;
-            String prev = variableMap.containsKey(name) ? (String) variableMap.get(name, index) : "";
-            variableMap.put(name, index, prev + string);
+            String prev = containsVariable(var, index) ? (String) readVariable(var, index) : "";
+            writeVariable(var, index, prev + string);
         }
     }
 
     /**
      * Decrements a variable.
      *
-     * @param name The variable name.
+     * @param var The variable reference or name.
      * @param value The value.
      */
-    private void decrementVariable(String name, Object value) {
+    private void decrementVariable(Object var, Object value) {
         if (value instanceof Integer) {
             int integer = (int) value;
-            int prev = variableMap.containsKey(name) ? (int) variableMap.get(name) : 0;
-            variableMap.put(name, prev - integer);
+            int prev = containsVariable(var) ? (int) readVariable(var) : 0;
+            writeVariable(var, prev - integer);
         }
     }
 
-    private void decrementVariable(String name, Object index, Object value) {
+    private void decrementVariable(ArrayAccess var, Object index, Object value) {
         if (value instanceof Integer) {
             int integer = (int) value;
-            int prev = variableMap.containsKey(name, index) ? (int) variableMap.get(name, index) : 0;
-            variableMap.put(name, index, prev - integer);
+            int prev = containsVariable(var, index) ? (int) readVariable(var, index) : 0;
+            writeVariable(var, index, prev - integer);
         }
     }
 
+    //********** VARIABLE ACCESS **********//
+
+    private Object readVariable(Object var)
+    {
+        return var instanceof VariableRef ? variableMap.get((VariableRef) var) : variableMap.get(var.toString());
+    }
+
+    private boolean containsVariable(Object var)
+    {
+        return var instanceof VariableRef ? variableMap.containsKey((VariableRef) var) : variableMap.containsKey(var.toString());
+    }
+
+    private void writeVariable(Object var, Object value)
+    {
+        if(var instanceof VariableRef)
+            variableMap.put((VariableRef) var, value);
+        else
+            variableMap.put(var.toString(), value);
+    }
+
+    private Object readVariable(ArrayAccess var, Object index)
+    {
+        return var.getRef() != null ? variableMap.get(var.getRef(), index) : variableMap.get(var.getVariable(), index);
+    }
+
+    private boolean containsVariable(ArrayAccess var, Object index)
+    {
+        return var.getRef() != null ? variableMap.containsKey(var.getRef(), index) : variableMap.containsKey(var.getVariable(), index);
+    }
+
+    private void writeVariable(ArrayAccess var, Object index, Object value)
+    {
+        if(var.getRef() != null)
+            variableMap.put(var.getRef(), index, value);
+        else
+            variableMap.put(var.getVariable(), index, value);
+    }
+
     /**
      * Gets the value of an argument.
      *
@@ -618,6 +1177,16 @@ public class Runtime
         {
             return object;
         }
+        if (object instanceof VariableRef)
+        {
+            VariableRef ref = (VariableRef) object;
+            if(!ref.isNegated())
+            {
+                return variableMap.get(ref);
+            }
+            Object value = variableMap.containsKey(ref) ? variableMap.get(ref) : "null";
+            return (value instanceof Boolean) ? !((Boolean) value) : value;
+        }
         if (object instanceof String)
         {
             String string = (String) object;
@@ -643,7 +1212,7 @@ public class Runtime
         if(object instanceof ArrayAccess)
         {
             ArrayAccess arrayAccess = (ArrayAccess) object;
-            Object index = getValue(arrayAccess.getIndex());
+            Object index = getValue(arrayAccess.getIndexExpression());
             if(index == null)
             {
                 return null;
@@ -657,7 +1226,7 @@ public class Runtime
             }
             else
             {
-                value = variableMap.get(name, index);
+                value = readVariable(arrayAccess, index);
             }
             if(arrayAccess.isNegated())
                 return (value instanceof Boolean) ? !((Boolean) value) : value;
@@ -666,11 +1235,12 @@ public class Runtime
         else if (object instanceof MethodCall)
         {
             MethodCall methodCall = (MethodCall) object;
-            if(userDefinedFunctions.containsKey(methodCall.getName()))
+            CallSite site = callSite(methodCall);
+            if(site.getKind() == CallSite.USER)
             {
-                return processUserFunction(userDefinedFunctions.get(methodCall.getName()), methodCall);
+                return processUserFunction(site, methodCall);
             }
-            return methodManager.call(processMethodCallArguments((MethodCall) object));
+            return callBuiltin(site, methodCall);
         }
         else if(object instanceof TernaryExpression)
         {
@@ -698,35 +1268,87 @@ public class Runtime
 
     private Object flushOperationExpression(Expression expression)
     {
-        Object element = getValue(expression.getData().getLeft());
         OperatorType operator = expression.getData().getCenter();
         if(operator == null)
         {
-            return getValue(element);
+            return getValue(getValue(expression.getData().getLeft()));
         }
-        Object element2 = getValue(expression.getData().getRight());
+        return computeInt(expression);
+    }
+
+    /**
+     * Computes an arithmetic expression without boxing its intermediate results.
+     *
+     * @param expression The expression, its operator must be set.
+     * @return The result.
+     */
+    private int computeInt(Expression expression)
+    {
+        int left = evalInt(expression.getData().getLeft());
+        int right = evalInt(expression.getData().getRight());
+        return OperatorType.compute(left, expression.getData().getCenter(), right);
+    }
 
-        int left = 0;
-        if(element instanceof Integer)
+    /**
+     * Whether an operand is known to evaluate to an int, so it can go through {@link #evalInt(Object)}.
+     *
+     * @param object The operand.
+     * @return Whether it is an int literal, an int slot or an arithmetic expression.
+     */
+    private boolean isIntOperand(Object object)
+    {
+        if(!unboxedInts)
+        {
+            return false;
+        }
+        if(object instanceof Integer)
         {
-            left = (int) element;
+            return true;
         }
-        else if(element instanceof Boolean)
+        if(object instanceof VariableRef)
         {
-            left = (boolean) element ? 1 : 0;
+            VariableRef ref = (VariableRef) object;
+            Frame frame = variableMap.target(ref);
+            return frame != null && frame.isInt(ref.getSlot());
         }
+        return object instanceof Expression && ((Expression) object).getData().getCenter() != null;
+    }
 
-        int right = 0;
-        if(element2 instanceof Integer)
+    /**
+     * Evaluates an operand to an int. Booleans count as 0 or 1, anything else as 0.
+     *
+     * @param object The operand.
+     * @return The value.
+     */
+    private int evalInt(Object object)
+    {
+        if(object instanceof Integer)
         {
-            right = (int) element2;
+            return (Integer) object;
         }
-        else if(element2 instanceof Boolean)
+        if(object instanceof VariableRef)
         {
-            right = (boolean) element2 ? 1 : 0;
+            VariableRef ref = (VariableRef) object;
+            Frame frame = variableMap.target(ref);
+            if(frame != null && frame.isInt(ref.getSlot()))
+            {
+                return frame.getInt(ref.getSlot());
+            }
         }
-
-        return OperatorType.compute(left, operator, right);
+        else if(isIntOperand(object))
+        {
+            return computeInt((Expression) object);
+        }
+        Object value = getValue(object);
+        if(value instanceof Integer)
+        {
+            return (Integer) value;
+        }
+        if(value instanceof Boolean)
+        {
+            return (Boolean) value ? 1 : 0;
+        }
+        return 0;
     }
 
     /**
@@ -737,7 +1359,8 @@ public class Runtime
     private void addUserDefinedFunction(Scope scope)
     {
         String name = scope.getConditions().getUserFunctionName();
-        userDefinedFunctions.put(name, new UserDefinedFunction(name, scope));
+        userDefinedFunctions.put(name, new UserDefinedFunction(name, scope, variableMap.captureFrame()));
+        functionGeneration++;
     }
 
     /**
@@ -745,33 +1368,59 @@ public class Runtime
      *
      * @param scope The scope.
      */
+    @SuppressWarnings("unchecked")
     private void addAnonymousEventSubscriber(Scope scope)
     {
         Class<?> event = methodManager.getEventClass(scope.getConditions().getUserFunctionName());
         if(event != null)
         {
-            EventBus.Subscriber subscriber = TGame.register(event, object -> {
-                try
-                {
-                    Runtime runtime = getRuntimeChild();
-                    if(!scope.getConditions().getConditions().isEmpty() && methodManager.getEventDataClasses().containsKey(event.getSimpleName()))
-                    {
-                        Object varName = scope.getConditions().getConditions().get(0).getLeft();
-                        String dataVar = (String) varName;
-                        runtime.globalArrays = new Pair<>(dataVar, methodManager.getEventDataClasses().get(event.getSimpleName()).getEventData(object));
-                    }
+            Frame closure = variableMap.captureFrame();
+            if(bytecode)
+            {
+                getProgram(scope);
+            }
+            Scope eventScope = scope.clone();
+            eventScope.setConditions(null);
+            EventData eventData = methodManager.getEventDataClasses().get(event.getSimpleName());
+            String dataVar = !scope.getConditions().getConditions().isEmpty() && eventData != null ? (String) scope.getConditions().getConditions().get(0).getLeft() : null;
+            //the event data is read when the event fires, on the client thread
+            EventRunner runner = new EventRunner(getRuntimeChild(closure), eventOverlapPolicy,
+                    object -> {
+                        if(dataVar == null)
+                        {
+                            return object;
+                        }
+                        Map<String, Object> data = eventData.getEventData(object);
+                        return data != null ? data : new HashMap<String, Object>();
+                    },
+                    (runtime, data) -> {
+                        if(dataVar != null)
+                        {
+                            runtime.globalArrays = new Pair<>(dataVar, (Map<String, Object>) data);
+                        }
+                        runtime.execute(eventScope, "TS_EVENT", "TS_EVENT");
+                    });
+            eventRunners.add(runner);
+            eventMultiplexer(event).add(runner);
+        }
+    }
 
-                    Scope eventScope = scope.clone();
-                    eventScope.setConditions(null);
-                    runtime.execute(eventScope, "TS_EVENT", "TS_EVENT");
-                }
-                catch (Exception ex)
-                {
-                    Logging.errorLog(ex);
-                }
-            });
-            subscribers.add(subscriber);
+    /**
+     * Gets the multiplexer of an event type, subscribing it to the client on first use.
+     *
+     * @param event The event class.
+     * @return The multiplexer.
+     */
+    private EventMultiplexer eventMultiplexer(Class<?> event)
+    {
+        EventMultiplexer multiplexer = eventMultiplexers.get(event);
+        if(multiplexer == null)
+        {
+            multiplexer = new EventMultiplexer();
+            eventMultiplexers.put(event, multiplexer);
+            subscribers.add(TGame.register(event, multiplexer::dispatch));
         }
+        return multiplexer;
     }
 
     private Object processTernary(TernaryExpression expression)
@@ -821,13 +1470,100 @@ public class Runtime
         return false;
     }
 
+    /**
+     * Switches profiling on or off. Switching it on starts with an empty profile.
+     *
+     * @param enabled Whether to profile.
+     */
+    public void setProfiling(boolean enabled)
+    {
+        profiler = enabled ? new Profiler() : null;
+    }
+
+    /**
+     * Switches trace recording on or off. Switching it on starts with an empty buffer.
+     *
+     * @param enabled Whether to record a trace.
+     */
+    public void setTracing(boolean enabled)
+    {
+        tracer = enabled ? new TraceRecorder() : null;
+    }
+
+    /**
+     * Asks the debugger whether to stop before a statement, only called while the debugger is armed.
+     *
+     * @param element The statement.
+     */
+    private void checkDebugger(Element element)
+    {
+        int depth = variableMap.getDepth();
+        if(debugger.shouldSuspend(element, depth, this))
+        {
+            suspend(element, depth);
+        }
+    }
+
+    /**
+     * Parks the script thread until the debugger resumes it.
+     *
+     * @param element The statement the script stopped before.
+     * @param depth The frame depth of the statement.
+     */
+    private void suspend(Element element, int depth)
+    {
+        //child and anonymous runtimes have no debugger UI that could resume them
+        if(_done || _die || child || anonymous) return;
+        breakpointTripped = true;
+        debugger.suspend(element, depth, () ->
+        {
+            buildTelemetry(true);
+            postBreakpointTripped();
+        });
+        breakpointTripped = false;
+    }
+
+    /**
+     * Evaluates the condition of a conditional breakpoint in the current frame.
+     *
+     * @param conditions The condition.
+     * @return Whether the breakpoint should trip, also when the condition fails to evaluate.
+     */
+    boolean evaluateBreakpoint(Conditions conditions)
+    {
+        try
+        {
+            return processConditions(conditions);
+        }
+        catch (Exception ex)
+        {
+            Logging.errorLog(ex);
+            return true;
+        }
+    }
+
+    /**
+     * Gets the source line of the statement being executed, for error reports.
+     *
+     * @return The line, 0 if unknown.
+     */
+    public int getStatementLine()
+    {
+        Element current = statement;
+        return current == null ? 0 : current.getLine();
+    }
+
     /**
      * Kills the script.
      */
     public void killScript()
     {
-        interrupted.add(scriptThread.getName());
         _die = true;
+        debugger.reset();
+        if(scriptThread != null)
+        {
+            scriptThread.interrupt();
+        }
     }
 
     /**
@@ -843,17 +1579,77 @@ public class Runtime
     //********** EVENT STUFF **********//
 
     /**
-     * Posts the flags.
+     * Gets the latest telemetry snapshot and asks the script thread for a fresh one,
+     * which it takes at the next statement boundary. Meant to be polled by the debug tools.
+     *
+     * @return The latest snapshot, null until the first one was taken.
+     */
+    public Telemetry pollTelemetry()
+    {
+        if(_done)
+        {
+            buildTelemetry(false);
+            return telemetry;
+        }
+        telemetryRequested = true;
+        return telemetry;
+    }
+
+    /**
+     * Makes the next telemetry snapshot include the variables, for a debugger that just attached
+     */
+    public void resetTelemetry()
+    {
+        synchronized (telemetryLock)
+        {
+            publishedVariables = -1;
+        }
+    }
+
+    /**
+     * Takes a telemetry snapshot if a debugger asked for one. This is the only debug
+     * hook on the hot path, without a debugger it is a single volatile read.
+     */
+    private void publishTelemetry()
+    {
+        if(telemetryRequested)
+        {
+            buildTelemetry(false);
+        }
+    }
+
+    private void markInstruction()
+    {
+        dirty |= DIRTY_INSTRUCTION;
+    }
+
+    /**
+     * Takes a telemetry snapshot.
+     *
+     * @param force Whether to include the variables even if they did not change.
      */
-    private void postFlags()
+    private void buildTelemetry(boolean force)
     {
         if(child || anonymous) return;
-        Map<String,Object> flags = new HashMap<>();
+        synchronized (telemetryLock)
+        {
+            telemetryRequested = false;
+            int version = variableMap.getVersion();
+            List<Variable> variables = force || version != publishedVariables ? variableMap.snapshot() : null;
+            publishedVariables = version;
+            telemetry = new Telemetry(++telemetrySequence, getFlags(), variables, (dirty & DIRTY_INSTRUCTION) != 0);
+            dirty = 0;
+        }
+    }
+
+    private Map<String,Object> getFlags()
+    {
+        Map<String,Object> flags = new LinkedHashMap<>();
         flags.put("scriptName", scriptName);
         flags.put("profile", profile);
         flags.put("running", !_done);
         flags.put("subscribers", subscribers.size());
-        flags.put("variables", variableMap.getVariableMap().size());
+        flags.put("variables", variableMap.size());
         flags.put("done", _done);
         flags.put("die", _die);
         flags.put("break", _break);
@@ -861,21 +1657,12 @@ public class Runtime
         flags.put("return", _return);
         flags.put("breakpointTripped", breakpointTripped);
         flags.put("userDefinedFunctions", userDefinedFunctions.size());
-        TEventBus.post(new FlagChanged(flags));
-    }
-
-    /**
-     * Posts the current instruction changed event.
-     */
-    private void postCurrentInstructionChanged()
-    {
-        if(anonymous) return;
-        TEventBus.post(CurrentInstructionChanged.get());
+        return flags;
     }
 
     private void postScriptStateChanged(boolean state)
     {
-        if(child || anonymous) return;
+        if(child || anonymous || !TEventBus.hasListeners(ScriptStateChanged.class)) return;
         TEventBus.post(new ScriptStateChanged(scriptName, profile, state));
     }
 
@@ -889,6 +1676,6 @@ public class Runtime
     public void onBreakpointUnTripped(BreakpointUnTripped event)
     {
         if(anonymous) return;
-        breakpointTripped = false;
+        debugger.resume();
     }
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ public class ScriptThread implements Runnable
     private final Runnable runnable;
     @Getter
     private final String name = iterator.getNextLetter();
+    private Thread thread = null;
 
     public ScriptThread(Runnable runnable)
     {
@@ -17,7 +18,31 @@ public class ScriptThread implements Runnable
 
     @Override
     public void run() {
+        synchronized (this)
+        {
+            thread = Thread.currentThread();
+        }
         Thread.currentThread().setName(name);
-        runnable.run();
+        try
+        {
+            runnable.run();
+        }
+        finally
+        {
+            synchronized (this)
+            {
+                thread = null;
+                Thread.interrupted();
+            }
+        }
+    }
+
+    /**
+     * Interrupts the thread running this script, if it is still running
+     */
+    public synchronized void interrupt()
+    {
+        if(thread != null)
+            thread.interrupt();
     }
 }
@@ -0,0 +1,35 @@
+package net.runelite.client.plugins.tscripts.runtime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A snapshot of the state of a runtime for the debug tools. Snapshots are only taken
+ * when a debugger asks for one through {@link Runtime#pollTelemetry()}.
+ */
+@Getter
+@AllArgsConstructor
+public class Telemetry
+{
+    /**
+     * Increases with every snapshot, lets pollers skip snapshots they already handled
+     */
+    private final long sequence;
+    private final Map<String, Object> flags;
+    /**
+     * The visible variables, or null if they did not change since the previous snapshot
+     */
+    private final List<Variable> variables;
+    /**
+     * Whether the runtime moved to another instruction since the previous snapshot
+     */
+    private final boolean instructionChanged;
+
+    public boolean isVariablesChanged()
+    {
+        return variables != null;
+    }
+}
@@ -0,0 +1,145 @@
+package net.runelite.client.plugins.tscripts.runtime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A dumped execution trace, see {@link TraceRecorder} for the record layout.
+ * Carries the labels and source lines of the statements it mentions, so it can be
+ * replayed after the script was changed or the client restarted.
+ */
+@Getter
+@AllArgsConstructor
+public class Trace
+{
+    private static final int MAGIC = 0x54535452;
+    private static final int VERSION = 1;
+
+    private final String scriptName;
+    /**
+     * The number of records that were overwritten before the first record of this trace
+     */
+    private final long dropped;
+    private final byte[] records;
+    private final Map<Integer, String> statementLabels;
+    private final Map<Integer, Integer> statementLines;
+    private final Map<Integer, String> methodNames;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Record
+    {
+        private final int kind;
+        private final int argumentCount;
+        private final int id;
+        private final int tick;
+        private final int summary;
+    }
+
+    public int size()
+    {
+        return records.length / TraceRecorder.RECORD_SIZE;
+    }
+
+    public Record get(int index)
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(records);
+        int offset = index * TraceRecorder.RECORD_SIZE;
+        return new Record(buffer.get(offset), buffer.get(offset + 1), buffer.getInt(offset + 4), buffer.getInt(offset + 8), buffer.getInt(offset + 12));
+    }
+
+    /**
+     * Gets the source line of the statement a record belongs to
+     * @param record the record
+     * @return the line, 0 for method records or unknown statements
+     */
+    public int getLine(Record record)
+    {
+        if(record.getKind() == TraceRecorder.CALL || record.getKind() == TraceRecorder.RESULT)
+            return 0;
+        return statementLines.getOrDefault(record.getId(), 0);
+    }
+
+    public String describe(Record record)
+    {
+        switch (record.getKind())
+        {
+            case TraceRecorder.STATEMENT:
+                return statementLabels.getOrDefault(record.getId(), "?");
+            case TraceRecorder.CALL:
+                return "call " + methodNames.getOrDefault(record.getId(), "?") + " (" + record.getArgumentCount() + " args)";
+            case TraceRecorder.RESULT:
+                return "return " + methodNames.getOrDefault(record.getId(), "?");
+            case TraceRecorder.ERROR:
+                return "error in " + statementLabels.getOrDefault(record.getId(), "?");
+        }
+        return "?";
+    }
+
+    public void write(Path file) throws IOException
+    {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file))))
+        {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(scriptName);
+            out.writeLong(dropped);
+            out.writeInt(statementLabels.size());
+            for (Map.Entry<Integer, String> entry : statementLabels.entrySet())
+            {
+                out.writeInt(entry.getKey());
+                out.writeUTF(entry.getValue());
+                out.writeInt(statementLines.getOrDefault(entry.getKey(), 0));
+            }
+            out.writeInt(methodNames.size());
+            for (Map.Entry<Integer, String> entry : methodNames.entrySet())
+            {
+                out.writeInt(entry.getKey());
+                out.writeUTF(entry.getValue());
+            }
+            out.writeInt(records.length);
+            out.write(records);
+        }
+    }
+
+    public static Trace read(Path file) throws IOException
+    {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file))))
+        {
+            if(in.readInt() != MAGIC || in.readInt() != VERSION)
+                throw new IOException("Not a trace file: " + file);
+            String scriptName = in.readUTF();
+            long dropped = in.readLong();
+            Map<Integer, String> labels = new HashMap<>();
+            Map<Integer, Integer> lines = new HashMap<>();
+            int statements = in.readInt();
+            for (int i = 0; i < statements; i++)
+            {
+                int id = in.readInt();
+                labels.put(id, in.readUTF());
+                lines.put(id, in.readInt());
+            }
+            Map<Integer, String> methods = new HashMap<>();
+            int methodCount = in.readInt();
+            for (int i = 0; i < methodCount; i++)
+            {
+                int id = in.readInt();
+                methods.put(id, in.readUTF());
+            }
+            byte[] records = new byte[in.readInt()];
+            in.readFully(records);
+            return new Trace(scriptName, dropped, records, labels, lines, methods);
+        }
+    }
+}
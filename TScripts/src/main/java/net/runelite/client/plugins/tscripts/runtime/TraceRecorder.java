@@ -0,0 +1,226 @@
+package net.runelite.client.plugins.tscripts.runtime;
+
+import lombok.Getter;
+import net.runelite.client.plugins.tscripts.adapter.models.Element;
+import net.runelite.client.plugins.tscripts.adapter.models.Scope.Scope;
+import net.runelite.client.plugins.tscripts.adapter.models.method.MethodCall;
+import net.runelite.client.plugins.tscripts.sevices.cache.GameCache;
+import net.runelite.client.plugins.tscripts.util.Logging;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static net.runelite.client.plugins.tscripts.TScriptsPlugin.HOME_DIR;
+
+/**
+ * Records what a runtime executes into a fixed-size ring buffer outside the heap. Every record
+ * is 16 bytes: the kind, the argument count, a statement or method id, the game tick and a
+ * 32 bit summary of the first argument or the return value. Recording allocates nothing once
+ * a statement or method got its id, so the recorder can stay on for long runs.
+ *
+ * Records are written by the script thread only. {@link #snapshot(String)} may be called from
+ * another thread, the newest few records of such a snapshot can be torn.
+ */
+public class TraceRecorder
+{
+    public static final int STATEMENT = 1;
+    public static final int CALL = 2;
+    public static final int RESULT = 3;
+    public static final int ERROR = 4;
+    static final int RECORD_SIZE = 16;
+    /**
+     * The number of records kept, the buffer takes 1 MiB
+     */
+    private static final int CAPACITY = 1 << 16;
+
+    /**
+     * Statement and method ids are shared by all recorders, so dumps of child runtimes line up.
+     * A statement id stands for a line and a label, statements that share both share their id,
+     * so reparsing scripts does not grow the registries.
+     */
+    private static final Map<String, Integer> statementIds = new HashMap<>();
+    private static final List<String> statementLabels = new ArrayList<>();
+    private static final List<Integer> statementLines = new ArrayList<>();
+    private static final Map<String, Integer> methodIds = new HashMap<>();
+    private static final List<String> methodNames = new ArrayList<>();
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(CAPACITY * RECORD_SIZE);
+    @Getter
+    private long written = 0;
+
+    public void statement(Element element)
+    {
+        write(STATEMENT, 0, statementId(element), 0);
+    }
+
+    public void call(CallSite site, Object[] args)
+    {
+        write(CALL, args.length, methodId(site), args.length > 0 ? summarize(args[0]) : 0);
+    }
+
+    public void result(CallSite site, Object value)
+    {
+        write(RESULT, 0, methodId(site), summarize(value));
+    }
+
+    public void error(Element element, Exception ex)
+    {
+        write(ERROR, 0, element == null ? 0 : statementId(element), ex.getClass().getName().hashCode());
+    }
+
+    private void write(int kind, int argc, int id, int summary)
+    {
+        int offset = (int) (written & (CAPACITY - 1)) * RECORD_SIZE;
+        buffer.put(offset, (byte) kind);
+        buffer.put(offset + 1, (byte) Math.min(argc, 127));
+        buffer.putInt(offset + 4, id);
+        buffer.putInt(offset + 8, GameCache.get().getTickCount());
+        buffer.putInt(offset + 12, summary);
+        written++;
+    }
+
+    /**
+     * Squeezes a value into 32 bits without allocating
+     */
+    private static int summarize(Object value)
+    {
+        if(value == null)
+            return 0;
+        if(value instanceof Integer)
+            return (Integer) value;
+        if(value instanceof Boolean)
+            return (Boolean) value ? 1 : 0;
+        if(value instanceof String)
+            return value.hashCode();
+        if(value instanceof Collection)
+            return ((Collection<?>) value).size();
+        if(value instanceof Map)
+            return ((Map<?, ?>) value).size();
+        return System.identityHashCode(value);
+    }
+
+    private static int statementId(Element element)
+    {
+        int id = element.getTraceId();
+        if(id != 0)
+            return id;
+        synchronized (statementLabels)
+        {
+            if(element.getTraceId() != 0)
+                return element.getTraceId();
+            String label = describe(element);
+            id = statementIds.computeIfAbsent(element.getLine() + ":" + label, k -> {
+                statementLabels.add(label);
+                statementLines.add(element.getLine());
+                return statementLabels.size();
+            });
+            element.setTraceId(id);
+            return id;
+        }
+    }
+
+    private static int methodId(CallSite site)
+    {
+        int id = site.getTraceId();
+        if(id != 0)
+            return id;
+        String name = site.getEvaluated().getName();
+        synchronized (methodIds)
+        {
+            id = methodIds.computeIfAbsent(name, k -> {
+                methodNames.add(k);
+                return methodNames.size();
+            });
+        }
+        site.setTraceId(id);
+        return id;
+    }
+
+    private static String describe(Element element)
+    {
+        if(element instanceof MethodCall)
+            return ((MethodCall) element).getName() + "()";
+        if(element instanceof Scope && ((Scope) element).getConditions() != null && ((Scope) element).getConditions().getType() != null)
+            return ((Scope) element).getConditions().getType().name().toLowerCase();
+        return element.getType().name().toLowerCase();
+    }
+
+    /**
+     * Copies the records in the buffer, oldest first
+     *
+     * @param scriptName the script the trace belongs to
+     * @return the trace
+     */
+    public Trace snapshot(String scriptName)
+    {
+        long end = written;
+        long start = Math.max(0, end - CAPACITY);
+        int count = (int) (end - start);
+        byte[] records = new byte[count * RECORD_SIZE];
+        ByteBuffer view = buffer.duplicate();
+        for (long i = start; i < end; i++)
+        {
+            view.position((int) (i & (CAPACITY - 1)) * RECORD_SIZE);
+            view.get(records, (int) (i - start) * RECORD_SIZE, RECORD_SIZE);
+        }
+
+        Map<Integer, String> labels = new HashMap<>();
+        Map<Integer, Integer> lines = new HashMap<>();
+        Map<Integer, String> methods = new HashMap<>();
+        ByteBuffer read = ByteBuffer.wrap(records);
+        synchronized (statementLabels)
+        {
+            synchronized (methodIds)
+            {
+                for (int i = 0; i < count; i++)
+                {
+                    int kind = read.get(i * RECORD_SIZE);
+                    int id = read.getInt(i * RECORD_SIZE + 4);
+                    if(id <= 0)
+                        continue;
+                    if(kind == CALL || kind == RESULT)
+                    {
+                        if(id <= methodNames.size())
+                            methods.putIfAbsent(id, methodNames.get(id - 1));
+                    }
+                    else if(id <= statementLabels.size())
+                    {
+                        labels.putIfAbsent(id, statementLabels.get(id - 1));
+                        lines.putIfAbsent(id, statementLines.get(id - 1));
+                    }
+                }
+            }
+        }
+        return new Trace(scriptName, start, records, labels, lines, methods);
+    }
+
+    /**
+     * Writes the buffer to the traces folder of the selected profile, {@link net.runelite.client.plugins.tscripts.TScriptsPlugin#HOME_DIR}
+     *
+     * @param scriptName the script the trace belongs to
+     * @return the file, or null if it could not be written
+     */
+    public Path dump(String scriptName)
+    {
+        try
+        {
+            Path directory = Paths.get(HOME_DIR, "traces");
+            Files.createDirectories(directory);
+            Path file = directory.resolve(scriptName + "-" + System.currentTimeMillis() + ".trace");
+            snapshot(scriptName).write(file);
+            return file;
+        }
+        catch (Exception ex)
+        {
+            Logging.errorLog(ex);
+            return null;
+        }
+    }
+}
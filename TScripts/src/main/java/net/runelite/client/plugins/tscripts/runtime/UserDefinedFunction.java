@@ -12,12 +12,17 @@ public class UserDefinedFunction
 {
     private final String name;
     private final Scope scope;
+    /**
+     * The frame the function was defined in
+     */
+    private final Frame closure;
     private final Map<Integer, String> arguments  = new HashMap<>();
 
-    public UserDefinedFunction(String name, Scope scope)
+    public UserDefinedFunction(String name, Scope scope, Frame closure)
     {
         this.name = name;
         this.scope = scope;
+        this.closure = closure;
         int i = 0;
         for(Condition condition : scope.getConditions().getConditions().values())
         {
@@ -19,4 +19,10 @@ public class Variable
         this.value = value;
         this.scopeHash = scopeHash;
     }
+
+    public Variable(String name, Object value, String scopeHash, boolean frozen)
+    {
+        this(name, value, scopeHash);
+        this.frozen = frozen;
+    }
 }
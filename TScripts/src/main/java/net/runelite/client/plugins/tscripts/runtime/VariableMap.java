@@ -1,224 +1,416 @@
 package net.runelite.client.plugins.tscripts.runtime;
 
 import lombok.Getter;
-import net.runelite.client.plugins.tscripts.sevices.eventbus.TEventBus;
-import net.runelite.client.plugins.tscripts.sevices.eventbus.events.VariableUpdated;
-import net.runelite.client.plugins.tscripts.sevices.eventbus.events.VariablesCleaned;
-import net.runelite.client.plugins.tscripts.sevices.eventbus.events.VariablesCleared;
+import net.runelite.client.plugins.tscripts.adapter.Resolver;
+import net.runelite.client.plugins.tscripts.adapter.models.Scope.Scope;
+import net.runelite.client.plugins.tscripts.adapter.models.variable.VariableRef;
 import net.runelite.client.plugins.tscripts.util.Logging;
 
 import java.rmi.UnexpectedException;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Frame based variable storage. Variables bound by the {@link Resolver} are addressed
+ * by (depth, slot), everything else is looked up by name along the active frames.
+ *
+ * Popped frames go back into a small pool bucketed by slot count, so calling a
+ * function or entering a block in a loop does not allocate once the pool is warm.
+ */
 public class VariableMap
 {
+    private static final int MAX_POOLED_SLOTS = 16;
+    private static final int POOL_DEPTH = 8;
+
+    /**
+     * The frame this map was started from, null for top level runtimes
+     */
+    private final Frame base;
+    private volatile Frame current;
+    private final Frame[][] pool = new Frame[MAX_POOLED_SLOTS + 1][POOL_DEPTH];
+    private final int[] pooled = new int[MAX_POOLED_SLOTS + 1];
+    private int nextFrameId = 0;
+    /**
+     * The number of frames pushed on top of the base frame
+     */
+    @Getter
+    private int depth = 0;
+    /**
+     * Bumped on every change the debugger can see. Written by the script thread without
+     * synchronization, the runtime reads it when it takes a telemetry snapshot.
+     */
     @Getter
-    private final Map<String, Variable> variableMap = new ConcurrentHashMap<>();
-    private final Map<String, ArrayVariable> arrayMap = new ConcurrentHashMap<>();
-    private final Stack<String> scopeStack = new Stack<>();
+    private int version = 0;
 
-    public void put(String key, Object index, Object value)
+    public VariableMap()
+    {
+        this(null);
+    }
+
+    /**
+     * Creates a variable map that sees the variables of an enclosing frame,
+     * used for code that runs in the context of another runtime (event subscribers).
+     *
+     * @param base the enclosing frame
+     */
+    public VariableMap(Frame base)
+    {
+        this.base = base;
+        this.current = base;
+    }
+
+    //********** RESOLVED ACCESS **********//
+
+    public Object get(VariableRef ref)
+    {
+        Frame frame = target(ref);
+        if(frame == null)
+            return get(ref.getName());
+        return frame.get(ref.getSlot());
+    }
+
+    public boolean containsKey(VariableRef ref)
+    {
+        Frame frame = target(ref);
+        if(frame == null)
+            return containsKey(ref.getName());
+        return frame.isSet(ref.getSlot());
+    }
+
+    public void put(VariableRef ref, Object value)
     {
-        for(ArrayVariable arrayVariable : arrayMap.values())
+        Frame frame = target(ref);
+        if(frame == null)
         {
-            if(arrayVariable.getName().equals(key) && scopeStack.contains(arrayVariable.getScopeHash()))
-            {
-                arrayVariable.getValues().put(index, value);
-                postChangedEvent(key, value);
-                return;
-            }
+            put(ref.getName(), value);
+            return;
         }
-        ArrayVariable arrayVariable = new ArrayVariable(key, scopeStack.peek());
-        arrayVariable.getValues().put(index, value);
-        arrayMap.put(key + " " + scopeStack.peek(), arrayVariable);
+        frame.write(ref.getSlot(), value);
+        markChanged();
     }
 
-    public Object get(String key, Object index)
+    /**
+     * Writes an int without boxing it into the slot
+     * @param ref the reference
+     * @param value the value
+     */
+    public void putInt(VariableRef ref, int value)
     {
-        for(ArrayVariable arrayVariable : arrayMap.values())
+        Frame frame = target(ref);
+        if(frame == null)
         {
-            if(arrayVariable.getName().equals(key) && scopeStack.contains(arrayVariable.getScopeHash()))
-            {
-                for(Object entry : arrayVariable.getValues().keySet())
-                {
-                    if((entry + "").equals(index + ""))
-                    {
-                        return arrayVariable.getValues().get(entry);
-                    }
-                }
-            }
+            put(ref.getName(), value);
+            return;
         }
-        Logging.errorLog(new UnexpectedException("Array variable not found: " + key + " " + index));
-        return "null";
+        frame.writeInt(ref.getSlot(), value);
+        markChanged();
     }
 
-    public void put(String key, Object value)
+    public Object get(VariableRef ref, Object index)
     {
-        for(Variable variable : variableMap.values())
+        Frame frame = target(ref);
+        if(frame == null)
+            return get(ref.getName(), index);
+        ArrayVariable array = (ArrayVariable) frame.get(ref.getSlot());
+        if(array == null || !array.getValues().containsKey(key(index)))
         {
-            if(variable.getName().equals(key) && scopeStack.contains(variable.getScopeHash()))
-            {
-                if(!variable.isFrozen())
-                    variable.setValue(value);
-                postChangedEvent(key, value);
-                return;
-            }
+            Logging.errorLog(new UnexpectedException("Array variable not found: " + ref.getName() + " " + index));
+            return "null";
         }
-        variableMap.put(key + " " + scopeStack.peek(), new Variable(key, value, scopeStack.peek()));
-        postChangedEvent(key, value);
+        return array.getValues().get(key(index));
     }
 
-    public Object get(String key)
+    public boolean containsKey(VariableRef ref, Object index)
+    {
+        Frame frame = target(ref);
+        if(frame == null)
+            return containsKey(ref.getName(), index);
+        ArrayVariable array = (ArrayVariable) frame.get(ref.getSlot());
+        return array != null && array.getValues().containsKey(key(index));
+    }
+
+    public void put(VariableRef ref, Object index, Object value)
     {
-        for (Variable variable : variableMap.values())
+        Frame frame = target(ref);
+        if(frame == null)
         {
-            if (variable.getName().equals(key) && scopeStack.contains(variable.getScopeHash()))
-            {
-                return variable.getValue();
-            }
+            put(ref.getName(), index, value);
+            return;
         }
-        Logging.errorLog(new UnexpectedException("Variable not found: " + key));
-        return variableMap.getOrDefault(key + " " + scopeStack.peek(), new Variable(key, "null", scopeStack.peek())).getValue();
+        ArrayVariable array = (ArrayVariable) frame.get(ref.getSlot());
+        if(array == null)
+        {
+            array = new ArrayVariable(ref.getName(), frame.getHash());
+            frame.write(ref.getSlot(), array);
+        }
+        array.getValues().put(key(index), value);
+        markChanged();
     }
 
-    public boolean containsKey(String key)
+    /**
+     * Walks up the lexical frames of a resolved reference
+     * @param ref the reference
+     * @return the owning frame, or null if the reference has to be looked up by name
+     */
+    public Frame target(VariableRef ref)
     {
-        for (Variable variable : variableMap.values())
+        if(!ref.isResolved())
+            return null;
+        Frame frame = current;
+        for(int i = 0; i < ref.getDepth() && frame != null; i++)
         {
-            if (variable.getName().equals(key) && scopeStack.contains(variable.getScopeHash()))
-            {
-                return true;
-            }
+            frame = frame.getParent();
         }
-        return false;
+        return frame == null || ref.getSlot() >= frame.getSlotCount() ? null : frame;
     }
 
-    public boolean containsKey(String key, Object index)
+    //********** NAME BASED ACCESS (eval, event data, debugger) **********//
+
+    public Object get(String key)
     {
-        for (ArrayVariable arrayVariable : arrayMap.values())
+        Frame frame = find(key);
+        if(frame != null)
         {
-            if (arrayVariable.getName().equals(key) && scopeStack.contains(arrayVariable.getScopeHash()))
-            {
-                return arrayVariable.getValues().containsKey(index);
-            }
+            return frame.read(key);
         }
-        return false;
+        Logging.errorLog(new UnexpectedException("Variable not found: " + key));
+        return "null";
     }
 
-    public void clear()
+    public boolean containsKey(String key)
     {
-        variableMap.clear();
-        TEventBus.post(VariablesCleared.get());
+        return find(key) != null;
     }
 
-    private void postChangedEvent(String key, Object value)
+    public void put(String key, Object value)
     {
-        TEventBus.post(new VariableUpdated(key, value));
+        Frame frame = find(key);
+        if(frame == null)
+            frame = current;
+        if(frame == null)
+            return;
+        frame.write(key, value);
+        markChanged();
     }
 
-    public boolean isFrozen(String name, String hash)
+    public Object get(String key, Object index)
     {
-        for(Variable variable : variableMap.values())
+        Frame frame = find(Resolver.arrayKey(key));
+        if(frame != null)
         {
-            if(variable.getName().equals(name) && variable.getScopeHash().equals(hash))
-            {
-                return variable.isFrozen();
-            }
+            ArrayVariable array = (ArrayVariable) frame.read(Resolver.arrayKey(key));
+            if(array.getValues().containsKey(key(index)))
+                return array.getValues().get(key(index));
         }
-        return false;
+        Logging.errorLog(new UnexpectedException("Array variable not found: " + key + " " + index));
+        return "null";
     }
 
-    public void toggleFreeze(String name, String hash)
+    public boolean containsKey(String key, Object index)
     {
-        if (isFrozen(name, hash))
-            unfreeze(name, hash);
-        else
-            freeze(name, hash);
+        Frame frame = find(Resolver.arrayKey(key));
+        return frame != null && ((ArrayVariable) frame.read(Resolver.arrayKey(key))).getValues().containsKey(key(index));
     }
 
-    private void freeze(String name, String hash)
+    public void put(String key, Object index, Object value)
     {
-        for(Variable variable : variableMap.values())
+        String arrayKey = Resolver.arrayKey(key);
+        Frame frame = find(arrayKey);
+        ArrayVariable array;
+        if(frame == null)
         {
-            if(variable.getName().equals(name) && variable.getScopeHash().equals(hash))
-            {
-                variable.setFrozen(true);
+            frame = current;
+            if(frame == null)
                 return;
-            }
+            array = new ArrayVariable(key, frame.getHash());
+            frame.write(arrayKey, array);
+        }
+        else
+        {
+            array = (ArrayVariable) frame.read(arrayKey);
         }
+        array.getValues().put(key(index), value);
+        markChanged();
     }
 
-    private void unfreeze(String name, String hash)
+    /**
+     * Finds the innermost active frame that holds a value for a name
+     * @param name the name
+     * @return the frame, or null
+     */
+    private Frame find(String name)
     {
-        for(Variable variable : variableMap.values())
+        for(Frame frame = current; frame != null; frame = frame.getCaller())
         {
-            if(variable.getName().equals(name) && variable.getScopeHash().equals(hash))
-            {
-                variable.setFrozen(false);
-                return;
-            }
+            if(frame.defines(name))
+                return frame;
         }
+        return null;
+    }
+
+    private static String key(Object index)
+    {
+        return index + "";
     }
 
-    public void cleanScope(String scope)
+    //********** FRAMES **********//
+
+    public Frame pushFrame(Scope scope)
     {
-        List<String> keysToRemove = new ArrayList<>();
-        for (var variable : variableMap.entrySet())
+        return pushFrame(scope, current);
+    }
+
+    /**
+     * Pushes a frame for a scope
+     * @param scope the scope
+     * @param parent the frame of the lexically enclosing scope
+     * @return the new frame
+     */
+    public Frame pushFrame(Scope scope, Frame parent)
+    {
+        int size = scope == null ? 0 : scope.getSlotNames().length;
+        int id = ++nextFrameId;
+        Frame frame;
+        if(size <= MAX_POOLED_SLOTS && pooled[size] > 0)
         {
-            if (variable.getValue().getScopeHash().equals(scope))
-            {
-                keysToRemove.add(variable.getKey());
-            }
+            frame = pool[size][--pooled[size]];
+            pool[size][pooled[size]] = null;
+            frame.reset(scope, parent, current, id);
         }
-        for (String key : keysToRemove)
+        else
         {
-            variableMap.remove(key);
+            frame = new Frame(scope, parent, current, id);
         }
+        current = frame;
+        depth++;
+        return frame;
+    }
 
-        keysToRemove.clear();
-        for(var arrayVariable : arrayMap.entrySet())
+    public void popFrame()
+    {
+        Frame frame = current;
+        if(frame == null || frame == base)
+            return;
+        current = frame.getCaller();
+        depth--;
+        if(frame.isDirty())
+            version++;
+        if(frame.isCaptured())
+            return;
+        int size = frame.getSlotCount();
+        if(size <= MAX_POOLED_SLOTS && pooled[size] < POOL_DEPTH)
         {
-            if(arrayVariable.getValue().getScopeHash().equals(scope))
-            {
-                keysToRemove.add(arrayVariable.getKey());
-            }
+            frame.recycle();
+            pool[size][pooled[size]++] = frame;
         }
-        for(String key : keysToRemove)
+    }
+
+    public Frame peekFrame()
+    {
+        return current;
+    }
+
+    /**
+     * Gets the current frame for a closure. The frame and everything it can reach
+     * through its callers are kept out of the pool from now on.
+     *
+     * @return the current frame
+     */
+    public Frame captureFrame()
+    {
+        for(Frame frame = current; frame != null && !frame.isCaptured(); frame = frame.getCaller())
         {
-            arrayMap.remove(key);
+            frame.capture();
         }
+        return current;
+    }
+
+    public void clear()
+    {
+        current = base;
+        depth = 0;
+        version++;
+    }
 
-        TEventBus.post(new VariablesCleaned(scope));
+    private void markChanged()
+    {
+        version++;
+    }
+
+    //********** DEBUGGER **********//
+
+    /**
+     * Takes a snapshot of every variable visible from the current frame
+     * @return the variables, innermost frame first
+     */
+    public List<Variable> snapshot()
+    {
+        List<Variable> out = new ArrayList<>();
+        for(Frame frame = current; frame != null; frame = frame.getCaller())
+        {
+            for(int i = 0; i < frame.getSlotCount(); i++)
+            {
+                Object value = frame.get(i);
+                if(value == null || value instanceof ArrayVariable)
+                    continue;
+                String name = frame.getSlotName(i);
+                out.add(new Variable(name, value, frame.getHash(), frame.isFrozen(name)));
+            }
+            if(frame.getDynamic() == null)
+                continue;
+            for(Map.Entry<String, Object> entry : frame.getDynamic().entrySet())
+            {
+                if(entry.getValue() instanceof ArrayVariable)
+                    continue;
+                out.add(new Variable(entry.getKey(), entry.getValue(), frame.getHash(), frame.isFrozen(entry.getKey())));
+            }
+        }
+        return out;
     }
 
-    public void pushScope(String scope)
+    public int size()
     {
-        scopeStack.push(scope);
+        int size = 0;
+        for(Frame frame = current; frame != null; frame = frame.getCaller())
+        {
+            for(int i = 0; i < frame.getSlotCount(); i++)
+            {
+                if(frame.isSet(i))
+                    size++;
+            }
+            if(frame.getDynamic() != null)
+                size += frame.getDynamic().size();
+        }
+        return size;
     }
 
-    public String popScope()
+    public boolean isFrozen(String name, String hash)
     {
-        String scope = scopeStack.pop();
-        cleanScope(scope);
-        return scope;
+        Frame frame = frameOf(hash);
+        return frame != null && frame.isFrozen(name);
     }
 
-    public String popScope2()
+    public void toggleFreeze(String name, String hash)
     {
-        return scopeStack.pop();
+        Frame frame = frameOf(hash);
+        if(frame != null)
+            frame.toggleFreeze(name);
     }
 
-    public String peekScope()
+    private Frame frameOf(String hash)
     {
-        return scopeStack.peek();
+        for(Frame frame = current; frame != null; frame = frame.getCaller())
+        {
+            if(frame.getHash().equals(hash))
+                return frame;
+        }
+        return null;
     }
 
     @Override
     public String toString()
     {
         StringBuilder out = new StringBuilder();
-        for (Variable variable : variableMap.values())
+        for (Variable variable : snapshot())
         {
             out.append("\t").append(variable.getName()).append(" -> ").append(variable.getValue()).append(" (").append(variable.getScopeHash()).append(")");
         }
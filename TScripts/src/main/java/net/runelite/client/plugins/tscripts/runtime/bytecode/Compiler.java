@@ -0,0 +1,281 @@
+package net.runelite.client.plugins.tscripts.runtime.bytecode;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.runelite.client.plugins.tscripts.adapter.models.Element;
+import net.runelite.client.plugins.tscripts.adapter.models.Scope.Scope;
+import net.runelite.client.plugins.tscripts.adapter.models.condition.ConditionType;
+import net.runelite.client.plugins.tscripts.adapter.models.condition.Conditions;
+import net.runelite.client.plugins.tscripts.adapter.models.method.MethodCall;
+import net.runelite.client.plugins.tscripts.adapter.models.variable.VariableAssignment;
+
+import java.util.*;
+
+/**
+ * Compiles the body of a scope into a {@link Program}.
+ *
+ * Control flow (if/else, while, for, break, continue, return, die) becomes jumps,
+ * statements reference their model object through the constant pool so the runtime
+ * keeps evaluating expressions and calling methods exactly like the tree walker does.
+ */
+public class Compiler
+{
+    private final IntArrayList code = new IntArrayList();
+    private final List<Object> constants = new ArrayList<>();
+    private final Map<Object, Integer> constantIndex = new IdentityHashMap<>();
+    private final Deque<Loop> loops = new ArrayDeque<>();
+    private int depth = 0;
+
+    private static class Loop
+    {
+        private final int depth;
+        private final int continueTarget;
+        private final IntArrayList breaks = new IntArrayList();
+        private final IntArrayList continues = new IntArrayList();
+
+        private Loop(int depth, int continueTarget)
+        {
+            this.depth = depth;
+            this.continueTarget = continueTarget;
+        }
+    }
+
+    /**
+     * Compiles the elements of a scope. The scope's own frame and conditions are
+     * left to the caller, so the same program serves the root, function bodies and
+     * event subscribers.
+     *
+     * @param scope the scope
+     * @return the program
+     */
+    public static Program compile(Scope scope)
+    {
+        Compiler compiler = new Compiler();
+        compiler.compileElements(scope.getElements());
+        compiler.code.add(Opcode.HALT);
+        return new Program(compiler.code.toIntArray(), compiler.constants.toArray());
+    }
+
+    private void compileElements(Map<Integer, Element> elements)
+    {
+        if(elements == null)
+            return;
+        for (Element element : elements.values())
+        {
+            compileElement(element);
+        }
+    }
+
+    private void compileElement(Element element)
+    {
+        switch (element.getType())
+        {
+            case SCOPE:
+                compileScope((Scope) element);
+                break;
+            case FUNCTION_CALL:
+                compileMethodCall((MethodCall) element);
+                break;
+            case VARIABLE_ASSIGNMENT:
+                emit(Opcode.ASSIGN, constant(element));
+                break;
+        }
+    }
+
+    private void compileMethodCall(MethodCall call)
+    {
+        switch (call.getName())
+        {
+            case "die":
+                emit(Opcode.DIE);
+                break;
+            case "break":
+                compileBreak(call);
+                break;
+            case "continue":
+                compileContinue(call);
+                break;
+            case "return":
+                emit(Opcode.RETURN, constant(call));
+                break;
+            default:
+                emit(Opcode.CALL, constant(call));
+                compileFlow();
+                break;
+        }
+    }
+
+    private void compileScope(Scope scope)
+    {
+        Conditions conditions = scope.getConditions();
+        ConditionType type = conditions != null && conditions.getType() != null ? conditions.getType() : ConditionType.NONE;
+        int k = constant(scope);
+        switch (type)
+        {
+            case SUBSCRIBE:
+            case USER_DEFINED_FUNCTION:
+            case LAMBDA:
+            case IPC_POST:
+                emit(Opcode.SCOPE, k);
+                return;
+        }
+
+        emit(Opcode.ENTER, k);
+        depth++;
+        switch (type)
+        {
+            case IF:
+            {
+                int test = emit(Opcode.TEST, k, -1);
+                compileElements(scope.getElements());
+                if(scope.getElseElements() != null)
+                {
+                    int skip = emit(Opcode.JUMP, -1);
+                    patch(test + 2, code.size());
+                    compileElements(scope.getElseElements());
+                    patch(skip + 1, code.size());
+                }
+                else
+                {
+                    patch(test + 2, code.size());
+                }
+                break;
+            }
+            case WHILE:
+            {
+                int start = code.size();
+                int test = emit(Opcode.TEST, k, -1);
+                Loop loop = new Loop(depth, start);
+                loops.push(loop);
+                compileElements(scope.getElements());
+                loops.pop();
+                emit(Opcode.JUMP, start);
+                patch(test + 2, code.size());
+                patchAll(loop.breaks, code.size());
+                break;
+            }
+            case FOR:
+            {
+                emit(Opcode.STORE, constant(conditions.getForCondition().getVariableAssignment()));
+                int start = code.size();
+                int test = emit(Opcode.TEST, k, -1);
+                Loop loop = new Loop(depth, -1);
+                loops.push(loop);
+                compileElements(scope.getElements());
+                loops.pop();
+                patchAll(loop.continues, code.size());
+                emit(Opcode.STORE, constant(conditions.getForCondition().getOperation()));
+                emit(Opcode.JUMP, start);
+                patch(test + 2, code.size());
+                patchAll(loop.breaks, code.size());
+                break;
+            }
+            default:
+                compileElements(scope.getElements());
+                break;
+        }
+        depth--;
+        emit(Opcode.LEAVE);
+    }
+
+    /**
+     * Leaves every frame between the statement and the innermost loop, then jumps past the loop.
+     * Outside of a loop the break sets its flag and ends the program, so it carries into the loop
+     * of whoever called the function, like in the tree walker.
+     */
+    private void compileBreak(MethodCall call)
+    {
+        Loop loop = loops.peek();
+        if(loop == null)
+        {
+            emit(Opcode.CALL, constant(call));
+            compileFlow();
+            return;
+        }
+        unwind(loop);
+        loop.breaks.add(emit(Opcode.JUMP, -1) + 1);
+    }
+
+    private void compileContinue(MethodCall call)
+    {
+        Loop loop = loops.peek();
+        if(loop == null)
+        {
+            emit(Opcode.CALL, constant(call));
+            compileFlow();
+            return;
+        }
+        unwind(loop);
+        if(loop.continueTarget != -1)
+        {
+            emit(Opcode.JUMP, loop.continueTarget);
+            return;
+        }
+        loop.continues.add(emit(Opcode.JUMP, -1) + 1);
+    }
+
+    /**
+     * Follows a call with the break and continue targets of the innermost loop, a called function
+     * or eval can leave either flag behind
+     */
+    private void compileFlow()
+    {
+        Loop loop = loops.peek();
+        if(loop == null)
+        {
+            emit(Opcode.FLOW, 0, -1, -1);
+            return;
+        }
+        int flow = emit(Opcode.FLOW, depth - loop.depth, -1, loop.continueTarget);
+        loop.breaks.add(flow + 2);
+        if(loop.continueTarget == -1)
+            loop.continues.add(flow + 3);
+    }
+
+    private void unwind(Loop loop)
+    {
+        for (int i = depth; i > loop.depth; i--)
+        {
+            emit(Opcode.LEAVE);
+        }
+    }
+
+    private int constant(Object value)
+    {
+        Integer index = constantIndex.get(value);
+        if(index == null)
+        {
+            index = constants.size();
+            constants.add(value);
+            constantIndex.put(value, index);
+        }
+        return index;
+    }
+
+    /**
+     * Emits an instruction
+     * @return the position of the opcode
+     */
+    private int emit(int opcode, int... operands)
+    {
+        int position = code.size();
+        code.add(opcode);
+        for (int operand : operands)
+        {
+            code.add(operand);
+        }
+        return position;
+    }
+
+    private void patch(int position, int target)
+    {
+        code.set(position, target);
+    }
+
+    private void patchAll(IntArrayList positions, int target)
+    {
+        for (int i = 0; i < positions.size(); i++)
+        {
+            patch(positions.getInt(i), target);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package net.runelite.client.plugins.tscripts.runtime.bytecode;
+
+/**
+ * The instruction set of a compiled {@link Program}. Every instruction is an opcode
+ * followed by a fixed number of int operands, constant pool indexes or jump targets.
+ */
+public final class Opcode
+{
+    /**
+     * Ends the program
+     */
+    public static final int HALT = 0;
+    /**
+     * ENTER scope: highlights a scope and pushes its frame
+     */
+    public static final int ENTER = 1;
+    /**
+     * LEAVE: pops the current frame
+     */
+    public static final int LEAVE = 2;
+    /**
+     * CALL method: runs a method call statement
+     */
+    public static final int CALL = 3;
+    /**
+     * ASSIGN assignment: runs a variable assignment statement
+     */
+    public static final int ASSIGN = 4;
+    /**
+     * STORE assignment: runs a variable assignment without highlighting it (for loop headers)
+     */
+    public static final int STORE = 5;
+    /**
+     * SCOPE scope: hands a scope to the tree walker (functions, lambdas, subscribers, ipc)
+     */
+    public static final int SCOPE = 6;
+    /**
+     * TEST scope target: evaluates the conditions of a scope and jumps to target if they are false
+     */
+    public static final int TEST = 7;
+    /**
+     * JUMP target
+     */
+    public static final int JUMP = 8;
+    /**
+     * RETURN method: stores the return value of the current function and ends the program
+     */
+    public static final int RETURN = 9;
+    /**
+     * DIE: kills the script
+     */
+    public static final int DIE = 10;
+    /**
+     * FLOW leaves breakTarget continueTarget: follows a call, if the call left a break or continue behind
+     * it pops leaves frames and jumps to the matching target. With no target it ends the program and leaves
+     * the flag to the caller, like the tree walker carries it out of a function body.
+     */
+    public static final int FLOW = 11;
+
+    private static final String[] NAMES = {
+            "HALT", "ENTER", "LEAVE", "CALL", "ASSIGN", "STORE", "SCOPE", "TEST", "JUMP", "RETURN", "DIE", "FLOW"
+    };
+    private static final int[] OPERANDS = {
+            0, 1, 0, 1, 1, 1, 1, 2, 1, 1, 0, 3
+    };
+
+    private Opcode() {}
+
+    public static String name(int opcode)
+    {
+        return NAMES[opcode];
+    }
+
+    /**
+     * Gets the number of operands that follow an opcode
+     * @param opcode the opcode
+     * @return the operand count
+     */
+    public static int operands(int opcode)
+    {
+        return OPERANDS[opcode];
+    }
+}
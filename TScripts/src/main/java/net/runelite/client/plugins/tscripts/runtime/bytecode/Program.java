@@ -0,0 +1,38 @@
+package net.runelite.client.plugins.tscripts.runtime.bytecode;
+
+import lombok.Getter;
+
+/**
+ * A compiled scope body: a flat instruction array and the constant pool its operands index into.
+ */
+@Getter
+public class Program
+{
+    private final int[] code;
+    private final Object[] constants;
+
+    public Program(int[] code, Object[] constants)
+    {
+        this.code = code;
+        this.constants = constants;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder out = new StringBuilder();
+        int pc = 0;
+        while (pc < code.length)
+        {
+            int opcode = code[pc];
+            out.append(pc).append("\t").append(Opcode.name(opcode));
+            for (int i = 1; i <= Opcode.operands(opcode); i++)
+            {
+                out.append(" ").append(code[pc + i]);
+            }
+            out.append("\n");
+            pc += 1 + Opcode.operands(opcode);
+        }
+        return out.toString();
+    }
+}
@@ -4,6 +4,8 @@ import net.runelite.api.InventoryID;
 import net.runelite.api.Item;
 import net.runelite.api.ItemContainer;
 import net.runelite.client.plugins.tscripts.api.library.TGame;
+import net.runelite.client.plugins.tscripts.sevices.cache.ContainerMirror;
+import net.runelite.client.plugins.tscripts.sevices.cache.GameCache;
 import net.runelite.client.plugins.tscripts.types.ShopID;
 import net.unethicalite.client.Static;
 import org.apache.commons.lang3.ArrayUtils;
@@ -43,6 +45,12 @@ public class ItemContainerQuery<T extends ItemContainer> {
      */
     public ItemContainerQuery(InventoryID inventoryId)
     {
+        ContainerMirror mirror = GameCache.get().getContainer(inventoryId);
+        if(mirror.exists())
+        {
+            this.cache = new ArrayList<>(mirror.getItems());
+            return;
+        }
         ItemContainer itemContainer = TGame.invoke(() -> Static.getClient().getItemContainer(inventoryId));
         if(itemContainer != null)
             this.cache = TGame.invoke(() ->
@@ -65,6 +73,12 @@ public class ItemContainerQuery<T extends ItemContainer> {
             this.cache = new ArrayList<>();
             return;
         }
+        ContainerMirror mirror = GameCache.get().getContainer(inventoryId.getItemContainerId());
+        if(mirror.exists())
+        {
+            this.cache = new ArrayList<>(mirror.getItems());
+            return;
+        }
         ItemContainer itemContainer = TGame.invoke(() -> Static.getClient().getItemContainer(inventoryId.getItemContainerId()));
         if(itemContainer != null)
             this.cache = TGame.invoke(() ->
@@ -76,6 +90,23 @@ public class ItemContainerQuery<T extends ItemContainer> {
             this.cache = new ArrayList<>();
     }
 
+    /**
+     * query a mirrored container without going through the client thread
+     * @param mirror ContainerMirror
+     * @return ItemContainerQuery\<T\>
+     */
+    public static <T extends ItemContainer> ItemContainerQuery<T> of(ContainerMirror mirror)
+    {
+        ItemContainerQuery<T> query = new ItemContainerQuery<>();
+        query.cache.addAll(mirror.getItems());
+        return query;
+    }
+
+    private ItemContainerQuery()
+    {
+        this.cache = new ArrayList<>();
+    }
+
     /**
      * filter by item id
      * @param id item id
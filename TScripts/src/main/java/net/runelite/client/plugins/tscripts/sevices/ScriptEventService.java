@@ -4,16 +4,17 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.plugins.tscripts.TScriptsPlugin;
-import net.runelite.client.plugins.tscripts.adapter.Adapter;
+import net.runelite.client.plugins.tscripts.sevices.cache.ScriptCache;
 import net.runelite.client.plugins.tscripts.adapter.models.Scope.Scope;
 import net.runelite.client.plugins.tscripts.api.library.TGame;
+import net.runelite.client.plugins.tscripts.runtime.EventRunner;
 import net.runelite.client.plugins.tscripts.runtime.Runtime;
 import net.runelite.client.plugins.tscripts.util.Logging;
 import net.runelite.client.plugins.tscripts.util.ThreadPool;
 import net.unethicalite.client.Static;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
@@ -30,20 +31,34 @@ public class ScriptEventService
         instance = new ScriptEventService(plugin);
     }
     private final Map<String, EventBus.Subscriber> subscribers = new HashMap<>();
+    /**
+     * The pooled runtime of each event script
+     */
+    private final Map<String, EventRunner> runners = new HashMap<>();
 
     public void registerSubscriber(String name, String profile, Class<?> event)
     {
         unregisterSubscriber(name);
+        Runtime pooled = Runtime.detached();
+        pooled.setAnonymous(true);
+        EventRunner runner = new EventRunner(pooled, Runtime.getEventOverlapPolicy(), (runtime, ev) -> {
+            Scope scope;
+            try
+            {
+                scope = ScriptCache.get().getScope(Paths.get(plugin.getScriptPath(name, profile)));
+            }
+            catch (IOException ex)
+            {
+                throw new UncheckedIOException(ex);
+            }
+            runtime.execute(scope, "TS_EVENT", "TS_EVENT");
+        });
+        runners.put(name, runner);
         subscribers.put(name, TGame.register(event, ev -> {
             try {
                 if(!plugin.config.eventsEnabled())
                     return;
-                Path path = Paths.get(plugin.getScriptPath(name, profile));
-                String code = Files.readString(path);
-                Scope scope = Adapter.parse(code);
-                Runtime runtime = new Runtime();
-                runtime.setAnonymous(true);
-                runtime.execute(scope, "TS_EVENT", "TS_EVENT");
+                runner.accept(ev);
             } catch (Exception ex) {
                 Logging.errorLog(ex);
             }
@@ -57,6 +72,11 @@ public class ScriptEventService
             EventBus.Subscriber oldSubscriber = subscribers.get(script);
             Static.getEventBus().unregister(oldSubscriber);
         }
+        EventRunner runner = runners.remove(script);
+        if(runner != null)
+        {
+            runner.close();
+        }
     }
 
     public void loadProfile(String profile, Map<String,Class<?>> scripts)
@@ -78,5 +98,10 @@ public class ScriptEventService
             Static.getEventBus().unregister(sub);
         }
         subscribers.clear();
+        for(EventRunner runner : runners.values())
+        {
+            runner.close();
+        }
+        runners.clear();
     }
 }
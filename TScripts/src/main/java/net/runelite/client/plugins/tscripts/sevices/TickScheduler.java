@@ -0,0 +1,305 @@
+package net.runelite.client.plugins.tscripts.sevices;
+
+import lombok.Getter;
+import net.runelite.client.plugins.tscripts.api.library.TGame;
+import net.runelite.client.plugins.tscripts.util.Logging;
+import net.unethicalite.client.Static;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Parks script threads on a per-tick wait queue and resumes them from the game tick,
+ * so waiting threads cost nothing between ticks and wake in the tick they asked for.
+ * Threads can also wait on a condition, which is re-checked on the client thread
+ * whenever {@link #signal()} is called from a game event.
+ *
+ * Waits return early when the waiting thread is interrupted, which is how scripts are killed.
+ */
+public class TickScheduler
+{
+    public static TickScheduler get()
+    {
+        return INSTANCE;
+    }
+    /**
+     * Created eagerly, the client thread and script threads both reach it first and a second
+     * scheduler would never release the threads parked on it
+     */
+    private static final TickScheduler INSTANCE = new TickScheduler();
+
+    private final TreeMap<Integer, List<Waiter>> queue = new TreeMap<>();
+    private final List<Waiter> conditions = new ArrayList<>();
+    private final List<Waiter> clientTickWaiters = new ArrayList<>();
+    private int tick = 0;
+    @Getter
+    private volatile int clientTick = 0;
+
+    private static class Waiter
+    {
+        private final Thread thread;
+        private final Runnable callback;
+        private final BooleanSupplier condition;
+        private volatile boolean released = false;
+
+        private Waiter(Thread thread, Runnable callback)
+        {
+            this(thread, callback, null);
+        }
+
+        private Waiter(Thread thread, Runnable callback, BooleanSupplier condition)
+        {
+            this.thread = thread;
+            this.callback = callback;
+            this.condition = condition;
+        }
+
+        private void release()
+        {
+            released = true;
+            if(callback != null)
+            {
+                try
+                {
+                    callback.run();
+                }
+                catch (Exception ex)
+                {
+                    Logging.errorLog(ex);
+                }
+            }
+            else
+            {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    private TickScheduler() {}
+
+    /**
+     * Parks the current thread until the given number of game ticks passed
+     *
+     * @param ticks the number of ticks
+     * @return false if the script was interrupted while waiting
+     */
+    public boolean await(int ticks)
+    {
+        if(ticks <= 0)
+            return true;
+        Waiter waiter = new Waiter(Thread.currentThread(), null);
+        int target = enqueue(waiter, ticks);
+        if(!park(waiter))
+        {
+            dequeue(waiter, target);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Parks the current thread until a condition holds. The condition is evaluated on the
+     * client thread, once right away and then on every signal.
+     *
+     * @param condition the condition
+     * @return false if the script was interrupted while waiting
+     */
+    public boolean awaitUntil(BooleanSupplier condition)
+    {
+        Waiter waiter = new Waiter(Thread.currentThread(), null, condition);
+        synchronized (conditions)
+        {
+            conditions.add(waiter);
+        }
+        TGame.invoke(this::signal);
+        if(!park(waiter))
+        {
+            synchronized (conditions)
+            {
+                conditions.remove(waiter);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Parks the current thread until the next client tick
+     *
+     * @return false if the script was interrupted while waiting
+     */
+    public boolean awaitClientTick()
+    {
+        //the client thread drives the ticks, parking it would never wake up
+        if(Static.getClient() != null && Static.getClient().isClientThread())
+            return true;
+        Waiter waiter = new Waiter(Thread.currentThread(), null);
+        synchronized (clientTickWaiters)
+        {
+            clientTickWaiters.add(waiter);
+        }
+        if(!park(waiter))
+        {
+            synchronized (clientTickWaiters)
+            {
+                clientTickWaiters.remove(waiter);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private boolean park(Waiter waiter)
+    {
+        while (!waiter.released)
+        {
+            if(Thread.currentThread().isInterrupted())
+                return false;
+            LockSupport.park(this);
+        }
+        return true;
+    }
+
+    /**
+     * Re-checks every waiting condition and releases the ones that hold.
+     * Must be called on the client thread.
+     */
+    public void signal()
+    {
+        List<Waiter> due = new ArrayList<>();
+        synchronized (conditions)
+        {
+            if(conditions.isEmpty())
+                return;
+            Iterator<Waiter> iterator = conditions.iterator();
+            while (iterator.hasNext())
+            {
+                Waiter waiter = iterator.next();
+                boolean holds;
+                try
+                {
+                    holds = waiter.condition.getAsBoolean();
+                }
+                catch (Exception ex)
+                {
+                    Logging.errorLog(ex);
+                    holds = true;
+                }
+                if(holds)
+                {
+                    due.add(waiter);
+                    iterator.remove();
+                }
+            }
+        }
+        for (Waiter waiter : due)
+        {
+            waiter.release();
+        }
+    }
+
+    /**
+     * Runs a callback on the game tick the given number of ticks from now, without holding a thread
+     *
+     * @param callback the callback
+     * @param ticks the number of ticks
+     */
+    public void schedule(Runnable callback, int ticks)
+    {
+        enqueue(new Waiter(null, callback), Math.max(ticks, 1));
+    }
+
+    private int enqueue(Waiter waiter, int ticks)
+    {
+        synchronized (queue)
+        {
+            int target = tick + ticks;
+            queue.computeIfAbsent(target, k -> new ArrayList<>()).add(waiter);
+            return target;
+        }
+    }
+
+    private void dequeue(Waiter waiter, int target)
+    {
+        synchronized (queue)
+        {
+            List<Waiter> waiters = queue.get(target);
+            if(waiters == null)
+                return;
+            waiters.remove(waiter);
+            if(waiters.isEmpty())
+                queue.remove(target);
+        }
+    }
+
+    /**
+     * Releases every waiter that is due on this tick. Called from the game tick.
+     *
+     * @param tickCount the current tick count
+     */
+    public void onTick(int tickCount)
+    {
+        List<Waiter> due = new ArrayList<>();
+        synchronized (queue)
+        {
+            tick = tickCount;
+            Iterator<Map.Entry<Integer, List<Waiter>>> iterator = queue.headMap(tickCount, true).entrySet().iterator();
+            while (iterator.hasNext())
+            {
+                due.addAll(iterator.next().getValue());
+                iterator.remove();
+            }
+        }
+        for (Waiter waiter : due)
+        {
+            waiter.release();
+        }
+        signal();
+    }
+
+    /**
+     * Releases the threads waiting for a client tick. Called from the client tick.
+     */
+    public void onClientTick()
+    {
+        clientTick++;
+        List<Waiter> due;
+        synchronized (clientTickWaiters)
+        {
+            if(clientTickWaiters.isEmpty())
+                return;
+            due = new ArrayList<>(clientTickWaiters);
+            clientTickWaiters.clear();
+        }
+        for (Waiter waiter : due)
+        {
+            waiter.release();
+        }
+    }
+
+    /**
+     * Releases every tick waiter, used when the tick counter restarts (logout, world hop)
+     */
+    public void reset()
+    {
+        List<Waiter> due = new ArrayList<>();
+        synchronized (queue)
+        {
+            tick = 0;
+            for (List<Waiter> waiters : queue.values())
+            {
+                due.addAll(waiters);
+            }
+            queue.clear();
+        }
+        for (Waiter waiter : due)
+        {
+            waiter.release();
+        }
+    }
+}
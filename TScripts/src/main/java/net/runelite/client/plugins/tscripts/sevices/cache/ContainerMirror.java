@@ -0,0 +1,162 @@
+package net.runelite.client.plugins.tscripts.sevices.cache;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import lombok.Getter;
+import net.runelite.api.Item;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A copy of an item container as of its last change. Mirrors are built on the client thread
+ * when the container changes and never change afterwards, so script threads read them without
+ * going through the client thread.
+ */
+public class ContainerMirror
+{
+    public static final ContainerMirror EMPTY = new ContainerMirror(-1, new int[0], new int[0], new String[0], Collections.emptyList());
+
+    /**
+     * The container id, -1 if the container has not been seen
+     */
+    @Getter
+    private final int containerId;
+    private final int[] ids;
+    private final int[] quantities;
+    private final String[] names;
+    /**
+     * The items in the slots that are not empty
+     */
+    @Getter
+    private final List<Item> items;
+    private final Int2IntOpenHashMap totals = new Int2IntOpenHashMap();
+
+    private ContainerMirror(int containerId, int[] ids, int[] quantities, String[] names, List<Item> items)
+    {
+        this.containerId = containerId;
+        this.ids = ids;
+        this.quantities = quantities;
+        this.names = names;
+        this.items = items;
+        for (int slot = 0; slot < ids.length; slot++)
+        {
+            if(ids[slot] != -1)
+                totals.addTo(ids[slot], quantities[slot]);
+        }
+    }
+
+    /**
+     * Copies the items of a container, only call on the client thread
+     *
+     * @param containerId the container id
+     * @param source the items of the container
+     * @return the mirror
+     */
+    public static ContainerMirror of(int containerId, Item[] source)
+    {
+        int[] ids = new int[source.length];
+        int[] quantities = new int[source.length];
+        String[] names = new String[source.length];
+        List<Item> items = new ArrayList<>();
+        for (int slot = 0; slot < source.length; slot++)
+        {
+            Item item = source[slot];
+            if(item == null || item.getId() == -1)
+            {
+                ids[slot] = -1;
+                continue;
+            }
+            ids[slot] = item.getId();
+            quantities[slot] = item.getQuantity();
+            names[slot] = item.getName();
+            items.add(item);
+        }
+        return new ContainerMirror(containerId, ids, quantities, names, Collections.unmodifiableList(items));
+    }
+
+    public boolean exists()
+    {
+        return containerId != -1;
+    }
+
+    public int size()
+    {
+        return ids.length;
+    }
+
+    /**
+     * @return the item id in a slot, -1 if the slot is empty
+     */
+    public int getId(int slot)
+    {
+        return ids[slot];
+    }
+
+    public int getQuantity(int slot)
+    {
+        return quantities[slot];
+    }
+
+    /**
+     * Gets the number of slots that hold an item
+     */
+    public int getUsedSlots()
+    {
+        return items.size();
+    }
+
+    /**
+     * Gets the total quantity of an item over all slots
+     */
+    public int count(int itemId)
+    {
+        return totals.get(itemId);
+    }
+
+    public boolean contains(int itemId)
+    {
+        return totals.containsKey(itemId);
+    }
+
+    /**
+     * Gets the total quantity of the items whose name matches
+     */
+    public int count(Predicate<String> name)
+    {
+        int count = 0;
+        for (int slot = 0; slot < ids.length; slot++)
+        {
+            if(names[slot] != null && name.test(names[slot]))
+                count += quantities[slot];
+        }
+        return count;
+    }
+
+    /**
+     * @return the first slot holding the item, -1 if there is none
+     */
+    public int findSlot(int itemId)
+    {
+        for (int slot = 0; slot < ids.length; slot++)
+        {
+            if(ids[slot] == itemId)
+                return slot;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the first slot holding an item whose name matches, -1 if there is none
+     */
+    public int findSlot(Predicate<String> name)
+    {
+        for (int slot = 0; slot < ids.length; slot++)
+        {
+            if(names[slot] != null && name.test(names[slot]))
+                return slot;
+        }
+        return -1;
+    }
+}
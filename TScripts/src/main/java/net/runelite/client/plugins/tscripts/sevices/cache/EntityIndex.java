@@ -0,0 +1,233 @@
+package net.runelite.client.plugins.tscripts.sevices.cache;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the entities of one kind bucketed by id, by lowercase name and optionally by tile,
+ * so lookups only visit the entities that can match, along with the tick each entity spawned at. Adding and removing an entity is O(1).
+ * The index is written by the client thread, readers use an immutable {@link #view()}.
+ *
+ * @param <T> the entity type
+ */
+public class EntityIndex<T>
+{
+    private static final int NO_TILE = -1;
+
+    private final Map<T, Keys> keys = new HashMap<>();
+    private final Int2ObjectOpenHashMap<Set<T>> byId = new Int2ObjectOpenHashMap<>();
+    private final Map<String, Set<T>> byName = new HashMap<>();
+    private final Int2ObjectOpenHashMap<Set<T>> byTile = new Int2ObjectOpenHashMap<>();
+    /**
+     * Bumped by every change, tells whether the last view is still current
+     */
+    private int version = 0;
+    private int viewVersion = 0;
+    private View<T> view = View.empty();
+
+    /**
+     * The keys an entity was filed under, entities may change after they were added
+     */
+    private static class Keys
+    {
+        private final int id;
+        private final String name;
+        private final int tile;
+        private final int spawnTick;
+
+        private Keys(int id, String name, int tile, int spawnTick)
+        {
+            this.id = id;
+            this.name = name;
+            this.tile = tile;
+            this.spawnTick = spawnTick;
+        }
+    }
+
+    /**
+     * Packs a tile into an int, works for any tile of the world
+     *
+     * @param x the world x
+     * @param y the world y
+     * @param plane the plane
+     * @return the packed tile
+     */
+    public static int packTile(int x, int y, int plane)
+    {
+        return (plane & 0x3) << 28 | (x & 0x3FFF) << 14 | (y & 0x3FFF);
+    }
+
+    public static int packTile(WorldPoint point)
+    {
+        return packTile(point.getX(), point.getY(), point.getPlane());
+    }
+
+    /**
+     * Adds an entity, replacing its previous keys if it was already added
+     *
+     * @param entity the entity
+     * @param id its id
+     * @param name its name, null if it has none
+     * @param tile its location, null if it should not be indexed by tile
+     * @param tick the current game tick, an entity that was already added keeps its spawn tick
+     */
+    public synchronized void add(T entity, int id, String name, WorldPoint tile, int tick)
+    {
+        Keys previous = keys.get(entity);
+        int spawnTick = previous == null ? tick : previous.spawnTick;
+        remove(entity);
+        version++;
+        Keys entry = new Keys(id, name == null ? null : name.toLowerCase(), tile == null ? NO_TILE : packTile(tile), spawnTick);
+        keys.put(entity, entry);
+        byId.computeIfAbsent(entry.id, k -> new LinkedHashSet<>()).add(entity);
+        if(entry.name != null)
+            byName.computeIfAbsent(entry.name, k -> new LinkedHashSet<>()).add(entity);
+        if(entry.tile != NO_TILE)
+            byTile.computeIfAbsent(entry.tile, k -> new LinkedHashSet<>()).add(entity);
+    }
+
+    public synchronized void remove(T entity)
+    {
+        Keys entry = keys.remove(entity);
+        if(entry == null)
+            return;
+        version++;
+        Set<T> bucket = byId.get(entry.id);
+        if(bucket != null && bucket.remove(entity) && bucket.isEmpty())
+            byId.remove(entry.id);
+        if(entry.name != null)
+        {
+            bucket = byName.get(entry.name);
+            if(bucket != null && bucket.remove(entity) && bucket.isEmpty())
+                byName.remove(entry.name);
+        }
+        if(entry.tile != NO_TILE)
+        {
+            bucket = byTile.get(entry.tile);
+            if(bucket != null && bucket.remove(entity) && bucket.isEmpty())
+                byTile.remove(entry.tile);
+        }
+    }
+
+    public synchronized void clear()
+    {
+        version++;
+        keys.clear();
+        byId.clear();
+        byName.clear();
+        byTile.clear();
+    }
+
+    public synchronized int size()
+    {
+        return keys.size();
+    }
+
+    /**
+     * Gets an immutable view of the index. The view is only rebuilt when entities were added or
+     * removed since the last call, so unchanged kinds of entities share their view between snapshots.
+     *
+     * @return the view
+     */
+    public synchronized View<T> view()
+    {
+        if(viewVersion == version)
+            return view;
+        ImmutableListMultimap.Builder<Integer, T> ids = ImmutableListMultimap.builder();
+        ImmutableListMultimap.Builder<String, T> names = ImmutableListMultimap.builder();
+        ImmutableListMultimap.Builder<Integer, T> tiles = ImmutableListMultimap.builder();
+        ImmutableMap.Builder<T, Integer> spawnTicks = ImmutableMap.builder();
+        for (Map.Entry<T, Keys> entry : keys.entrySet())
+        {
+            Keys key = entry.getValue();
+            ids.put(key.id, entry.getKey());
+            spawnTicks.put(entry.getKey(), key.spawnTick);
+            if(key.name != null)
+                names.put(key.name, entry.getKey());
+            if(key.tile != NO_TILE)
+                tiles.put(key.tile, entry.getKey());
+        }
+        view = new View<>(spawnTicks.build(), ids.build(), names.build(), tiles.build());
+        viewVersion = version;
+        return view;
+    }
+
+    /**
+     * An immutable copy of an index, safe to read from any thread without locking
+     *
+     * @param <T> the entity type
+     */
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class View<T>
+    {
+        private static final View<?> EMPTY = new View<>(ImmutableMap.of(), ImmutableListMultimap.of(), ImmutableListMultimap.of(), ImmutableListMultimap.of());
+
+        private final ImmutableMap<T, Integer> spawnTicks;
+        private final ImmutableListMultimap<Integer, T> byId;
+        private final ImmutableListMultimap<String, T> byName;
+        private final ImmutableListMultimap<Integer, T> byTile;
+
+        @SuppressWarnings("unchecked")
+        public static <T> View<T> empty()
+        {
+            return (View<T>) EMPTY;
+        }
+
+        public List<T> all()
+        {
+            return spawnTicks.keySet().asList();
+        }
+
+        /**
+         * Gets the tick an entity was added at
+         *
+         * @return the tick, -1 if the entity is not in the view
+         */
+        public int spawnTick(T entity)
+        {
+            return spawnTicks.getOrDefault(entity, -1);
+        }
+
+        /**
+         * Gets the entities that were added at or after a tick
+         */
+        public List<T> spawnedSince(int tick)
+        {
+            ImmutableList.Builder<T> result = ImmutableList.builder();
+            spawnTicks.forEach((entity, spawnTick) -> {
+                if(spawnTick >= tick)
+                    result.add(entity);
+            });
+            return result.build();
+        }
+
+        public List<T> byId(int id)
+        {
+            return byId.get(id);
+        }
+
+        /**
+         * @param name the name, matched ignoring case
+         */
+        public List<T> byName(String name)
+        {
+            return name == null ? ImmutableList.of() : byName.get(name.toLowerCase());
+        }
+
+        public List<T> at(int x, int y, int plane)
+        {
+            return byTile.get(packTile(x, y, plane));
+        }
+    }
+}
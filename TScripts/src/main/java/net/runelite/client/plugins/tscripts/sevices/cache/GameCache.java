@@ -4,11 +4,13 @@ import lombok.Getter;
 import net.runelite.api.*;
 import net.runelite.api.events.*;
 import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.plugins.tscripts.sevices.TickScheduler;
+import net.runelite.client.plugins.tscripts.types.ShopID;
 import net.unethicalite.client.Static;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 public class GameCache
@@ -20,29 +22,122 @@ public class GameCache
         return instance;
     }
     private static GameCache instance;
-    private final List<TileObject> objectCache = Collections.synchronizedList(new ArrayList<>());
-    private final List<NPC> npcCache = Collections.synchronizedList(new ArrayList<>());
-    private final List<Player> playerCache = Collections.synchronizedList(new ArrayList<>());
+    /**
+     * The spawn tick of entities that were already loaded when the cache was seeded, older than any real tick
+     */
+    private static final int SEEDED_TICK = Integer.MIN_VALUE;
+    private final EntityIndex<TileObject> objectCache = new EntityIndex<>();
+    private final EntityIndex<NPC> npcCache = new EntityIndex<>();
+    private final EntityIndex<Player> playerCache = new EntityIndex<>();
+    private final EntityIndex<TileItem> groundItemCache = new EntityIndex<>();
+    /**
+     * The item containers by container id, as of their last change
+     */
+    private final Map<Integer, ContainerMirror> containers = new ConcurrentHashMap<>();
+    /**
+     * The shop that changed last
+     */
+    @Getter
+    private volatile ContainerMirror shop = ContainerMirror.EMPTY;
     private Actor lastInteracting = null;
     @Getter
     private int tickCount = 0;
+    /**
+     * The entities as of the last game tick, replaced as a whole once per tick
+     */
+    @Getter
+    private volatile WorldSnapshot snapshot = WorldSnapshot.EMPTY;
 
     @Subscribe
     public void onGameTick(GameTick event)
     {
         tickCount++;
+        publish();
+        TickScheduler.get().onTick(tickCount);
+    }
+
+    /**
+     * Publishes a new snapshot for the script threads, only kinds of entities that changed are copied
+     */
+    private void publish()
+    {
+        snapshot = new WorldSnapshot(tickCount, objectCache.view(), npcCache.view(), playerCache.view(), groundItemCache.view(), snapshot);
+    }
+
+    @Subscribe
+    public void onClientTick(ClientTick event)
+    {
+        TickScheduler.get().onClientTick();
     }
 
     @Subscribe
     public void onGameStateChanged(GameStateChanged event)
     {
         if(event.getGameState() == GameState.LOGIN_SCREEN || event.getGameState() == GameState.HOPPING)
+        {
             tickCount = 0;
+            TickScheduler.get().reset();
+            objectCache.clear();
+            npcCache.clear();
+            playerCache.clear();
+            groundItemCache.clear();
+            publish();
+        }
+        if(event.getGameState() == GameState.LOGIN_SCREEN)
+        {
+            containers.clear();
+            shop = ContainerMirror.EMPTY;
+        }
     }
 
     private GameCache()
     {
         Static.getEventBus().register(this);
+        Static.getClientThread().invoke(this::seed);
+    }
+
+    /**
+     * Indexes what is already loaded, the spawn events of those entities fired before the cache existed
+     */
+    private void seed()
+    {
+        Client client = Static.getClient();
+        if(client.getGameState() != GameState.LOGGED_IN)
+            return;
+        for (InventoryID id : new InventoryID[]{InventoryID.INVENTORY, InventoryID.EQUIPMENT, InventoryID.BANK})
+        {
+            ItemContainer container = client.getItemContainer(id);
+            if(container != null)
+                containers.put(id.getId(), ContainerMirror.of(id.getId(), container.getItems()));
+        }
+        client.getNpcs().forEach(this::addNpc);
+        client.getPlayers().forEach(this::addPlayer);
+        Tile[][][] tiles = client.getScene().getTiles();
+        for (Tile[][] plane : tiles)
+        {
+            for (Tile[] column : plane)
+            {
+                for (Tile tile : column)
+                {
+                    if(tile == null)
+                        continue;
+                    for (GameObject gameObject : tile.getGameObjects())
+                    {
+                        if(gameObject != null && gameObject.getSceneMinLocation().equals(tile.getSceneLocation()))
+                            addTileObject(gameObject);
+                    }
+                    if(tile.getWallObject() != null)
+                        addTileObject(tile.getWallObject());
+                    if(tile.getDecorativeObject() != null)
+                        addTileObject(tile.getDecorativeObject());
+                    if(tile.getGroundObject() != null)
+                        addTileObject(tile.getGroundObject());
+                    if(tile.getGroundItems() != null)
+                        tile.getGroundItems().forEach(item -> addGroundItem(item, SEEDED_TICK));
+                }
+            }
+        }
+        publish();
     }
 
     // ############## Actors ##############
@@ -57,70 +152,96 @@ public class GameCache
 
     public Stream<Player> playerStream()
     {
-        synchronized (playerCache)
-        {
-            return new ArrayList<>(playerCache).stream();
-        }
+        return snapshot.getPlayers().all().stream();
     }
 
     public Stream<NPC> npcStream()
     {
-        synchronized (npcCache)
-        {
-            return new ArrayList<>(npcCache).stream();
-        }
+        return snapshot.getNpcs().all().stream();
     }
 
     public ArrayList<Player> playerList()
     {
-        synchronized (playerCache)
-        {
-            return new ArrayList<>(playerCache);
-        }
+        return new ArrayList<>(snapshot.getPlayers().all());
     }
 
     public ArrayList<NPC> npcList()
     {
-        synchronized (npcCache)
-        {
-            return new ArrayList<>(npcCache);
-        }
+        return new ArrayList<>(snapshot.getNpcs().all());
+    }
+
+    public List<NPC> npcsById(int id)
+    {
+        return snapshot.getNpcs().byId(id);
+    }
+
+    /**
+     * @param name the name, matched ignoring case
+     */
+    public List<NPC> npcsByName(String name)
+    {
+        return snapshot.getNpcs().byName(name);
+    }
+
+    /**
+     * @param name the name, matched ignoring case
+     */
+    public List<Player> playersByName(String name)
+    {
+        return snapshot.getPlayers().byName(name);
     }
 
     @Subscribe
     public void onPlayerSpawned(PlayerSpawned event)
     {
-        synchronized (npcCache)
-        {
-            playerCache.add(event.getPlayer());
-        }
+        addPlayer(event.getPlayer());
+    }
+
+    @Subscribe
+    public void onPlayerChanged(PlayerChanged event)
+    {
+        addPlayer(event.getPlayer());
     }
 
     @Subscribe
     public void onNpcSpawned(NpcSpawned event)
     {
-        synchronized (npcCache)
-        {
-            npcCache.add(event.getNpc());
-        }
+        addNpc(event.getNpc());
+    }
+
+    @Subscribe
+    public void onNpcChanged(NpcChanged event)
+    {
+        addNpc(event.getNpc());
     }
 
     @Subscribe
     public void onPlayerDespawned(PlayerDespawned event)
     {
-        synchronized (npcCache)
-        {
-            playerCache.remove(event.getPlayer());
-        }
+        playerCache.remove(event.getPlayer());
     }
 
     @Subscribe
     public void onNpcDespawned(NpcDespawned event)
     {
-        synchronized (npcCache)
-        {
-            npcCache.remove(event.getNpc());
-        }
+        npcCache.remove(event.getNpc());
+    }
+
+    private void addPlayer(Player player)
+    {
+        playerCache.add(player, player.getId(), player.getName(), null, tickCount);
+    }
+
+    private void addNpc(NPC npc)
+    {
+        npcCache.add(npc, npc.getId(), npc.getName(), null, tickCount);
+    }
+
+    @Subscribe
+    public void onAnimationChanged(AnimationChanged event)
+    {
+        if(event.getActor() == Static.getClient().getLocalPlayer())
+            TickScheduler.get().signal();
     }
 
     @Subscribe
@@ -147,10 +268,33 @@ public class GameCache
 
     public Stream<TileObject> objectStream()
     {
-        synchronized (objectCache)
-        {
-            return new ArrayList<>(objectCache).stream();
-        }
+        return snapshot.getObjects().all().stream();
+    }
+
+    public List<TileObject> objectsById(int id)
+    {
+        return snapshot.getObjects().byId(id);
+    }
+
+    /**
+     * @param name the name, matched ignoring case
+     */
+    public List<TileObject> objectsByName(String name)
+    {
+        return snapshot.getObjects().byName(name);
+    }
+
+    /**
+     * Gets the objects on a tile
+     *
+     * @param x the world x
+     * @param y the world y
+     * @param plane the plane
+     * @return the objects
+     */
+    public List<TileObject> objectsAt(int x, int y, int plane)
+    {
+        return snapshot.getObjects().at(x, y, plane);
     }
 
     @Subscribe
@@ -203,26 +347,107 @@ public class GameCache
 
     private void addTileObject(TileObject tileObject)
     {
-        synchronized (objectCache)
-        {
-            objectCache.add(tileObject);
-        }
+        objectCache.add(tileObject, tileObject.getId(), tileObject.getName(), tileObject.getWorldLocation(), tickCount);
     }
 
     private void removeTileObject(TileObject tileObject)
     {
-        synchronized (objectCache)
-        {
-            Iterator<TileObject> iterator = objectCache.iterator();
-            while (iterator.hasNext())
-            {
-                TileObject obj = iterator.next();
-                if (obj.equals(tileObject))
-                {
-                    iterator.remove();
-                    break;
-                }
-            }
-        }
+        objectCache.remove(tileObject);
+    }
+
+    // ############## Item Containers ##############
+
+    /**
+     * Gets the mirror of an item container
+     *
+     * @param id the container
+     * @return the mirror, {@link ContainerMirror#EMPTY} if the container was not seen since login
+     */
+    public ContainerMirror getContainer(InventoryID id)
+    {
+        return getContainer(id.getId());
+    }
+
+    public ContainerMirror getContainer(int containerId)
+    {
+        return containers.getOrDefault(containerId, ContainerMirror.EMPTY);
+    }
+
+    @Subscribe
+    public void onItemContainerChanged(ItemContainerChanged event)
+    {
+        ContainerMirror mirror = ContainerMirror.of(event.getContainerId(), event.getItemContainer().getItems());
+        containers.put(event.getContainerId(), mirror);
+        if(ShopID.isShop(event.getContainerId()))
+            shop = mirror;
+    }
+
+    // ############## Ground Items ##############
+
+    public List<TileItem> groundItemsById(int id)
+    {
+        return snapshot.getGroundItems().byId(id);
+    }
+
+    /**
+     * @param name the name, matched ignoring case
+     */
+    public List<TileItem> groundItemsByName(String name)
+    {
+        return snapshot.getGroundItems().byName(name);
+    }
+
+    /**
+     * Gets the ground items on a tile
+     *
+     * @param x the world x
+     * @param y the world y
+     * @param plane the plane
+     * @return the items
+     */
+    public List<TileItem> groundItemsAt(int x, int y, int plane)
+    {
+        return snapshot.getGroundItems().at(x, y, plane);
+    }
+
+    /**
+     * Gets the ground items that appeared in the last ticks
+     *
+     * @param ticks the number of ticks, 1 for the items that appeared this tick
+     * @return the items
+     */
+    public List<TileItem> groundItemsSince(int ticks)
+    {
+        WorldSnapshot current = snapshot;
+        //an item spawned during tick t is first published by the snapshot of tick t + 1
+        return current.getGroundItems().spawnedSince(current.getTick() - ticks);
+    }
+
+    @Subscribe
+    public void onItemSpawned(ItemSpawned event)
+    {
+        addGroundItem(event.getItem());
+    }
+
+    @Subscribe
+    public void onItemDespawned(ItemDespawned event)
+    {
+        groundItemCache.remove(event.getItem());
+    }
+
+    @Subscribe
+    public void onItemQuantityChanged(ItemQuantityChanged event)
+    {
+        addGroundItem(event.getItem());
+    }
+
+    private void addGroundItem(TileItem item)
+    {
+        addGroundItem(item, tickCount);
+    }
+
+    private void addGroundItem(TileItem item, int tick)
+    {
+        groundItemCache.add(item, item.getId(), item.getName(), item.getWorldLocation(), tick);
     }
 }
@@ -0,0 +1,169 @@
+package net.runelite.client.plugins.tscripts.sevices.cache;
+
+import net.runelite.client.plugins.tscripts.adapter.Adapter;
+import net.runelite.client.plugins.tscripts.adapter.Optimizer;
+import net.runelite.client.plugins.tscripts.adapter.models.Scope.Scope;
+import net.runelite.client.plugins.tscripts.util.HashUtil;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps parsed scripts around so running the same source again skips the ANTLR pipeline.
+ * Entries are keyed by the SHA-256 hash of the source and evicted least recently used first.
+ * Scripts are run through the {@link Optimizer} once, when they are parsed.
+ */
+public class ScriptCache
+{
+    public static ScriptCache get()
+    {
+        return INSTANCE;
+    }
+    /**
+     * Created eagerly, the EDT, script threads and IPC runtimes all parse through it
+     */
+    private static final ScriptCache INSTANCE = new ScriptCache();
+    private static final int MAX_ENTRIES = 64;
+
+    private final Map<String, Scope> scopes = new LinkedHashMap<>(16, 0.75f, true)
+    {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Scope> eldest)
+        {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    private final Map<Path, FileEntry> files = new HashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private static class FileEntry
+    {
+        private final long modified;
+        private final long size;
+        private final String hash;
+
+        private FileEntry(long modified, long size, String hash)
+        {
+            this.modified = modified;
+            this.size = size;
+            this.hash = hash;
+        }
+    }
+
+    private ScriptCache() {}
+
+    /**
+     * Gets the parsed scope for a piece of source code, parsing it on a miss.
+     * The returned scope is shared, callers must not modify its elements.
+     *
+     * @param code the source code
+     * @return the parsed scope
+     */
+    public Scope getScope(String code)
+    {
+        return getScope(HashUtil.getSha256Hash(code), code);
+    }
+
+    /**
+     * Gets the parsed scope for a script file. The file is only read again when its
+     * modification time or size changed since the last call.
+     *
+     * @param path the script file
+     * @return the parsed scope
+     * @throws IOException if the file could not be read
+     */
+    public Scope getScope(Path path) throws IOException
+    {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long modified = attributes.lastModifiedTime().toMillis();
+        long size = attributes.size();
+        FileEntry entry;
+        synchronized (files)
+        {
+            entry = files.get(path);
+        }
+        if(entry != null && entry.modified == modified && entry.size == size)
+        {
+            Scope scope;
+            synchronized (scopes)
+            {
+                scope = scopes.get(entry.hash);
+            }
+            if(scope != null)
+            {
+                hits.incrementAndGet();
+                return scope;
+            }
+        }
+
+        String code = Files.readString(path);
+        String hash = HashUtil.getSha256Hash(code);
+        synchronized (files)
+        {
+            files.put(path, new FileEntry(modified, size, hash));
+        }
+        return getScope(hash, code);
+    }
+
+    private Scope getScope(String hash, String code)
+    {
+        if(hash == null)
+        {
+            misses.incrementAndGet();
+            return Optimizer.optimize(Adapter.parse(code));
+        }
+        synchronized (scopes)
+        {
+            Scope scope = scopes.get(hash);
+            if(scope != null)
+            {
+                hits.incrementAndGet();
+                return scope;
+            }
+        }
+        misses.incrementAndGet();
+        Scope scope = Optimizer.optimize(Adapter.parse(code));
+        synchronized (scopes)
+        {
+            Scope existing = scopes.putIfAbsent(hash, scope);
+            return existing != null ? existing : scope;
+        }
+    }
+
+    public long getHits()
+    {
+        return hits.get();
+    }
+
+    public long getMisses()
+    {
+        return misses.get();
+    }
+
+    public int size()
+    {
+        synchronized (scopes)
+        {
+            return scopes.size();
+        }
+    }
+
+    public void clear()
+    {
+        synchronized (scopes)
+        {
+            scopes.clear();
+        }
+        synchronized (files)
+        {
+            files.clear();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package net.runelite.client.plugins.tscripts.sevices.cache;
+
+import net.runelite.api.Locatable;
+import net.runelite.api.Player;
+import net.runelite.api.coords.WorldArea;
+import net.runelite.api.coords.WorldPoint;
+import net.unethicalite.client.Static;
+
+import java.util.Collection;
+import java.util.function.Predicate;
+
+/**
+ * Integer distances between tiles and nearest lookups over small collections, such as the id
+ * and name buckets of the cache. Use a {@link SpatialGrid} to search everything that is loaded.
+ */
+public class Spatial
+{
+    /**
+     * Added to the distance of tiles on another plane, so they only win if nothing is on the same plane
+     */
+    private static final long OTHER_PLANE = 1L << 40;
+
+    /**
+     * Gets the squared distance between two tiles, comparable without taking a square root
+     */
+    public static long distance(int fromX, int fromY, int fromPlane, int x, int y, int plane)
+    {
+        long dx = x - fromX;
+        long dy = y - fromY;
+        long distance = dx * dx + dy * dy;
+        return plane == fromPlane ? distance : distance + OTHER_PLANE;
+    }
+
+    public static long distance(WorldPoint from, WorldPoint to)
+    {
+        return distance(from.getX(), from.getY(), from.getPlane(), to.getX(), to.getY(), to.getPlane());
+    }
+
+    /**
+     * Gets the distance in tiles the way the game counts it, diagonal steps count as one
+     *
+     * @return the distance, or {@link Integer#MAX_VALUE} if the tiles are on different planes
+     */
+    public static int chebyshev(WorldPoint from, WorldPoint to)
+    {
+        if(from.getPlane() != to.getPlane())
+            return Integer.MAX_VALUE;
+        return Math.max(Math.abs(to.getX() - from.getX()), Math.abs(to.getY() - from.getY()));
+    }
+
+    /**
+     * Gets the tile of the local player
+     *
+     * @return the tile, null while not logged in
+     */
+    public static WorldPoint origin()
+    {
+        Player player = Static.getClient().getLocalPlayer();
+        return player == null ? null : player.getWorldLocation();
+    }
+
+    /**
+     * Gets the area between two corner tiles, both corners included
+     */
+    public static WorldArea area(int x1, int y1, int x2, int y2, int plane)
+    {
+        return new WorldArea(Math.min(x1, x2), Math.min(y1, y2), Math.abs(x2 - x1) + 1, Math.abs(y2 - y1) + 1, plane);
+    }
+
+    public static <T extends Locatable> T nearest(Collection<T> entities, WorldPoint from, Predicate<? super T> filter)
+    {
+        return nearestWithin(entities, from, Integer.MAX_VALUE, filter);
+    }
+
+    /**
+     * Gets the nearest entity that passes a filter and is at most a number of tiles away
+     *
+     * @param entities the entities to look at
+     * @param from the tile to measure from
+     * @param radius the largest distance in tiles, see {@link #chebyshev}
+     * @param filter the filter
+     * @return the entity, or null if none matched
+     */
+    public static <T extends Locatable> T nearestWithin(Collection<T> entities, WorldPoint from, int radius, Predicate<? super T> filter)
+    {
+        if(from == null)
+            return null;
+        T nearest = null;
+        long best = Long.MAX_VALUE;
+        for (T entity : entities)
+        {
+            WorldPoint point = entity.getWorldLocation();
+            if(radius != Integer.MAX_VALUE && chebyshev(from, point) > radius)
+                continue;
+            long distance = distance(from, point);
+            if(distance < best && filter.test(entity))
+            {
+                best = distance;
+                nearest = entity;
+            }
+        }
+        return nearest;
+    }
+}
@@ -0,0 +1,185 @@
+package net.runelite.client.plugins.tscripts.sevices.cache;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.runelite.api.Locatable;
+import net.runelite.api.coords.WorldArea;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Buckets entities into cells of 8x8 tiles, so nearest, radius and area queries only look at
+ * the cells around the tiles they ask about. The locations are read once when the grid is built,
+ * a grid is built per snapshot and never changes afterwards.
+ *
+ * @param <T> the entity type
+ */
+public class SpatialGrid<T extends Locatable>
+{
+    private static final int CELL_SHIFT = 3;
+    private static final int CELL_SIZE = 1 << CELL_SHIFT;
+
+    private final Int2ObjectOpenHashMap<List<Entry<T>>> cells = new Int2ObjectOpenHashMap<>();
+    private int minCellX = Integer.MAX_VALUE, minCellY = Integer.MAX_VALUE;
+    private int maxCellX = Integer.MIN_VALUE, maxCellY = Integer.MIN_VALUE;
+
+    private static class Entry<T>
+    {
+        private final T entity;
+        private final int x, y, plane;
+
+        private Entry(T entity, WorldPoint point)
+        {
+            this.entity = entity;
+            this.x = point.getX();
+            this.y = point.getY();
+            this.plane = point.getPlane();
+        }
+    }
+
+    private static class Candidate<T>
+    {
+        private final T entity;
+        private final long distance;
+
+        private Candidate(T entity, long distance)
+        {
+            this.entity = entity;
+            this.distance = distance;
+        }
+    }
+
+    public static <T extends Locatable> SpatialGrid<T> of(Collection<T> entities)
+    {
+        SpatialGrid<T> grid = new SpatialGrid<>();
+        for (T entity : entities)
+        {
+            WorldPoint point = entity.getWorldLocation();
+            if(point == null)
+                continue;
+            int cellX = point.getX() >> CELL_SHIFT;
+            int cellY = point.getY() >> CELL_SHIFT;
+            grid.cells.computeIfAbsent(cell(cellX, cellY), k -> new ArrayList<>()).add(new Entry<>(entity, point));
+            grid.minCellX = Math.min(grid.minCellX, cellX);
+            grid.minCellY = Math.min(grid.minCellY, cellY);
+            grid.maxCellX = Math.max(grid.maxCellX, cellX);
+            grid.maxCellY = Math.max(grid.maxCellY, cellY);
+        }
+        return grid;
+    }
+
+    private static int cell(int cellX, int cellY)
+    {
+        return cellX << 16 | cellY;
+    }
+
+    public T nearest(WorldPoint from, Predicate<? super T> filter)
+    {
+        List<T> nearest = nearest(from, 1, filter);
+        return nearest.isEmpty() ? null : nearest.get(0);
+    }
+
+    /**
+     * Gets the nearest entities that pass a filter, searching the cells ring by ring outwards
+     * and stopping once no unvisited cell can hold anything closer
+     *
+     * @param from the tile to measure from
+     * @param count the most entities to return
+     * @param filter the filter
+     * @return the entities, nearest first
+     */
+    public List<T> nearest(WorldPoint from, int count, Predicate<? super T> filter)
+    {
+        List<T> result = new ArrayList<>();
+        if(from == null || count <= 0 || cells.isEmpty())
+            return result;
+        PriorityQueue<Candidate<T>> best = new PriorityQueue<>(Comparator.comparingLong((Candidate<T> c) -> c.distance).reversed());
+        int fromCellX = from.getX() >> CELL_SHIFT;
+        int fromCellY = from.getY() >> CELL_SHIFT;
+        int rings = Math.max(Math.max(Math.abs(fromCellX - minCellX), Math.abs(fromCellX - maxCellX)),
+                Math.max(Math.abs(fromCellY - minCellY), Math.abs(fromCellY - maxCellY)));
+        for (int ring = 0; ring <= rings; ring++)
+        {
+            if(best.size() == count)
+            {
+                //everything from this ring on is at least this many tiles away
+                long closest = Math.max(0, (long) (ring - 1) * CELL_SIZE + 1);
+                if(closest * closest > best.peek().distance)
+                    break;
+            }
+            for (int dx = -ring; dx <= ring; dx++)
+            {
+                int cellX = fromCellX + dx;
+                if(cellX < minCellX || cellX > maxCellX)
+                    continue;
+                boolean edge = dx == -ring || dx == ring;
+                for (int dy = -ring; dy <= ring; dy += edge ? 1 : Math.max(1, 2 * ring))
+                {
+                    collect(cells.get(cell(cellX, fromCellY + dy)), from, count, filter, best);
+                }
+            }
+        }
+        while (!best.isEmpty())
+        {
+            result.add(best.poll().entity);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private void collect(List<Entry<T>> cell, WorldPoint from, int count, Predicate<? super T> filter, PriorityQueue<Candidate<T>> best)
+    {
+        if(cell == null)
+            return;
+        for (Entry<T> entry : cell)
+        {
+            long distance = Spatial.distance(from.getX(), from.getY(), from.getPlane(), entry.x, entry.y, entry.plane);
+            if(best.size() == count && distance >= best.peek().distance)
+                continue;
+            if(!filter.test(entry.entity))
+                continue;
+            best.add(new Candidate<>(entry.entity, distance));
+            if(best.size() > count)
+                best.poll();
+        }
+    }
+
+    /**
+     * Gets the entities on the same plane at most a number of tiles away, see {@link Spatial#chebyshev}
+     */
+    public List<T> within(WorldPoint from, int radius, Predicate<? super T> filter)
+    {
+        return in(from.getX() - radius, from.getY() - radius, from.getX() + radius, from.getY() + radius, from.getPlane(), filter);
+    }
+
+    public List<T> in(WorldArea area, Predicate<? super T> filter)
+    {
+        return in(area.getX(), area.getY(), area.getX() + area.getWidth() - 1, area.getY() + area.getHeight() - 1, area.getPlane(), filter);
+    }
+
+    private List<T> in(int minX, int minY, int maxX, int maxY, int plane, Predicate<? super T> filter)
+    {
+        List<T> result = new ArrayList<>();
+        for (int cellX = Math.max(minX >> CELL_SHIFT, minCellX); cellX <= Math.min(maxX >> CELL_SHIFT, maxCellX); cellX++)
+        {
+            for (int cellY = Math.max(minY >> CELL_SHIFT, minCellY); cellY <= Math.min(maxY >> CELL_SHIFT, maxCellY); cellY++)
+            {
+                List<Entry<T>> cell = cells.get(cell(cellX, cellY));
+                if(cell == null)
+                    continue;
+                for (Entry<T> entry : cell)
+                {
+                    if(entry.plane == plane && entry.x >= minX && entry.x <= maxX && entry.y >= minY && entry.y <= maxY && filter.test(entry.entity))
+                        result.add(entry.entity);
+                }
+            }
+        }
+        return result;
+    }
+}
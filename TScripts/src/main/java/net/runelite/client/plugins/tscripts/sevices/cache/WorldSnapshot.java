@@ -0,0 +1,70 @@
+package net.runelite.client.plugins.tscripts.sevices.cache;
+
+import com.google.common.base.Suppliers;
+import lombok.AccessLevel;
+import lombok.Getter;
+import net.runelite.api.NPC;
+import net.runelite.api.Player;
+import net.runelite.api.TileItem;
+import net.runelite.api.TileObject;
+
+import java.util.function.Supplier;
+
+/**
+ * The cached entities as they were at a game tick. A snapshot never changes, script threads
+ * read it without locking while the client thread keeps updating the live indexes.
+ */
+@Getter
+public class WorldSnapshot
+{
+    public static final WorldSnapshot EMPTY = new WorldSnapshot(0, EntityIndex.View.empty(), EntityIndex.View.empty(), EntityIndex.View.empty(), EntityIndex.View.empty(), null);
+
+    /**
+     * The tick the snapshot was published at
+     */
+    private final int tick;
+    private final EntityIndex.View<TileObject> objects;
+    private final EntityIndex.View<NPC> npcs;
+    private final EntityIndex.View<Player> players;
+    private final EntityIndex.View<TileItem> groundItems;
+    @Getter(AccessLevel.NONE)
+    private final Supplier<SpatialGrid<TileObject>> objectGrid;
+    @Getter(AccessLevel.NONE)
+    private final Supplier<SpatialGrid<NPC>> npcGrid;
+    @Getter(AccessLevel.NONE)
+    private final Supplier<SpatialGrid<Player>> playerGrid;
+
+    /**
+     * @param previous the snapshot this one replaces, null for the first one
+     */
+    WorldSnapshot(int tick, EntityIndex.View<TileObject> objects, EntityIndex.View<NPC> npcs, EntityIndex.View<Player> players, EntityIndex.View<TileItem> groundItems, WorldSnapshot previous)
+    {
+        this.tick = tick;
+        this.objects = objects;
+        this.npcs = npcs;
+        this.players = players;
+        this.groundItems = groundItems;
+        //objects do not move, their grid is kept until objects spawn or despawn
+        this.objectGrid = previous != null && previous.objects == objects ? previous.objectGrid : Suppliers.memoize(() -> SpatialGrid.of(objects.all()));
+        this.npcGrid = Suppliers.memoize(() -> SpatialGrid.of(npcs.all()));
+        this.playerGrid = Suppliers.memoize(() -> SpatialGrid.of(players.all()));
+    }
+
+    /**
+     * The grids are built on first use, actors are placed where they stood at that moment
+     */
+    public SpatialGrid<TileObject> getObjectGrid()
+    {
+        return objectGrid.get();
+    }
+
+    public SpatialGrid<NPC> getNpcGrid()
+    {
+        return npcGrid.get();
+    }
+
+    public SpatialGrid<Player> getPlayerGrid()
+    {
+        return playerGrid.get();
+    }
+}
@@ -1,8 +1,7 @@
 package net.runelite.client.plugins.tscripts.sevices.cache.filters;
 
 import net.runelite.api.Actor;
-import net.runelite.client.plugins.tscripts.util.Location;
-import net.unethicalite.client.Static;
+import net.runelite.client.plugins.tscripts.sevices.cache.Spatial;
 
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -29,15 +28,13 @@ public class ActorFilter<T extends Actor> {
     public T nearest(int id)
     {
         actors.removeIf(o -> o.getId() != id);
-        actors.sort(Comparator.comparing(o -> Location.getDistance(Static.getClient().getLocalPlayer().getWorldLocation(), o.getWorldLocation())));
-        return actors.get(0);
+        return Spatial.nearest(actors, Spatial.origin(), o -> true);
     }
 
     public T nearest(String name)
     {
         actors.removeIf(o -> !o.getName().equals(name));
-        actors.sort(Comparator.comparing(o -> Location.getDistance(Static.getClient().getLocalPlayer().getWorldLocation(), o.getWorldLocation())));
-        return actors.get(0);
+        return Spatial.nearest(actors, Spatial.origin(), o -> true);
     }
 
     public ActorFilter<T> sorted(Comparator<T> comparator) {
@@ -2,58 +2,122 @@ package net.runelite.client.plugins.tscripts.sevices.eventbus;
 
 import net.runelite.client.plugins.tscripts.util.Logging;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Dispatches the internal events of the plugin. Subscribers are indexed by event class
+ * when they register, so posting is a single map probe followed by direct method handle
+ * calls. The listener arrays are copied on write, posting never locks.
+ */
 public class TEventBus
 {
-    private static final Map<Object,List<Method>> subscribers = new ConcurrentHashMap<>();
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, Object.class);
+    private static final Map<Class<?>, Listener[]> listeners = new ConcurrentHashMap<>();
+    private static final Map<Object, List<Listener>> subscribers = new ConcurrentHashMap<>();
 
-    public static void register(Object obj)
+    private static class Listener
     {
-        if (!subscribers.containsKey(obj))
-            subscribers.put(obj, new ArrayList<>());
+        private final Object subscriber;
+        private final MethodHandle invoker;
 
+        private Listener(Object subscriber, MethodHandle invoker)
+        {
+            this.subscriber = subscriber;
+            this.invoker = invoker;
+        }
+    }
+
+    public static synchronized void register(Object obj)
+    {
+        if (subscribers.containsKey(obj))
+            return;
+
+        List<Listener> registered = new ArrayList<>();
         for (Method method : obj.getClass().getMethods())
         {
-            if (!method.isAnnotationPresent(_Subscribe.class))
+            if (!method.isAnnotationPresent(_Subscribe.class) || method.getParameterCount() != 1)
                 continue;
 
-            method.setAccessible(true);
+            try
+            {
+                method.setAccessible(true);
+                MethodHandle invoker = MethodHandles.lookup().unreflect(method)
+                        .bindTo(obj)
+                        .asType(INVOKER_TYPE);
+                Listener listener = new Listener(obj, invoker);
+                Class<?> eventClass = method.getParameterTypes()[0];
+                Listener[] current = listeners.getOrDefault(eventClass, new Listener[0]);
+                Listener[] updated = Arrays.copyOf(current, current.length + 1);
+                updated[current.length] = listener;
+                listeners.put(eventClass, updated);
+                registered.add(listener);
+            }
+            catch (IllegalAccessException ex)
+            {
+                Logging.errorLog(ex);
+            }
+        }
+        subscribers.put(obj, registered);
+    }
+
+    public static synchronized void unregister(Object obj)
+    {
+        List<Listener> registered = subscribers.remove(obj);
+        if (registered == null || registered.isEmpty())
+            return;
 
-            if (!subscribers.get(obj).contains(method))
-                subscribers.get(obj).add(method);
+        for (Map.Entry<Class<?>, Listener[]> entry : listeners.entrySet())
+        {
+            Listener[] current = entry.getValue();
+            Listener[] updated = Arrays.stream(current)
+                    .filter(listener -> listener.subscriber != obj)
+                    .toArray(Listener[]::new);
+            if (updated.length == current.length)
+                continue;
+            if (updated.length == 0)
+                listeners.remove(entry.getKey());
+            else
+                listeners.put(entry.getKey(), updated);
         }
     }
 
-    public static void unregister(Object obj)
+    /**
+     * Checks if anything listens for an event, so callers can skip building events nobody receives
+     * @param eventClass the event class
+     * @return whether the event has listeners
+     */
+    public static boolean hasListeners(Class<?> eventClass)
     {
-        subscribers.remove(obj);
+        return listeners.containsKey(eventClass);
     }
 
     public static void post(Object event)
     {
-        for (Object key : subscribers.keySet())
+        Listener[] targets = listeners.get(event.getClass());
+        if (targets == null)
+            return;
+
+        for (Listener listener : targets)
         {
-            for(Method method : subscribers.get(key))
+            try
+            {
+                listener.invoker.invokeExact(event);
+            }
+            catch (Exception ex)
+            {
+                Logging.errorLog(ex);
+            }
+            catch (Throwable ex)
             {
-                if (method.getParameterTypes().length != 1)
-                    continue;
-
-                if (!method.getParameterTypes()[0].equals(event.getClass()))
-                    continue;
-
-                try
-                {
-                    method.invoke(key, event);
-                } catch (Exception ex)
-                {
-                    Logging.errorLog(ex);
-                }
+                Logging.errorLog(new RuntimeException(ex));
             }
         }
     }
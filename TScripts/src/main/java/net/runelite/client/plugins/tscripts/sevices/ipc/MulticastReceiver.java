@@ -31,6 +31,8 @@ public class MulticastReceiver implements Runnable {
             while (!Thread.currentThread().isInterrupted() && !shutdown) {
                 DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
                 socket.receive(packet);
+                if (!TEventBus.hasListeners(IPCPacket.class))
+                    continue;
                 IPCPacket ipcPacket = IPCPacket.accept(packet.getData());
                 TEventBus.post(ipcPacket);
             }
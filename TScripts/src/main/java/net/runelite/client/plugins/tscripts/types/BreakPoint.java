@@ -9,8 +9,10 @@ import org.fife.ui.rtextarea.GutterIconInfo;
 public class BreakPoint
 {
     private final int line;
-    private final int offset;
-    private final String method;
+    /**
+     * The condition the breakpoint trips on, null to always trip
+     */
+    private final String condition;
     private final GutterIconInfo icon;
     private final Object tag;
 }
@@ -87,4 +87,68 @@ public interface GroupDefinition
     {
         methods.add(new MethodDefinition(name, Type.VOID, parameters, function, description, true));
     }
+
+    /**
+     * Add a paced method with a return type to the group.
+     *
+     * @param methods the list of methods
+     * @param name the name of the method
+     * @param returnType the return type of the method
+     * @param parameters the parameters of the method
+     * @param function the function to call
+     * @param description the description of the method
+     * @param requiresLoggedIn whether the method requires the user to be logged in
+     * @param pacing how long the script waits after the call
+     */
+    default void addMethod(List<MethodDefinition> methods, String name, Type returnType, ImmutableMap<Integer, Pair<String, Type>> parameters, Function<MethodCall, Object> function, String description, boolean requiresLoggedIn, Pacing pacing)
+    {
+        methods.add(new MethodDefinition(name, returnType, parameters, function, description, requiresLoggedIn, pacing));
+    }
+
+    /**
+     * Add a paced method without a return type to the group.
+     *
+     * @param methods the list of methods
+     * @param name the name of the method
+     * @param parameters the parameters of the method
+     * @param function the function to call
+     * @param description the description of the method
+     * @param requiresLoggedIn whether the method requires the user to be logged in
+     * @param pacing how long the script waits after the call
+     */
+    default void addMethod(List<MethodDefinition> methods, String name, ImmutableMap<Integer, Pair<String, Type>> parameters, Consumer<MethodCall> function, String description, boolean requiresLoggedIn, Pacing pacing)
+    {
+        methods.add(new MethodDefinition(name, Type.VOID, parameters, function, description, requiresLoggedIn, pacing));
+    }
+
+    /**
+     * Add a paced method with a return type to the group.
+     *
+     * @param methods the list of methods
+     * @param name the name of the method
+     * @param returnType the return type of the method
+     * @param parameters the parameters of the method
+     * @param function the function to call
+     * @param description the description of the method
+     * @param pacing how long the script waits after the call
+     */
+    default void addMethod(List<MethodDefinition> methods, String name, Type returnType, ImmutableMap<Integer, Pair<String, Type>> parameters, Function<MethodCall, Object> function, String description, Pacing pacing)
+    {
+        methods.add(new MethodDefinition(name, returnType, parameters, function, description, true, pacing));
+    }
+
+    /**
+     * Add a paced method without a return type to the group.
+     *
+     * @param methods the list of methods
+     * @param name the name of the method
+     * @param parameters the parameters of the method
+     * @param function the function to call
+     * @param description the description of the method
+     * @param pacing how long the script waits after the call
+     */
+    default void addMethod(List<MethodDefinition> methods, String name, ImmutableMap<Integer, Pair<String, Type>> parameters, Consumer<MethodCall> function, String description, Pacing pacing)
+    {
+        methods.add(new MethodDefinition(name, Type.VOID, parameters, function, description, true, pacing));
+    }
 }
@@ -19,6 +19,7 @@ public class MethodDefinition
     private final Function<MethodCall,Object> function;
     private final String description;
     private final boolean requiresLoggedIn;
+    private final Pacing pacing;
 
     /**
      * Creates a new method definition.
@@ -30,6 +31,21 @@ public class MethodDefinition
      * @param description the description of the method
      */
     public MethodDefinition(String name, Type returnType, ImmutableMap<Integer, Pair<String,Type>> parameters, Function<MethodCall,Object> function, String description, boolean requiresLoggedIn)
+    {
+        this(name, returnType, parameters, function, description, requiresLoggedIn, Pacing.NONE);
+    }
+
+    /**
+     * Creates a new method definition.
+     *
+     * @param name the name of the method
+     * @param returnType the return type of the method
+     * @param parameters the parameters of the method
+     * @param function the function that is called when the method is invoked
+     * @param description the description of the method
+     * @param pacing how long the script waits after the call
+     */
+    public MethodDefinition(String name, Type returnType, ImmutableMap<Integer, Pair<String,Type>> parameters, Function<MethodCall,Object> function, String description, boolean requiresLoggedIn, Pacing pacing)
     {
         this.name = name;
         this.parameters = parameters;
@@ -37,6 +53,7 @@ public class MethodDefinition
         this.function = function;
         this.description = description;
         this.requiresLoggedIn = requiresLoggedIn;
+        this.pacing = pacing;
     }
 
     /**
@@ -50,15 +67,25 @@ public class MethodDefinition
      */
     public MethodDefinition(String name, Type returnType, ImmutableMap<Integer, Pair<String,Type>> parameters, Consumer<MethodCall> function, String description, boolean requiresLoggedIn)
     {
-        this.name = name;
-        this.parameters = parameters;
-        this.returnType = returnType;
-        this.function = func ->
+        this(name, returnType, parameters, function, description, requiresLoggedIn, Pacing.NONE);
+    }
+
+    /**
+     * Creates a new method definition.
+     *
+     * @param name the name of the method
+     * @param returnType the return type of the method
+     * @param parameters the parameters of the method
+     * @param function the function that is called when the method is invoked
+     * @param description the description of the method
+     * @param pacing how long the script waits after the call
+     */
+    public MethodDefinition(String name, Type returnType, ImmutableMap<Integer, Pair<String,Type>> parameters, Consumer<MethodCall> function, String description, boolean requiresLoggedIn, Pacing pacing)
+    {
+        this(name, returnType, parameters, (Function<MethodCall,Object>) func ->
         {
             function.accept(func);
             return null;
-        };
-        this.description = description;
-        this.requiresLoggedIn = requiresLoggedIn;
+        }, description, requiresLoggedIn, pacing);
     }
 }
\ No newline at end of file
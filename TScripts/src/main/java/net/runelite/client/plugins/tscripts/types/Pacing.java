@@ -0,0 +1,24 @@
+package net.runelite.client.plugins.tscripts.types;
+
+/**
+ * How long a script waits after calling a method before it continues.
+ */
+public enum Pacing
+{
+    /**
+     * Continue right away, for reads and pure helpers
+     */
+    NONE,
+    /**
+     * Sleep a fixed 20 ms after the call
+     */
+    FIXED,
+    /**
+     * Allow at most one call per client tick
+     */
+    CLIENT_TICK,
+    /**
+     * Wait for the next client tick, so the packets the call queued are flushed before the script continues
+     */
+    FLUSH
+}
@@ -5,6 +5,10 @@ import lombok.Getter;
 import net.runelite.client.plugins.tscripts.api.library.TGame;
 import net.unethicalite.client.Static;
 
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @AllArgsConstructor
 public enum ShopID {
     BOBS_BRILLIANT_AXES(1),
@@ -222,6 +226,13 @@ public enum ShopID {
 
     public static final int SHOP_ID = 19660816;
 
+    private static final Set<Integer> CONTAINER_IDS = Arrays.stream(values()).map(ShopID::getItemContainerId).collect(Collectors.toSet());
+
+    public static boolean isShop(int itemContainerId)
+    {
+        return CONTAINER_IDS.contains(itemContainerId);
+    }
+
     public static ShopID getCurrent()
     {
         return TGame.invoke(() -> {
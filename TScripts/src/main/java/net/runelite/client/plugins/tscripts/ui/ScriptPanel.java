@@ -5,7 +5,7 @@ import lombok.SneakyThrows;
 import net.runelite.client.config.Keybind;
 import net.runelite.client.plugins.tscripts.TScriptsConfig;
 import net.runelite.client.plugins.tscripts.TScriptsPlugin;
-import net.runelite.client.plugins.tscripts.adapter.Adapter;
+import net.runelite.client.plugins.tscripts.sevices.cache.ScriptCache;
 import net.runelite.client.plugins.tscripts.api.MethodManager;
 import net.runelite.client.plugins.tscripts.runtime.Runtime;
 import net.runelite.client.plugins.tscripts.ui.editor.ScriptEditor;
@@ -25,7 +25,6 @@ import java.awt.event.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Paths;
 import net.runelite.client.util.HotkeyListener;
 import net.runelite.client.util.ImageUtil;
@@ -538,8 +537,7 @@ public class ScriptPanel extends JPanel
             if(!runtime.isDone())
                 return;
             String path = profile + getScriptName() + ".script";
-            String code = Files.readString(Paths.get(path));
-            Scope scope = Adapter.parse(code);
+            Scope scope = ScriptCache.get().getScope(Paths.get(path));
             runtime.execute(scope, getScriptName(), plugin.getProfile());
         } catch (Exception ex) {
             Logging.errorLog(ex);
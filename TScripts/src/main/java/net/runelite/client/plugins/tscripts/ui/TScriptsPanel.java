@@ -4,8 +4,8 @@ import lombok.SneakyThrows;
 import static net.runelite.client.plugins.tscripts.TScriptsPlugin.*;
 import net.runelite.client.plugins.tscripts.TScriptsConfig;
 import net.runelite.client.plugins.tscripts.TScriptsPlugin;
-import net.runelite.client.plugins.tscripts.adapter.Adapter;
-import net.runelite.client.plugins.tscripts.adapter.models.Scope.Scope;
+import net.runelite.client.plugins.tscripts.sevices.cache.ScriptCache;
+import net.runelite.client.plugins.tscripts.runtime.EventRunnerPool;
 import net.runelite.client.plugins.tscripts.runtime.Runtime;
 import net.runelite.client.plugins.tscripts.sevices.ScriptEventService;
 import net.runelite.client.plugins.tscripts.sevices.eventbus.TEventBus;
@@ -38,8 +38,14 @@ public class TScriptsPanel extends PluginPanel
 {
     private ImageIcon ADD_ICON;
     private ImageIcon ADD_HOVER_ICON;
+    private static final int IPC_RUNTIMES = 4;
     @Getter
     private final List<ScriptPanel> scriptPanels = new ArrayList<>();
+    /**
+     * Runs received IPC packets side by side on a few pooled runtimes
+     */
+    private final EventRunnerPool ipcRunners = new EventRunnerPool(IPC_RUNTIMES, TScriptsPanel::ipcRuntime, (runtime, packet) ->
+            runtime.execute(ScriptCache.get().getScope(((IPCPacket) packet).getData()), "TS_EVENT", "TS_EVENT"));
     private TScriptsConfig config;
     private TScriptsPlugin plugin;
     public JCheckBox logActions = new JCheckBox("Menu Actions");
@@ -421,9 +427,13 @@ public class TScriptsPanel extends PluginPanel
     @_Subscribe
     public void onIpcPacket(IPCPacket event)
     {
-        Scope scope = Adapter.parse(event.getData());
-        Runtime runtime = new Runtime();
+        ipcRunners.accept(event);
+    }
+
+    private static Runtime ipcRuntime()
+    {
+        Runtime runtime = Runtime.detached();
         runtime.setChild(true);
-        runtime.execute(scope, "TS_EVENT", "TS_EVENT");
+        return runtime;
     }
 }
@@ -1,8 +1,8 @@
 package net.runelite.client.plugins.tscripts.ui.editor;
 
 import lombok.Getter;
+import lombok.Setter;
 import lombok.SneakyThrows;
-import net.runelite.client.plugins.tscripts.api.MethodManager;
 import net.runelite.client.plugins.tscripts.types.BreakPoint;
 import net.runelite.client.plugins.tscripts.util.Logging;
 import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
@@ -26,13 +26,22 @@ import java.io.IOException;
 import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class ExRSyntaxTextArea extends RSyntaxTextArea
 {
     @Getter
     private final Map<Integer, BreakPoint> breakpoints = new HashMap<>();
+    private final List<GutterIconInfo> heatMap = new ArrayList<>();
+    private Object executionLine;
+    /**
+     * Called whenever breakpoints are added or removed
+     */
+    @Setter
+    private Runnable breakpointListener;
     private DocumentListener scriptListener;
 
     public ExRSyntaxTextArea(int rows, int cols) {
@@ -72,70 +81,73 @@ public class ExRSyntaxTextArea extends RSyntaxTextArea
         JPopupMenu popupMenu = getPopupMenu();
         popupMenu.addSeparator();
         popupMenu.add(getToggleBreakpointItem());
+        popupMenu.add(getConditionalBreakpointItem());
     }
 
     private JMenuItem getToggleBreakpointItem() {
         JMenuItem toggleBreakpointItem = new JMenuItem("Toggle Breakpoint");
         toggleBreakpointItem.addActionListener((ActionEvent e) -> {
-            int line = getCaretLineNumber();
-            int offset = getWordStartPosAtCaret();
-            String word = getWordAtCaret();
-            boolean isMethod = MethodManager.getInstance().getMethods().containsKey(word.toLowerCase());
-            if(!isMethod)
-                return;
             try {
-                toggleBreakpoint(line, offset, word);
+                toggleBreakpoint(getCaretLineNumber(), null);
             } catch (BadLocationException ex) {
                 Logging.errorLog(ex);
             }
-            repaint();
         });
         return toggleBreakpointItem;
     }
 
-    private String getWordAtCaret() {
-        try {
-            int caretPosition = getCaretPosition();
-            String text = getText();
-
-            // Find the start of the word
-            int wordStart = caretPosition;
-            while(wordStart > 0 && Character.isLetter(text.charAt(wordStart - 1))) {
-                wordStart--;
-            }
-
-            // Find the end of the word
-            int wordEnd = caretPosition;
-            while (wordEnd < text.length() && Character.isLetter(text.charAt(wordEnd))) {
-                wordEnd++;
+    private JMenuItem getConditionalBreakpointItem() {
+        JMenuItem conditionalBreakpointItem = new JMenuItem("Conditional Breakpoint...");
+        conditionalBreakpointItem.addActionListener((ActionEvent e) -> {
+            int line = getCaretLineNumber();
+            BreakPoint existing = breakpoints.get(line);
+            String condition = (String) JOptionPane.showInputDialog(this, "Trip when", "Conditional Breakpoint",
+                    JOptionPane.PLAIN_MESSAGE, null, null, existing != null ? existing.getCondition() : "");
+            if (condition == null)
+                return;
+            try {
+                if (existing != null)
+                    toggleBreakpoint(line, null);
+                toggleBreakpoint(line, condition.isBlank() ? null : condition);
+            } catch (BadLocationException ex) {
+                Logging.errorLog(ex);
             }
+        });
+        return conditionalBreakpointItem;
+    }
 
-            // Extract and return the word
-            return text.substring(wordStart, wordEnd);
-        } catch (Exception ex) {
-            Logging.errorLog(ex);
-            return "";
+    /**
+     * Gets the breakpoints for the debugger
+     * @return the conditions of the breakpoints by line, lines start at 1
+     */
+    public Map<Integer, String> getBreakpointLines() {
+        Map<Integer, String> lines = new HashMap<>();
+        for (BreakPoint breakPoint : breakpoints.values()) {
+            lines.put(breakPoint.getLine() + 1, breakPoint.getCondition());
         }
+        return lines;
     }
 
-    private int getWordStartPosAtCaret() {
+    /**
+     * Highlights the line a suspended script stopped at
+     * @param line the line, starting at 1, or 0 to remove the highlight
+     */
+    public void showExecutionLine(int line) {
+        if (executionLine != null) {
+            removeLineHighlight(executionLine);
+            executionLine = null;
+        }
+        if (line <= 0 || line > getLineCount())
+            return;
         try {
-            int caretPosition = getCaretPosition();
-            String text = getText();
-
-            // Find the start of the word
-            int wordStart = caretPosition;
-            while(wordStart > 0 && Character.isLetter(text.charAt(wordStart - 1))) {
-                wordStart--;
-            }
-            return wordStart;
-        } catch (Exception ex) {
+            executionLine = addLineHighlight(line - 1, new Color(60, 90, 60));
+            setCaretPosition(getLineStartOffset(line - 1));
+        } catch (BadLocationException ex) {
             Logging.errorLog(ex);
-            return 0;
         }
     }
 
-    private void toggleBreakpoint(int line, int offset, String word) throws BadLocationException {
+    private void toggleBreakpoint(int line, String condition) throws BadLocationException {
         Gutter gutter = ((RTextScrollPane) getParent().getParent()).getGutter();
 
         if (breakpoints.containsKey(line)) {
@@ -143,12 +155,55 @@ public class ExRSyntaxTextArea extends RSyntaxTextArea
             removeLineHighlight(breakpoints.get(line).getTag());
             breakpoints.remove(line);
         } else {
-            GutterIconInfo iconInfo = gutter.addLineTrackingIcon(line, new CircleIcon(Color.RED));
+            Color color = condition == null ? Color.RED : Color.ORANGE;
+            GutterIconInfo iconInfo = gutter.addLineTrackingIcon(line, new CircleIcon(color), condition);
             Object tag = addLineHighlight(line, Color.DARK_GRAY);
-            BreakPoint breakPoint = new BreakPoint(line, offset, word, iconInfo, tag);
+            BreakPoint breakPoint = new BreakPoint(line, condition, iconInfo, tag);
             breakpoints.put(line, breakPoint);
         }
         repaint();
+        if (breakpointListener != null)
+            breakpointListener.run();
+    }
+
+    /**
+     * Marks the lines of a profile in the gutter, hotter lines get redder icons
+     * @param selfNanos the self time of every line, lines start at 1
+     */
+    public void showHeatMap(Map<Integer, Long> selfNanos) {
+        clearHeatMap();
+        if (selfNanos.isEmpty())
+            return;
+        long max = 1;
+        for (long nanos : selfNanos.values()) {
+            max = Math.max(max, nanos);
+        }
+        Gutter gutter = ((RTextScrollPane) getParent().getParent()).getGutter();
+        for (Map.Entry<Integer, Long> entry : selfNanos.entrySet()) {
+            int line = entry.getKey() - 1;
+            if (line < 0 || line >= getLineCount())
+                continue;
+            float heat = (float) entry.getValue() / max;
+            Color color = new Color(255, (int) (220 * (1 - heat)), 0);
+            String tip = String.format("%.3f ms self time", entry.getValue() / 1_000_000.0);
+            try {
+                heatMap.add(gutter.addLineTrackingIcon(line, new CircleIcon(color), tip));
+            } catch (BadLocationException ex) {
+                Logging.errorLog(ex);
+            }
+        }
+        repaint();
+    }
+
+    public void clearHeatMap() {
+        if (heatMap.isEmpty())
+            return;
+        Gutter gutter = ((RTextScrollPane) getParent().getParent()).getGutter();
+        for (GutterIconInfo info : heatMap) {
+            gutter.removeTrackingIcon(info);
+        }
+        heatMap.clear();
+        repaint();
     }
 
     public void setScript(String path) throws IOException
@@ -176,6 +231,7 @@ public class ExRSyntaxTextArea extends RSyntaxTextArea
         };
         getDocument().addDocumentListener(scriptListener);
         clearBreakpoints();
+        clearHeatMap();
     }
 
     private void clearBreakpoints()
@@ -189,6 +245,8 @@ public class ExRSyntaxTextArea extends RSyntaxTextArea
         }
         breakpoints.clear();
         repaint();
+        if (breakpointListener != null)
+            breakpointListener.run();
     }
 
     private void setTheme()
@@ -2,14 +2,13 @@ package net.runelite.client.plugins.tscripts.ui.editor;
 
 import lombok.SneakyThrows;
 import net.runelite.client.plugins.tscripts.TScriptsPlugin;
-import net.runelite.client.plugins.tscripts.adapter.Adapter;
+import net.runelite.client.plugins.tscripts.sevices.cache.ScriptCache;
 import net.runelite.client.plugins.tscripts.sevices.eventbus.TEventBus;
 import net.runelite.client.plugins.tscripts.sevices.eventbus._Subscribe;
 import net.runelite.client.plugins.tscripts.sevices.eventbus.events.BreakpointTripped;
-import net.runelite.client.plugins.tscripts.sevices.eventbus.events.BreakpointUnTripped;
 import net.runelite.client.plugins.tscripts.sevices.eventbus.events.ScriptStateChanged;
 import net.runelite.client.plugins.tscripts.adapter.models.Scope.Scope;
-import net.runelite.client.plugins.tscripts.types.BreakPoint;
+import net.runelite.client.plugins.tscripts.runtime.Debugger;
 import net.runelite.client.plugins.tscripts.ui.ScriptPanel;
 import net.runelite.client.plugins.tscripts.ui.TScriptsPanel;
 import net.runelite.client.plugins.tscripts.ui.editor.debug.DebugToolPanel;
@@ -35,6 +34,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
 
@@ -48,7 +48,11 @@ public class ScriptEditor extends JFrame implements ActionListener {
     private final JScrollPane consoleScrollPane;
     private final JSplitPane verticalSplitPane;
     private final JButton run;
-    private final JButton breakpoint;
+    private final JButton pause;
+    private final JButton resume;
+    private final JButton stepOver;
+    private final JButton stepInto;
+    private final JButton stepOut;
     private final JLabel running = new JLabel();
     private final TScriptsPlugin plugin;
     private final TScriptsPanel sidePanel;
@@ -127,11 +131,17 @@ public class ScriptEditor extends JFrame implements ActionListener {
             running.setIcon(running_icon);
             this.run.setText("Stop Script [" + currentScriptPanel.getRuntime().getScriptName() + "]");
         }
-        this.breakpoint = generateButton("Untrip Breakpoint");
-        this.breakpoint.setForeground(Color.RED);
-        this.breakpoint.setVisible(false);
+        this.pause = generateButton("Pause");
+        this.pause.setVisible(!currentScriptPanel.getRuntime().isDone());
+        this.resume = generateButton("Resume");
+        this.resume.setForeground(Color.RED);
+        this.stepOver = generateButton("Step Over");
+        this.stepInto = generateButton("Step Into");
+        this.stepOut = generateButton("Step Out");
+        showStepping(false);
+        textArea.setBreakpointListener(this::syncBreakpoints);
         generateMenu();
-        debugToolPanel = new DebugToolPanel(currentScriptPanel.getRuntime(), Paths.get(path), name);
+        debugToolPanel = new DebugToolPanel(currentScriptPanel.getRuntime(), Paths.get(path), name, textArea);
         debugToolPanel.setPreferredSize(new Dimension(600, getHeight()));
         splitPane = generateSplitPane();
         consoleArea = generateConsole();
@@ -175,7 +185,10 @@ public class ScriptEditor extends JFrame implements ActionListener {
         setTitle("[" + profile + "] " + name);
         String path = plugin.getScriptPath(name, profile);
         Path scriptPath = Paths.get(path);
+        //the breakpoints belong to the script that is being left
+        getDebugger().setBreakpoints(new HashMap<>());
         currentScriptPanel = getScriptPanel(name);
+        showStepping(getDebugger().isSuspended());
         toggleButtonState(!currentScriptPanel.getRuntime().isDone());
         debugToolPanel.update(currentScriptPanel, scriptPath, name);
         textArea.setScript(path);
@@ -218,9 +231,24 @@ public class ScriptEditor extends JFrame implements ActionListener {
             case "Dev Tools":
                 toggleDebugPanel();
                 return;
-            case "Untrip Breakpoint":
-                TEventBus.post(BreakpointUnTripped.get());
-                breakpoint.setVisible(false);
+            case "Pause":
+                getDebugger().pause();
+                return;
+            case "Resume":
+                showStepping(false);
+                getDebugger().resume();
+                return;
+            case "Step Over":
+                showStepping(false);
+                getDebugger().stepOver();
+                return;
+            case "Step Into":
+                showStepping(false);
+                getDebugger().stepInto();
+                return;
+            case "Step Out":
+                showStepping(false);
+                getDebugger().stepOut();
                 return;
         }
 
@@ -237,23 +265,39 @@ public class ScriptEditor extends JFrame implements ActionListener {
                 return;
             Path path = Paths.get(plugin.getScriptPath(name, profile));
             String code = Files.readString(path);
-            int offset = 0;
-            for(BreakPoint breakPoint : textArea.getBreakpoints().values()) {
-                code = insertTextAtOffset(code, "breakpoint();", breakPoint.getOffset() + offset);
-                offset += 13;
-            }
+            syncBreakpoints();
 
-            Scope scope = Adapter.parse(code);
+            Scope scope = ScriptCache.get().getScope(code);
             currentScriptPanel.getRuntime().execute(scope, name, profile);
         } catch (Exception ex) {
             Logging.errorLog(ex);
         }
     }
 
-    public String insertTextAtOffset(String original, String textToInsert, int offset) {
-        String beforeOffset = original.substring(0, offset);
-        String afterOffset = original.substring(offset);
-        return beforeOffset + textToInsert + afterOffset;
+    private Debugger getDebugger()
+    {
+        return currentScriptPanel.getRuntime().getDebugger();
+    }
+
+    /**
+     * Hands the breakpoints of the editor to the debugger of the current script
+     */
+    private void syncBreakpoints()
+    {
+        getDebugger().setBreakpoints(textArea.getBreakpointLines());
+    }
+
+    /**
+     * Shows the stepping controls while the script is suspended
+     * @param suspended whether the script is suspended
+     */
+    private void showStepping(boolean suspended)
+    {
+        resume.setVisible(suspended);
+        stepOver.setVisible(suspended);
+        stepInto.setVisible(suspended);
+        stepOut.setVisible(suspended);
+        textArea.showExecutionLine(suspended ? getDebugger().getSuspendedLine() : 0);
     }
 
     public void stop()
@@ -283,13 +327,15 @@ public class ScriptEditor extends JFrame implements ActionListener {
         {
             running.setIcon(null);
             this.run.setText("Run Script");
+            showStepping(false);
         }
+        pause.setVisible(isRunning);
     }
 
     @_Subscribe
     public void onBreakpointTripped(BreakpointTripped event)
     {
-        breakpoint.setVisible(true);
+        SwingUtilities.invokeLater(() -> showStepping(getDebugger().isSuspended()));
     }
 
     //*********** COMPONENT GENERATION ***********//
@@ -341,7 +387,11 @@ public class ScriptEditor extends JFrame implements ActionListener {
         //menu
         menu.add(this.run);
         menu.add(this.running);
-        menu.add(this.breakpoint);
+        menu.add(this.pause);
+        menu.add(this.resume);
+        menu.add(this.stepOver);
+        menu.add(this.stepInto);
+        menu.add(this.stepOut);
         menu.add(Box.createHorizontalGlue());
         menu.add(toggleConsoleItem);
         menu.add(devTools);
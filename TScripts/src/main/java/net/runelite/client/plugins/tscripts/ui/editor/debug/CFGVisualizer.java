@@ -9,10 +9,8 @@ import com.mxgraph.view.mxCellState;
 import com.mxgraph.view.mxGraph;
 import com.mxgraph.view.mxStylesheet;
 import net.runelite.client.plugins.tscripts.adapter.models.variable.ArrayAccess;
-import net.runelite.client.plugins.tscripts.util.HashUtil;
 import net.runelite.client.plugins.tscripts.sevices.eventbus.TEventBus;
 import net.runelite.client.plugins.tscripts.sevices.eventbus._Subscribe;
-import net.runelite.client.plugins.tscripts.sevices.eventbus.events.CurrentInstructionChanged;
 import net.runelite.client.plugins.tscripts.sevices.eventbus.events.ScriptStateChanged;
 import net.runelite.client.plugins.tscripts.adapter.models.method.MethodCall;
 import net.runelite.client.plugins.tscripts.adapter.models.Scope.Scope;
@@ -24,22 +22,30 @@ import net.runelite.client.plugins.tscripts.adapter.models.ElementType;
 import net.runelite.client.plugins.tscripts.adapter.models.variable.AssignmentType;
 import net.runelite.client.plugins.tscripts.adapter.models.variable.VariableAssignment;
 import net.runelite.client.plugins.tscripts.runtime.Runtime;
+import net.runelite.client.plugins.tscripts.runtime.Telemetry;
 import net.runelite.client.plugins.tscripts.util.TextUtil;
 import net.runelite.client.plugins.tscripts.util.controlflow.*;
 import net.runelite.client.plugins.tscripts.util.iterators.AlphabetIterator;
 import net.runelite.client.plugins.tscripts.util.iterators.NumericIterator;
 import javax.swing.*;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 /**
- * Visualizes the control flow graph of a given Script
+ * Visualizes the control flow graph of a given Script.
+ *
+ * The graph and its layout are built once per script, with one node per scope object.
+ * While the script runs only the labels and styles of nodes whose highlighting changed
+ * are updated.
  */
 public class CFGVisualizer extends JPanel {
     private mxGraph graph;
+    private mxGraphComponent graphComponent;
     private Object parent;
-    private final Map<String, Object> nodesMap = new HashMap<>();
-    private final Map<String,String> edgeLabels = new HashMap<>();
+    private Scope builtScope;
+    private final Map<Scope, Object> nodesMap = new IdentityHashMap<>();
+    private final Map<Scope, String> edgeLabels = new IdentityHashMap<>();
     private final AlphabetIterator alphabetIterator = new AlphabetIterator("");
     private final NumericIterator numericIterator = new NumericIterator();
     private final ScopeStack scopeStack = new ScopeStack();
@@ -49,7 +55,6 @@ public class CFGVisualizer extends JPanel {
     private Runtime runtime;
     private boolean isCurrent = false;
     private double scale = 1.0;
-    private long lastUpdateTime = 0;
 
     public static CFGVisualizer create(Runtime runtime, Scope scope, String name) {
         CFGVisualizer panel = new CFGVisualizer(runtime, scope, name);
@@ -71,18 +76,15 @@ public class CFGVisualizer extends JPanel {
         });
     }
 
-    @_Subscribe
-    public void onRuntimeCycleCompleted(CurrentInstructionChanged event) {
-        if (!isVisible() || runtime.isDone() || !runtime.getScriptName().equals(scriptName)) {
+    /**
+     * Moves the highlight when the runtime moved to another instruction
+     * @param telemetry the latest telemetry snapshot of the runtime
+     */
+    public void onTelemetry(Telemetry telemetry) {
+        if (!telemetry.isInstructionChanged() || !isVisible() || runtime.isDone() || !runtime.getScriptName().equals(scriptName)) {
             return;
         }
-
-        long currentTime = System.currentTimeMillis();
-        if (currentTime - lastUpdateTime >= 50)
-        {
-            updateGraph(runtime.getRootScope());
-            lastUpdateTime = currentTime;
-        }
+        updateGraph(runtime.getRootScope());
     }
     @_Subscribe
     public void onScriptStateChanged(ScriptStateChanged event) {
@@ -106,16 +108,12 @@ public class CFGVisualizer extends JPanel {
         this.graph.setAllowDanglingEdges(true);
         setStyles();
         this.parent = graph.getDefaultParent();
+        this.builtScope = scope;
         graph.getModel().beginUpdate();
         try {
-            scopeStack.clean();
-            linkBacks.clear();
-            nodeCounter = 0;
             edgeLabels.clear();
             nodesMap.clear();
-            alphabetIterator.reset();
-            numericIterator.reset();
-            processNode(scope, null);
+            render(scope, true);
         } finally {
             graph.getModel().endUpdate();
             applyTreeLayout();
@@ -130,7 +128,7 @@ public class CFGVisualizer extends JPanel {
 
         removeAll();
         graph.setEventsEnabled(false);
-        mxGraphComponent  graphComponent = new mxGraphComponent(graph);
+        graphComponent = new mxGraphComponent(graph);
         graphComponent.addMouseWheelListener(e -> {
             if (e.getPreciseWheelRotation() < 0) {
                 zoomIn();
@@ -139,18 +137,76 @@ public class CFGVisualizer extends JPanel {
             }
         });
         add(graphComponent);
-        edgeLabels.clear();
-        nodesMap.clear();
     }
 
+    /**
+     * Shows a script. The graph is only rebuilt when the script changed,
+     * otherwise the highlighting is brought up to date.
+     * @param scope the root scope of the script
+     */
     public void updateGraph(Scope scope) {
         SwingUtilities.invokeLater(() -> {
-            init(scope);
-            revalidate();
-            repaint();
+            if (scope != builtScope) {
+                init(scope);
+                revalidate();
+                repaint();
+                return;
+            }
+            graph.getModel().beginUpdate();
+            try {
+                render(scope, false);
+            } finally {
+                graph.getModel().endUpdate();
+            }
+            graphComponent.refresh();
         });
     }
 
+    /**
+     * Walks the script and labels every node
+     * @param scope the root scope
+     * @param build whether to insert the nodes, or only update the labels of the existing ones
+     */
+    private void render(Scope scope, boolean build) {
+        scopeStack.clean();
+        linkBacks.clear();
+        nodeCounter = 0;
+        alphabetIterator.reset();
+        numericIterator.reset();
+        processNode(scope, null, build);
+    }
+
+    /**
+     * Highlights the statements on a source line, used to replay a trace while the script is not running
+     * @param scope the root scope of the script
+     * @param line the line, starting at 1
+     */
+    public void replay(Scope scope, int line)
+    {
+        if (scope == null || !runtime.isDone())
+            return;
+        markLine(scope.getElements(), line);
+        updateGraph(scope);
+    }
+
+    private void markLine(Map<Integer, Element> elements, int line)
+    {
+        if (elements == null)
+            return;
+        for (Element element : elements.values()) {
+            boolean match = element.getLine() == line;
+            if (!(element instanceof Scope)) {
+                element.setCurrent(match);
+                continue;
+            }
+            Scope scope = (Scope) element;
+            if (scope.getConditions() != null)
+                scope.getConditions().setCurrent(match);
+            markLine(scope.getElements(), line);
+            markLine(scope.getElseElements(), line);
+        }
+    }
+
     public void changeScript(Runtime runtime, String name)
     {
         this.scriptName = name;
@@ -190,29 +246,36 @@ public class CFGVisualizer extends JPanel {
     /**
      * Processes a node in the AST
      * @param scope The node to process
-     * @param parentId The ID of the parent node
+     * @param parentNode The graph node of the parent scope
+     * @param build Whether to insert the node, or only update the label of the existing one
      */
-    private void processNode(Scope scope, String parentId) {
-        String edgeLabel = "";
+    private void processNode(Scope scope, Object parentNode, boolean build) {
         int stackNumber = numericIterator.getNextNumber();
         String label = "<html>" + colorize("//Block-" + stackNumber, Colors.NOTATION) + "\n" + createLabelFromScope(scope) + "</html>";
-        String nodeHash = HashUtil.getSha256Hash(scope.toJson());
-        if(edgeLabels.containsKey(nodeHash))
-        {
-            edgeLabel = edgeLabels.get(nodeHash);
-        }
+        String edgeLabel = edgeLabels.getOrDefault(scope, "");
         String color = Colors.BACKGROUND;
         if(isCurrent)
         {
             color = Colors.BACKGROUND_CURRENT;
             label = label.replace(Colors.BACKGROUND, Colors.BACKGROUND_CURRENT);
         }
-        Object graphNode = graph.insertVertex(parent, null, label, 0, 0, 80, 30,"fillColor=" + color + ";fontSize=12;");
-        graph.updateCellSize(graphNode); // Resize node to fit content
-        nodesMap.put(label, graphNode);
-
-        if (parentId != null) {
-            graph.insertEdge(parent, null, edgeLabel, nodesMap.get(parentId), graphNode, "fontSize=12;");
+        String style = "fillColor=" + color + ";fontSize=12;";
+        Object graphNode;
+        if (build) {
+            graphNode = graph.insertVertex(parent, null, label, 0, 0, 80, 30, style);
+            graph.updateCellSize(graphNode); // Resize node to fit content
+            nodesMap.put(scope, graphNode);
+
+            if (parentNode != null) {
+                graph.insertEdge(parent, null, edgeLabel, parentNode, graphNode, "fontSize=12;");
+            }
+        } else {
+            graphNode = nodesMap.get(scope);
+            //only the highlighting changes between updates, so the cached size and layout stay valid
+            if (graphNode != null && !label.equals(graph.getModel().getValue(graphNode))) {
+                graph.getModel().setValue(graphNode, label);
+                graph.getModel().setStyle(graphNode, style);
+            }
         }
 
         if(!linkBacks.isEmpty())
@@ -226,7 +289,7 @@ public class CFGVisualizer extends JPanel {
         for (Element element : scope.getElements().values()) {
             if(!element.getType().equals(ElementType.SCOPE))
                 continue;
-            processNode((Scope) element, label);
+            processNode((Scope) element, graphNode, build);
         }
 
         scopeStack.pop();
@@ -355,7 +418,7 @@ public class CFGVisualizer extends JPanel {
             {
                 String newScopeLabel = alphabetIterator.getNextLetter();
                 label.append("\n").append(tab).append(colorize("[scope] ", Colors.FUNCTIONS)).append(colorize("//flows to edge " + newScopeLabel, Colors.NOTATION));
-                edgeLabels.put(HashUtil.getSha256Hash(((Scope)element).toJson()), "<html>" + colorize(newScopeLabel, Colors.EDGE_LABEL_COLOR) + "</html>");
+                edgeLabels.put((Scope) element, "<html>" + colorize(newScopeLabel, Colors.EDGE_LABEL_COLOR) + "</html>");
                 continue;
             }
             label.append("\n").append(tab).append(createLabelFromNode(element));
@@ -363,6 +426,14 @@ public class CFGVisualizer extends JPanel {
 
         label.append(close);
 
+        if(scope.getOptimizations() != null)
+        {
+            for(String optimization : scope.getOptimizations())
+            {
+                label.append("\n").append(colorize("//optimizer: " + optimization, Colors.NOTATION));
+            }
+        }
+
         if(scope.getElseElements() != null)
         {
             label.append(colorize("\nelse", Colors.KEYWORDS)).append(colorize(" {", Colors.OPERATORS));
@@ -372,7 +443,7 @@ public class CFGVisualizer extends JPanel {
                 {
                     String newScopeLabel = alphabetIterator.getNextLetter();
                     label.append("\n").append(tab).append(colorize("[scope] ", Colors.FUNCTIONS)).append(colorize("//flows to edge " + newScopeLabel, Colors.NOTATION));
-                    edgeLabels.put(HashUtil.getSha256Hash(((Scope)element).toJson()), "<html>" + colorize(newScopeLabel, Colors.EDGE_LABEL_COLOR) + "</html>");
+                    edgeLabels.put((Scope) element, "<html>" + colorize(newScopeLabel, Colors.EDGE_LABEL_COLOR) + "</html>");
                     continue;
                 }
                 label.append("\n").append(tab).append(createLabelFromNode(element));
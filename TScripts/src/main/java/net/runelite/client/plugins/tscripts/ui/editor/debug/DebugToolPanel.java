@@ -1,28 +1,51 @@
 package net.runelite.client.plugins.tscripts.ui.editor.debug;
 
 import net.runelite.client.plugins.tscripts.adapter.models.Scope.Scope;
-import net.runelite.client.plugins.tscripts.adapter.Adapter;
+import net.runelite.client.plugins.tscripts.sevices.cache.ScriptCache;
+import net.runelite.client.plugins.tscripts.runtime.Profiler;
 import net.runelite.client.plugins.tscripts.runtime.Runtime;
+import net.runelite.client.plugins.tscripts.runtime.Telemetry;
 import net.runelite.client.plugins.tscripts.ui.ScriptPanel;
+import net.runelite.client.plugins.tscripts.ui.editor.ExRSyntaxTextArea;
 import net.runelite.client.plugins.tscripts.util.Logging;
 import javax.swing.*;
 import java.awt.*;
-import java.nio.file.Files;
+import java.awt.event.HierarchyEvent;
 import java.nio.file.Path;
 import java.util.HashMap;
 
 public class DebugToolPanel extends JPanel {
 
+    /**
+     * How often the debug tools poll the runtime for telemetry, 10 times a second
+     */
+    private static final int POLL_INTERVAL = 100;
+    /**
+     * How many polls pass between profile refreshes, profiles change slowly and are costly to redraw
+     */
+    private static final int PROFILE_POLLS = 5;
     private final JPanel mainView;
     private final CardLayout cardLayout;
     private Path scriptPath;
     private final CFGVisualizer controlFlowGraphVisualizer;
-    private final JList<String> toolingList = new JList<>(new String[]{"Control-Flow", "Variables", "Runtime", "Documentation"});
+    private final VariableInspector variableInspector;
+    private final RuntimeInspector runtimeInspector;
+    private final ProfilerPanel profilerPanel;
+    private final TracePanel tracePanel;
+    private final ExRSyntaxTextArea textArea;
+    private int profilePolls = 0;
+    private boolean heatMapShown = false;
+    private final Timer pollTimer = new Timer(POLL_INTERVAL, e -> poll());
+    private Runtime runtime;
+    private long lastSequence = -1;
+    private final JList<String> toolingList = new JList<>(new String[]{"Control-Flow", "Variables", "Runtime", "Profiler", "Trace", "Documentation"});
 
-    public DebugToolPanel(Runtime runtime, Path scriptPath, String name) {
+    public DebugToolPanel(Runtime runtime, Path scriptPath, String name, ExRSyntaxTextArea textArea) {
         setSize(800, 600);
         setLayout(new BorderLayout());
         this.scriptPath = scriptPath;
+        this.runtime = runtime;
+        this.textArea = textArea;
 
         // Create the button panel
         JPanel buttonPanel = new JPanel();
@@ -42,18 +65,27 @@ public class DebugToolPanel extends JPanel {
         controlFlowGraphScrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
         mainView.add(controlFlowGraphScrollPane, "ControlFlowGraph");
 
-        VariableInspector variableInspector = VariableInspector.getInstance(runtime);
+        variableInspector = VariableInspector.getInstance(runtime);
         JScrollPane variableInspectorScrollPane = new JScrollPane(variableInspector);
         variableInspectorScrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
         variableInspectorScrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
         mainView.add(variableInspectorScrollPane, "VariableInspector");
 
-        RuntimeInspector runtimeInspector = RuntimeInspector.getInstance();
+        runtimeInspector = RuntimeInspector.getInstance();
         JScrollPane runtimeInspectorScrollPane = new JScrollPane(runtimeInspector);
         runtimeInspectorScrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
         runtimeInspectorScrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
         mainView.add(runtimeInspectorScrollPane, "RuntimeInspector");
 
+        profilerPanel = ProfilerPanel.getInstance(runtime);
+        mainView.add(profilerPanel, "ProfilerPanel");
+
+        tracePanel = new TracePanel(runtime, line -> {
+            controlFlowGraphVisualizer.replay(getScope(), line);
+            textArea.showExecutionLine(line);
+        });
+        mainView.add(tracePanel, "TracePanel");
+
         DocumentationPanel documentationPanel = DocumentationPanel.getInstance();
         JScrollPane documentationScrollPane = new JScrollPane(documentationPanel);
         documentationScrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
@@ -73,6 +105,12 @@ public class DebugToolPanel extends JPanel {
                 case "Runtime":
                     cardLayout.show(mainView, "RuntimeInspector");
                     break;
+                case "Profiler":
+                    cardLayout.show(mainView, "ProfilerPanel");
+                    break;
+                case "Trace":
+                    cardLayout.show(mainView, "TracePanel");
+                    break;
                 case "Documentation":
                     cardLayout.show(mainView, "DocumentationPanel");
                     break;
@@ -80,11 +118,67 @@ public class DebugToolPanel extends JPanel {
         });
 
         buttonPanel.add(toolingList, BorderLayout.CENTER);
+
+        //only poll while the debugger is on screen, headless runs never take a snapshot
+        addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) == 0)
+                return;
+            if (isShowing())
+                pollTimer.start();
+            else
+                pollTimer.stop();
+        });
+    }
+
+    /**
+     * Pulls the latest telemetry snapshot of the runtime and hands it to the tools
+     */
+    private void poll()
+    {
+        pollProfile();
+        Telemetry telemetry = runtime.pollTelemetry();
+        if (telemetry == null || telemetry.getSequence() == lastSequence)
+            return;
+        lastSequence = telemetry.getSequence();
+        runtimeInspector.update(telemetry.getFlags());
+        if (telemetry.isVariablesChanged())
+            variableInspector.update(telemetry.getVariables());
+        controlFlowGraphVisualizer.onTelemetry(telemetry);
+    }
+
+    /**
+     * Refreshes the profiler table and the editor heat-map while the runtime is profiled
+     */
+    private void pollProfile()
+    {
+        Profiler profiler = runtime.getProfiler();
+        if (profiler == null)
+        {
+            if (heatMapShown)
+            {
+                textArea.clearHeatMap();
+                heatMapShown = false;
+            }
+            return;
+        }
+        if (++profilePolls % PROFILE_POLLS != 0)
+            return;
+        Profiler.Report report = profiler.report();
+        if (profilerPanel.isShowing())
+            profilerPanel.update(report);
+        textArea.showHeatMap(report.getSelfNanosByLine());
+        heatMapShown = true;
     }
 
     public void update(ScriptPanel panel, Path scriptPath, String name)
     {
         this.scriptPath = scriptPath;
+        this.runtime = panel.getRuntime();
+        this.lastSequence = -1;
+        runtime.resetTelemetry();
+        variableInspector.setRuntime(runtime);
+        profilerPanel.setRuntime(runtime);
+        tracePanel.setRuntime(runtime);
         controlFlowGraphVisualizer.changeScript(panel.getRuntime(), name);
         controlFlowGraphVisualizer.updateGraph(getScope());
     }
@@ -93,7 +187,7 @@ public class DebugToolPanel extends JPanel {
     {
         try
         {
-            return Adapter.parse(Files.readString(scriptPath));
+            return ScriptCache.get().getScope(scriptPath);
         }
         catch (Exception ex)
         {
@@ -0,0 +1,129 @@
+package net.runelite.client.plugins.tscripts.ui.editor.debug;
+
+import net.runelite.client.plugins.tscripts.adapter.models.Element;
+import net.runelite.client.plugins.tscripts.adapter.models.Scope.Scope;
+import net.runelite.client.plugins.tscripts.adapter.models.method.MethodCall;
+import net.runelite.client.plugins.tscripts.runtime.Profiler;
+import net.runelite.client.plugins.tscripts.runtime.Runtime;
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Vector;
+
+/**
+ * Shows the statement and method profiles of a runtime, hottest first.
+ */
+public class ProfilerPanel extends JPanel {
+    private static ProfilerPanel instance;
+    private final DefaultTableModel statementModel;
+    private final DefaultTableModel methodModel;
+    private final JToggleButton profileButton = new JToggleButton("Profile");
+    private Runtime runtime;
+
+    public static ProfilerPanel getInstance(Runtime runtime) {
+        if (instance == null)
+            instance = new ProfilerPanel(runtime);
+        return instance;
+    }
+
+    private ProfilerPanel(Runtime runtime) {
+        super(new BorderLayout());
+        this.runtime = runtime;
+
+        statementModel = createModel("Line", "Statement", "Count", "Total ms", "Self ms", "Overhead ms");
+        methodModel = createModel("Method", "Calls", "Total ms", "Mean ms", "p50 ms", "p99 ms", "Max ms");
+
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        profileButton.addActionListener(e -> this.runtime.setProfiling(profileButton.isSelected()));
+        JButton resetButton = new JButton("Reset");
+        resetButton.addActionListener(e -> {
+            Profiler profiler = this.runtime.getProfiler();
+            if (profiler != null)
+                profiler.reset();
+            statementModel.setRowCount(0);
+            methodModel.setRowCount(0);
+        });
+        buttons.add(profileButton);
+        buttons.add(resetButton);
+        add(buttons, BorderLayout.NORTH);
+
+        JSplitPane tables = new JSplitPane(JSplitPane.VERTICAL_SPLIT, createTable(statementModel), createTable(methodModel));
+        tables.setResizeWeight(0.6);
+        add(tables, BorderLayout.CENTER);
+    }
+
+    private static DefaultTableModel createModel(Object... columns) {
+        return new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+    }
+
+    private static JScrollPane createTable(DefaultTableModel model) {
+        JTable table = new JTable(model);
+        table.setFillsViewportHeight(true);
+        return new JScrollPane(table);
+    }
+
+    /**
+     * Points the panel at another runtime
+     * @param runtime the runtime
+     */
+    public void setRuntime(Runtime runtime) {
+        this.runtime = runtime;
+        profileButton.setSelected(runtime.getProfiler() != null);
+        statementModel.setRowCount(0);
+        methodModel.setRowCount(0);
+    }
+
+    /**
+     * Shows a profiler report, must be called on the EDT
+     * @param report the report
+     */
+    public void update(Profiler.Report report) {
+        statementModel.setRowCount(0);
+        List<Profiler.StatementProfile> statements = report.getStatements();
+        statements.sort(Comparator.comparingLong(Profiler.StatementProfile::getSelfNanos).reversed());
+        for (Profiler.StatementProfile statement : statements) {
+            Vector<Object> row = new Vector<>();
+            row.add(statement.getLine());
+            row.add(describe(statement.getElement()));
+            row.add(statement.getCount());
+            row.add(millis(statement.getTotalNanos()));
+            row.add(millis(statement.getSelfNanos()));
+            row.add(millis(statement.getOverheadNanos()));
+            statementModel.addRow(row);
+        }
+
+        methodModel.setRowCount(0);
+        List<Profiler.MethodProfile> methods = report.getMethods();
+        methods.sort(Comparator.comparingLong(Profiler.MethodProfile::getTotalNanos).reversed());
+        for (Profiler.MethodProfile method : methods) {
+            Vector<Object> row = new Vector<>();
+            row.add(method.getName());
+            row.add(method.getCalls());
+            row.add(millis(method.getTotalNanos()));
+            row.add(millis(method.getMeanNanos()));
+            row.add(millis(method.getPercentileNanos(0.5)));
+            row.add(millis(method.getPercentileNanos(0.99)));
+            row.add(millis(method.getMaxNanos()));
+            methodModel.addRow(row);
+        }
+    }
+
+    private static String describe(Element element) {
+        if (element instanceof MethodCall)
+            return ((MethodCall) element).getName() + "()";
+        if (element instanceof Scope && ((Scope) element).getConditions() != null && ((Scope) element).getConditions().getType() != null)
+            return ((Scope) element).getConditions().getType().name().toLowerCase();
+        return element.getType().name().toLowerCase();
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f", nanos / 1_000_000.0);
+    }
+}
@@ -1,8 +1,5 @@
 package net.runelite.client.plugins.tscripts.ui.editor.debug;
 
-import net.runelite.client.plugins.tscripts.sevices.eventbus.TEventBus;
-import net.runelite.client.plugins.tscripts.sevices.eventbus._Subscribe;
-import net.runelite.client.plugins.tscripts.sevices.eventbus.events.FlagChanged;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
@@ -32,22 +29,22 @@ public class RuntimeInspector extends JPanel
 
         JScrollPane scrollPane = new JScrollPane(variableTable);
         add(scrollPane, BorderLayout.CENTER);
-        TEventBus.register(this);
     }
 
-    @_Subscribe
-    public void onRuntimeTelemetry(FlagChanged event) {
-        SwingUtilities.invokeLater(() -> {
-            // Clear the existing table rows
-            tableModel.setRowCount(0);
+    /**
+     * Shows the flags of a telemetry snapshot, must be called on the EDT
+     * @param flags the flags
+     */
+    public void update(Map<String, Object> flags) {
+        // Clear the existing table rows
+        tableModel.setRowCount(0);
 
-            // Add new rows for each variable
-            for (Map.Entry<String, Object> entry : event.getFlags().entrySet()) {
-                Vector<Object> row = new Vector<>();
-                row.add(entry.getKey());
-                row.add(entry.getValue());
-                tableModel.addRow(row);
-            }
-        });
+        // Add new rows for each variable
+        for (Map.Entry<String, Object> entry : flags.entrySet()) {
+            Vector<Object> row = new Vector<>();
+            row.add(entry.getKey());
+            row.add(entry.getValue());
+            tableModel.addRow(row);
+        }
     }
 }
@@ -0,0 +1,139 @@
+package net.runelite.client.plugins.tscripts.ui.editor.debug;
+
+import net.runelite.client.plugins.tscripts.runtime.Runtime;
+import net.runelite.client.plugins.tscripts.runtime.Trace;
+import net.runelite.client.plugins.tscripts.runtime.TraceRecorder;
+import net.runelite.client.plugins.tscripts.util.Logging;
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.function.IntConsumer;
+
+import static net.runelite.client.plugins.tscripts.TScriptsPlugin.HOME_DIR;
+
+/**
+ * Records, dumps and replays execution traces. Selecting a record highlights its
+ * statement in the control flow graph and the editor.
+ */
+public class TracePanel extends JPanel {
+    private final JToggleButton recordButton = new JToggleButton("Record");
+    private final JLabel status = new JLabel();
+    private final TraceTableModel tableModel = new TraceTableModel();
+    private final JTable table = new JTable(tableModel);
+    private final IntConsumer replay;
+    private Runtime runtime;
+
+    /**
+     * @param runtime the runtime to record
+     * @param replay called with the source line of the selected record
+     */
+    public TracePanel(Runtime runtime, IntConsumer replay) {
+        super(new BorderLayout());
+        this.runtime = runtime;
+        this.replay = replay;
+
+        recordButton.addActionListener(e -> this.runtime.setTracing(recordButton.isSelected()));
+        JButton dumpButton = new JButton("Dump");
+        dumpButton.addActionListener(e -> dump());
+        JButton openButton = new JButton("Open...");
+        openButton.addActionListener(e -> open());
+
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        buttons.add(recordButton);
+        buttons.add(dumpButton);
+        buttons.add(openButton);
+        buttons.add(status);
+        add(buttons, BorderLayout.NORTH);
+
+        table.setFillsViewportHeight(true);
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.getSelectionModel().addListSelectionListener(e -> {
+            if (e.getValueIsAdjusting() || table.getSelectedRow() < 0)
+                return;
+            Trace trace = tableModel.trace;
+            int line = trace.getLine(trace.get(table.getSelectedRow()));
+            if (line > 0)
+                this.replay.accept(line);
+        });
+        add(new JScrollPane(table), BorderLayout.CENTER);
+    }
+
+    public void setRuntime(Runtime runtime) {
+        this.runtime = runtime;
+        recordButton.setSelected(runtime.getTracer() != null);
+    }
+
+    private void dump() {
+        TraceRecorder tracer = runtime.getTracer();
+        if (tracer == null) {
+            status.setText("Not recording");
+            return;
+        }
+        Path file = tracer.dump(runtime.getScriptName());
+        if (file != null)
+            load(file);
+    }
+
+    private void open() {
+        JFileChooser chooser = new JFileChooser(new File(HOME_DIR, "traces"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION)
+            return;
+        load(chooser.getSelectedFile().toPath());
+    }
+
+    private void load(Path file) {
+        try {
+            Trace trace = Trace.read(file);
+            tableModel.setTrace(trace);
+            status.setText(trace.getScriptName() + ": " + trace.size() + " records, " + trace.getDropped() + " dropped (" + file.getFileName() + ")");
+        } catch (Exception ex) {
+            Logging.errorLog(ex);
+        }
+    }
+
+    private static class TraceTableModel extends AbstractTableModel {
+        private static final String[] COLUMNS = {"#", "Tick", "Line", "Event", "Summary"};
+        private Trace trace;
+
+        private void setTrace(Trace trace) {
+            this.trace = trace;
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return trace == null ? 0 : trace.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            Trace.Record record = trace.get(rowIndex);
+            switch (columnIndex) {
+                case 0:
+                    return trace.getDropped() + rowIndex;
+                case 1:
+                    return record.getTick();
+                case 2:
+                    int line = trace.getLine(record);
+                    return line > 0 ? line : "";
+                case 3:
+                    return trace.describe(record);
+                case 4:
+                    return record.getKind() == TraceRecorder.STATEMENT ? "" : record.getSummary();
+            }
+            return null;
+        }
+    }
+}
@@ -1,18 +1,12 @@
 package net.runelite.client.plugins.tscripts.ui.editor.debug;
 
 import net.runelite.client.plugins.tscripts.runtime.Variable;
-import net.runelite.client.plugins.tscripts.sevices.eventbus.TEventBus;
-import net.runelite.client.plugins.tscripts.sevices.eventbus._Subscribe;
-import net.runelite.client.plugins.tscripts.sevices.eventbus.events.VariableUpdated;
-import net.runelite.client.plugins.tscripts.sevices.eventbus.events.VariablesCleaned;
-import net.runelite.client.plugins.tscripts.sevices.eventbus.events.VariablesCleared;
 import net.runelite.client.plugins.tscripts.runtime.Runtime;
 import javax.swing.*;
 import javax.swing.table.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.*;
 import java.util.List;
 
 /**
@@ -21,10 +15,9 @@ import java.util.List;
 public class VariableInspector extends JPanel {
     private static VariableInspector instance;
     private final JTable variableTable;
-    private final DefaultTableModel tableModel;
+    private final VariableTableModel tableModel;
     private int selectedRow = -1;
-    private final List<Integer> frozenRows = new ArrayList<>();
-    private final Map<String, Variable> variableMap;
+    private Runtime runtime;
 
     public static VariableInspector getInstance(Runtime runtime) {
         if (instance == null)
@@ -34,12 +27,7 @@ public class VariableInspector extends JPanel {
 
     private VariableInspector(Runtime runtime) {
         // Set up the table model
-        tableModel = new DefaultTableModel(new Object[]{"Variable", "Value", "Hash"}, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        tableModel = new VariableTableModel();
         variableTable = new JTable(tableModel);
         variableTable.setFillsViewportHeight(true);
 
@@ -53,7 +41,7 @@ public class VariableInspector extends JPanel {
                                                            boolean isSelected, boolean hasFocus,
                                                            int row, int column) {
                 Component c = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
-                if (frozenRows.contains(row)) {
+                if (tableModel.isFrozen(row)) {
                     c.setBackground(Color.cyan);
                     c.setForeground(Color.black);
                 } else {
@@ -72,9 +60,10 @@ public class VariableInspector extends JPanel {
         JPopupMenu popupMenu = new JPopupMenu();
         JMenuItem freezeItem = new JMenuItem("Toggle Freeze");
         freezeItem.addActionListener(e -> {
-            String variableName = (String) tableModel.getValueAt(selectedRow, 0);
-            String hash = (String) tableModel.getValueAt(selectedRow, 2);
-            runtime.getVariableMap().toggleFreeze(variableName, hash);
+            if (selectedRow < 0 || selectedRow >= tableModel.getRowCount())
+                return;
+            Variable variable = tableModel.getVariable(selectedRow);
+            this.runtime.getVariableMap().toggleFreeze(variable.getName(), variable.getScopeHash());
         });
         popupMenu.add(freezeItem);
         variableTable.setComponentPopupMenu(popupMenu);
@@ -92,62 +81,25 @@ public class VariableInspector extends JPanel {
             }
         });
 
-        this.variableMap = runtime.getVariableMap().getVariableMap();
-        updateVariables();
-        TEventBus.register(this);
-    }
-
-    public void updateVariables() {
-        SwingUtilities.invokeLater(() -> {
-            // Clear the existing table rows
-            tableModel.setRowCount(0);
-            frozenRows.clear();
-
-            // Add new rows for each variable
-            for (Map.Entry<String, Variable> entry : variableMap.entrySet()) {
-                Vector<Object> row = new Vector<>();
-                if (entry.getValue().isFrozen())
-                    frozenRows.add(tableModel.getRowCount());
-                if(entry.getValue().getScopeHash() == null || entry.getValue().getScopeHash().isBlank())
-                    continue;
-                row.add(entry.getValue().getName());
-                row.add(entry.getValue().getValue());
-                row.add(entry.getValue().getScopeHash());
-                tableModel.addRow(row);
-            }
-        });
-    }
-
-    @_Subscribe
-    public void onVariableUpdate(VariableUpdated event)
-    {
-        variableMap.put(event.getName(), new Variable(event.getName(), event.getValue(), ""));
-        updateVariables();
+        this.runtime = runtime;
     }
 
-    @_Subscribe
-    public void onVariablesCleared(VariablesCleared event)
-    {
-        variableMap.clear();
-        updateVariables();
+    /**
+     * Points the inspector at another runtime, its variables show up with the next telemetry snapshot
+     * @param runtime the runtime
+     */
+    public void setRuntime(Runtime runtime) {
+        if (this.runtime != runtime)
+            tableModel.clear();
+        this.runtime = runtime;
     }
 
-    @_Subscribe
-    public void onVariablesCleaned(VariablesCleaned event)
-    {
-        List<String> keysToRemove = new ArrayList<>();
-        String scope = event.getScopeHash();
-        for (var variable : variableMap.entrySet())
-        {
-            if (variable.getValue().getScopeHash().equals(scope))
-            {
-                keysToRemove.add(variable.getKey());
-            }
-        }
-        for (String key : keysToRemove)
-        {
-            variableMap.remove(key);
-        }
-        updateVariables();
+    /**
+     * Shows the variables of a telemetry snapshot. Snapshots are coalesced by the
+     * table model, only the rows that changed are repainted.
+     * @param variables the variables
+     */
+    public void update(List<Variable> variables) {
+        tableModel.submit(variables);
     }
 }
\ No newline at end of file
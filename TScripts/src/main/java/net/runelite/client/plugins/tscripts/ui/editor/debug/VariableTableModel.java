@@ -0,0 +1,177 @@
+package net.runelite.client.plugins.tscripts.ui.editor.debug;
+
+import net.runelite.client.plugins.tscripts.runtime.Variable;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Table model of the variable inspector. Snapshots can be submitted from any thread,
+ * they are coalesced and applied at most once per {@link #COALESCE_DELAY} on the EDT.
+ * Applying a snapshot diffs it against the shown rows, so a running script only
+ * repaints the rows whose value changed.
+ */
+public class VariableTableModel extends AbstractTableModel {
+    /**
+     * How long snapshots are collected before the table is updated, in milliseconds
+     */
+    private static final int COALESCE_DELAY = 50;
+    private static final String[] COLUMNS = {"Variable", "Value", "Hash"};
+
+    private final List<Row> rows = new ArrayList<>();
+    private final Timer flushTimer = new Timer(COALESCE_DELAY, e -> flush());
+    private List<Variable> pending;
+
+    private static class Row {
+        private final String name;
+        private final String hash;
+        private final Variable variable;
+        private final String display;
+
+        private Row(Variable variable) {
+            this.name = variable.getName();
+            this.hash = variable.getScopeHash();
+            this.variable = variable;
+            //values are live references, compare what the table shows
+            this.display = String.valueOf(variable.getValue());
+        }
+
+        private boolean sameVariable(Row other) {
+            return name.equals(other.name) && hash.equals(other.hash);
+        }
+
+        private boolean sameContent(Row other) {
+            return display.equals(other.display) && variable.isFrozen() == other.variable.isFrozen();
+        }
+    }
+
+    public VariableTableModel() {
+        flushTimer.setRepeats(false);
+    }
+
+    /**
+     * Queues a snapshot of the variables, replacing any snapshot that was not shown yet
+     * @param variables the variables
+     */
+    public void submit(List<Variable> variables) {
+        synchronized (this) {
+            pending = variables;
+        }
+        SwingUtilities.invokeLater(() -> {
+            if (!flushTimer.isRunning())
+                flushTimer.start();
+        });
+    }
+
+    /**
+     * Drops every row, used when the inspector switches to another runtime
+     */
+    public void clear() {
+        synchronized (this) {
+            pending = null;
+        }
+        int size = rows.size();
+        if (size == 0)
+            return;
+        rows.clear();
+        fireTableRowsDeleted(0, size - 1);
+    }
+
+    private void flush() {
+        List<Variable> variables;
+        synchronized (this) {
+            variables = pending;
+            pending = null;
+        }
+        if (variables == null)
+            return;
+
+        List<Row> updated = new ArrayList<>(variables.size());
+        for (Variable variable : variables) {
+            if (variable.getScopeHash() == null || variable.getScopeHash().isBlank())
+                continue;
+            updated.add(new Row(variable));
+        }
+        apply(updated);
+    }
+
+    private void apply(List<Row> updated) {
+        int common = Math.min(rows.size(), updated.size());
+        for (int i = 0; i < common; i++) {
+            if (!rows.get(i).sameVariable(updated.get(i))) {
+                //a frame was pushed or popped in the middle, the rows moved
+                rows.clear();
+                rows.addAll(updated);
+                fireTableDataChanged();
+                return;
+            }
+        }
+
+        int first = -1;
+        for (int i = 0; i < common; i++) {
+            boolean changed = !rows.get(i).sameContent(updated.get(i));
+            rows.set(i, updated.get(i));
+            if (changed && first == -1) {
+                first = i;
+            } else if (!changed && first != -1) {
+                fireTableRowsUpdated(first, i - 1);
+                first = -1;
+            }
+        }
+        if (first != -1)
+            fireTableRowsUpdated(first, common - 1);
+
+        if (updated.size() > common) {
+            rows.addAll(updated.subList(common, updated.size()));
+            fireTableRowsInserted(common, updated.size() - 1);
+        } else if (rows.size() > common) {
+            int size = rows.size();
+            rows.subList(common, size).clear();
+            fireTableRowsDeleted(common, size - 1);
+        }
+    }
+
+    public Variable getVariable(int row) {
+        return rows.get(row).variable;
+    }
+
+    public boolean isFrozen(int row) {
+        return row < rows.size() && rows.get(row).variable.isFrozen();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        Row row = rows.get(rowIndex);
+        switch (columnIndex) {
+            case 0:
+                return row.name;
+            case 1:
+                return row.display;
+            case 2:
+                return row.hash;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+}
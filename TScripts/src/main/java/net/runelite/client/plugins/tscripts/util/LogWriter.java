@@ -0,0 +1,275 @@
+package net.runelite.client.plugins.tscripts.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.runelite.client.plugins.tscripts.TScriptsPlugin.HOME_DIR;
+
+/**
+ * Writes the error log from a single background thread. Callers only hand over an entry,
+ * repeats of the same error from the same script statement are counted instead of written
+ * until the error has been quiet for a while, and at most {@link #MAX_PER_SECOND} new
+ * errors are accepted per second. Whatever does not fit is counted and reported.
+ *
+ * The log goes through a buffered channel and is rotated once it grows past {@link #MAX_FILE_SIZE}.
+ */
+public class LogWriter
+{
+    public static LogWriter get()
+    {
+        return instance;
+    }
+    //created eagerly, errors can arrive from several threads at once
+    private static final LogWriter instance = new LogWriter();
+
+    private static final String FILE_NAME = "ErrorLogs.txt";
+    private static final int QUEUE_SIZE = 1024;
+    private static final int MAX_PER_SECOND = 20;
+    private static final long REPEAT_WINDOW = 10_000;
+    private static final long MAX_FILE_SIZE = 5 * 1024 * 1024;
+    private static final int BACKUPS = 3;
+    private static final int MAX_FRAMES = 12;
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    private final BlockingQueue<String> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+    private final Map<String, Repeat> repeats = new ConcurrentHashMap<>();
+    private final AtomicInteger suppressed = new AtomicInteger();
+    private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private final Object rateLock = new Object();
+    private long rateSecond = 0;
+    private int rateCount = 0;
+    private FileChannel channel;
+    private Path path;
+
+    private static class Repeat
+    {
+        private final String category;
+        private final AtomicInteger count = new AtomicInteger();
+        private volatile long lastSeen;
+
+        private Repeat(String category, long now)
+        {
+            this.category = category;
+            this.lastSeen = now;
+        }
+    }
+
+    private LogWriter()
+    {
+        Thread thread = new Thread(this::run, "TScripts-LogWriter");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Logs an error
+     *
+     * @param ex the error
+     * @param script the script it happened in, null outside of scripts
+     * @param line the source line of the statement it happened in, 0 if unknown
+     * @return whether the error was logged, false if it was counted as a repeat or dropped
+     */
+    public boolean error(Exception ex, String script, int line)
+    {
+        String category = (script == null ? "plugin" : script + ":" + line);
+        String key = category + "|" + ex.getClass().getName() + "|" + ex.getMessage();
+        long now = System.currentTimeMillis();
+
+        Repeat repeat = repeats.get(key);
+        if(repeat != null)
+        {
+            repeat.count.incrementAndGet();
+            repeat.lastSeen = now;
+            return false;
+        }
+        if(!acquire(now))
+        {
+            suppressed.incrementAndGet();
+            return false;
+        }
+        repeat = repeats.putIfAbsent(key, new Repeat(category, now));
+        if(repeat != null)
+        {
+            repeat.count.incrementAndGet();
+            return false;
+        }
+        if(!queue.offer(format(ex, category)))
+        {
+            suppressed.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private boolean acquire(long now)
+    {
+        synchronized (rateLock)
+        {
+            long second = now / 1000;
+            if(second != rateSecond)
+            {
+                rateSecond = second;
+                rateCount = 0;
+            }
+            return ++rateCount <= MAX_PER_SECOND;
+        }
+    }
+
+    private static String format(Exception ex, String category)
+    {
+        StringBuilder out = new StringBuilder();
+        out.append('[').append(TIME.format(LocalDateTime.now())).append("] [").append(category).append("] ").append(ex).append('\n');
+        StackTraceElement[] frames = ex.getStackTrace();
+        for (int i = 0; i < Math.min(frames.length, MAX_FRAMES); i++)
+        {
+            out.append("\tat ").append(frames[i]).append('\n');
+        }
+        if(frames.length > MAX_FRAMES)
+            out.append("\t... ").append(frames.length - MAX_FRAMES).append(" more\n");
+        return out.toString();
+    }
+
+    private void run()
+    {
+        while (true)
+        {
+            try
+            {
+                String entry = queue.poll(1, TimeUnit.SECONDS);
+                while (entry != null)
+                {
+                    write(entry);
+                    entry = queue.poll();
+                }
+                reportRepeats(System.currentTimeMillis());
+                int dropped = suppressed.getAndSet(0);
+                if(dropped > 0)
+                    write("[" + TIME.format(LocalDateTime.now()) + "] " + dropped + " errors suppressed by the rate limit\n");
+                flush();
+            }
+            catch (InterruptedException ex)
+            {
+                return;
+            }
+            catch (Exception ex)
+            {
+                //the log itself failed, there is nowhere left to report it
+                buffer.clear();
+                closeChannel();
+            }
+        }
+    }
+
+    /**
+     * Writes the counts of errors that stopped repeating and forgets them
+     */
+    private void reportRepeats(long now) throws IOException
+    {
+        Iterator<Map.Entry<String, Repeat>> iterator = repeats.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            Map.Entry<String, Repeat> entry = iterator.next();
+            Repeat repeat = entry.getValue();
+            if(now - repeat.lastSeen < REPEAT_WINDOW)
+                continue;
+            iterator.remove();
+            int count = repeat.count.get();
+            if(count > 0)
+            {
+                String error = entry.getKey().substring(entry.getKey().indexOf('|') + 1).replace('|', ' ');
+                write("[" + TIME.format(LocalDateTime.now()) + "] [" + repeat.category + "] " + error + " repeated " + count + " more times\n");
+            }
+        }
+    }
+
+    private void write(String text) throws IOException
+    {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        int offset = 0;
+        while (offset < bytes.length)
+        {
+            if(!buffer.hasRemaining())
+                flush();
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    private void flush() throws IOException
+    {
+        if(buffer.position() == 0)
+            return;
+        FileChannel out = channel();
+        buffer.flip();
+        while (buffer.hasRemaining())
+        {
+            out.write(buffer);
+        }
+        buffer.clear();
+        if(out.size() > MAX_FILE_SIZE)
+            rotate();
+    }
+
+    /**
+     * Opens the log of the active profile, reopening it when the profile changed
+     */
+    private FileChannel channel() throws IOException
+    {
+        Path current = Paths.get(HOME_DIR, FILE_NAME);
+        if(channel != null && current.equals(path))
+            return channel;
+        closeChannel();
+        Files.createDirectories(current.getParent());
+        path = current;
+        channel = FileChannel.open(current, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return channel;
+    }
+
+    private void rotate() throws IOException
+    {
+        closeChannel();
+        for (int i = BACKUPS - 1; i >= 1; i--)
+        {
+            Path from = backup(i);
+            if(Files.exists(from))
+                Files.move(from, backup(i + 1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.move(path, backup(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path backup(int index)
+    {
+        return path.resolveSibling(FILE_NAME.replace(".txt", "." + index + ".txt"));
+    }
+
+    private void closeChannel()
+    {
+        if(channel == null)
+            return;
+        try
+        {
+            channel.close();
+        }
+        catch (IOException ignored)
+        {
+        }
+        channel = null;
+    }
+}
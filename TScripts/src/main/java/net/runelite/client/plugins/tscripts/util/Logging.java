@@ -1,35 +1,29 @@
 package net.runelite.client.plugins.tscripts.util;
 
 import net.runelite.api.ChatMessageType;
+import net.runelite.client.plugins.tscripts.runtime.Runtime;
 import net.runelite.client.plugins.tscripts.ui.editor.ScriptEditor;
 import net.unethicalite.client.Static;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.datatransfer.StringSelection;
-import java.io.FileWriter;
-import java.io.Writer;
-import static net.runelite.client.plugins.tscripts.TScriptsPlugin.*;
 
 /**
  * Contains methods for logging errors and messages.
  */
 public class Logging {
     /**
-     * Logs an error to the error log file.
+     * Logs an error to the error log file, tagged with the script and statement it happened in.
+     * Repeats of an error are counted by the {@link LogWriter} and only shown in the editor once.
      *
      * @param ex the exception to log
      */
     public static void errorLog(Exception ex) {
-        logToEditor(ex.getMessage(), Color.RED);
-        ThreadPool.submit(() -> {
-            try {
-                Writer fileWriter = new FileWriter(HOME_DIR + "ErrorLogs.txt", true);
-                fileWriter.write(ex + "\n");
-                fileWriter.close();
-            } catch (Exception ignored) {
-            }
-        });
-        ex.printStackTrace();
+        Runtime runtime = Runtime.current();
+        String script = runtime == null ? null : runtime.getScriptName();
+        int line = runtime == null ? 0 : runtime.getStatementLine();
+        if (LogWriter.get().error(ex, script, line))
+            logToEditor(script == null ? ex.getMessage() : "[" + script + ":" + line + "] " + ex.getMessage(), Color.RED);
     }
 
     /**